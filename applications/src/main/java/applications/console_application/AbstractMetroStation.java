@@ -311,48 +311,57 @@ public abstract class AbstractMetroStation {
     }
 
     /**
-     * Sorts a sequence of hours by decreasing ridership using bubble sorting.
+     * Sorts a sequence of hours by decreasing ridership, keeping the order of hours with equal ridership.
+     * The hours are read once, sorted by {@link IntKeySort#sortIndices(int[], int, boolean)} and set back.
      */
     public void sortByDecreasingRidership() {
         if (countHours() == 0) {
             return;
         }
 
-        boolean unsorted = true;
+        Hour[] hours = getHours();
+        int[] riderships = new int[hours.length];
 
-        while (unsorted) {
-            unsorted = false;
-
-            for (int i = 0; i < getHours().length - 1; i++) {
-                if (getHours()[i].getRidership() < getHours()[i + 1].getRidership()) {
-                    Hour temp = getHours()[i];
-                    getHours()[i] = getHours()[i + 1];
-                    getHours()[i + 1] = temp;
-                    unsorted = true;
-                }
-            }
+        for (int i = 0; i < hours.length; i++) {
+            riderships[i] = hours[i].getRidership();
         }
+
+        setHours(reorder(hours, IntKeySort.sortIndices(riderships, hours.length, true)));
     }
 
     /**
-     * Sorts a sequence of hours by descending comment length using insertion sorting.
+     * Sorts a sequence of hours by descending comment length, keeping the order of hours with equal comment length.
+     * The hours are read once, sorted by {@link IntKeySort#sortIndices(int[], int, boolean)} and set back.
      */
     public void sortByDescendingCommentLength() {
         if (countHours() == 0) {
             return;
         }
 
-        for (int i = 0; i < getHours().length; i++) {
-            Hour key = getHours()[i];
-            int j;
+        Hour[] hours = getHours();
+        int[] commentLengths = new int[hours.length];
 
-            for (j = i - 1; j >= 0
-                    && Integer.compare(getHours()[j].getCommentLength(), key.getCommentLength()) < 0; j--) {
-                getHours()[j + 1] = getHours()[j];
-            }
+        for (int i = 0; i < hours.length; i++) {
+            commentLengths[i] = hours[i].getCommentLength();
+        }
 
-            getHours()[j + 1] = key;
+        setHours(reorder(hours, IntKeySort.sortIndices(commentLengths, hours.length, true)));
+    }
+
+    /**
+     * Creates the array of hours in the order of the indices.
+     * @param hours the hours;
+     * @param indices the indices of the hours in the new order;
+     * @return the reordered array of hours.
+     */
+    protected static Hour[] reorder(Hour[] hours, int[] indices) {
+        Hour[] sortedHours = new Hour[indices.length];
+
+        for (int i = 0; i < indices.length; i++) {
+            sortedHours[i] = hours[indices[i]];
         }
+
+        return sortedHours;
     }
 
     /**
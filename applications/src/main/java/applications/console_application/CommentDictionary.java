@@ -0,0 +1,90 @@
+package applications.console_application;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code CommentDictionary} class is a table of distinct comments of operating hours, each stored once
+ * and identified by an {@code int} code, so hours with repeated comments such as "High ridership"
+ * store only the code instead of a reference to a separate string.
+ * The length and the word count of each comment are calculated once, when it is added.
+ * The dictionary may be shared by many metro stations and used by several threads.
+ */
+public class CommentDictionary {
+    /** Comments by their codes. */
+    private final List<String> comments = new ArrayList<>();
+
+    /** Codes of comments by the comments. */
+    private final Map<String, Integer> codes = new HashMap<>();
+
+    /** Lengths of comments by their codes. */
+    private int[] lengths = new int[16];
+
+    /** Word counts of comments by their codes. */
+    private int[] wordCounts = new int[16];
+
+    /**
+     * Gets the code of the comment, adding the comment to the dictionary if it is not there yet.
+     * @param comment the comment;
+     * @return the code of the comment.
+     */
+    public synchronized int encode(String comment) {
+        Integer code = codes.get(comment);
+
+        if (code == null) {
+            code = comments.size();
+
+            if (code == lengths.length) {
+                lengths = Arrays.copyOf(lengths, code * 2);
+                wordCounts = Arrays.copyOf(wordCounts, code * 2);
+            }
+
+            Hour hour = new Hour(0, comment);
+            lengths[code] = hour.getCommentLength();
+            wordCounts[code] = hour.calculateWordCountOfComment();
+
+            comments.add(comment);
+            codes.put(comment, code);
+        }
+
+        return code;
+    }
+
+    /**
+     * Gets the comment with the code.
+     * @param code the code of the comment;
+     * @return the comment.
+     */
+    public synchronized String decode(int code) {
+        return comments.get(code);
+    }
+
+    /**
+     * Gets the length of the comment with the code, as {@link Hour#getCommentLength()} does.
+     * @param code the code of the comment;
+     * @return the length of the comment.
+     */
+    public synchronized int getLength(int code) {
+        return lengths[code];
+    }
+
+    /**
+     * Gets the word count of the comment with the code, as {@link Hour#calculateWordCountOfComment()} does.
+     * @param code the code of the comment;
+     * @return the word count of the comment.
+     */
+    public synchronized int getWordCount(int code) {
+        return wordCounts[code];
+    }
+
+    /**
+     * Counts the distinct comments in the dictionary, the codes are numbered from {@code 0} to the count.
+     * @return the number of comments.
+     */
+    public synchronized int size() {
+        return comments.size();
+    }
+}
@@ -0,0 +1,214 @@
+package applications.console_application;
+
+import java.util.Arrays;
+
+/**
+ * The {@code IntKeySort} class sorts the indices of {@code int} keys, such as the ridership or the comment lengths
+ * of operating hours, without moving the sorted objects, which are then reordered by the sorted indices.
+ * Sorting is stable: indices with equal keys keep their order in both directions.
+ * Keys are sorted in linear time: by counting sort if the range of the keys is small compared to their number,
+ * and by radix sort on the bytes of the keys otherwise. Few keys are sorted by merge sort.
+ */
+public final class IntKeySort {
+    /**
+     * The smallest number of keys sorted in linear time, fewer keys are sorted by merge sort.
+     */
+    private static final int MIN_LINEAR_SORT_COUNT = 64;
+
+    /**
+     * The largest range of keys per key sorted by counting sort, wider ranges are sorted by radix sort.
+     */
+    private static final int COUNTING_SORT_KEYS_PER_INDEX = 4;
+
+    /**
+     * The number of bits of a key sorted in one pass of the radix sort.
+     */
+    private static final int RADIX_BITS = 8;
+
+    /**
+     * The number of distinct digits in one pass of the radix sort.
+     */
+    private static final int RADIX = 1 << RADIX_BITS;
+
+    /**
+     * The utility class is not instantiated.
+     */
+    private IntKeySort() {}
+
+    /**
+     * Sorts the indices of the keys by the keys, keeping the order of indices with equal keys.
+     * @param keys the keys, only the first {@code count} of them are sorted;
+     * @param count the number of sorted keys;
+     * @param descending {@code true} to sort in descending order of the keys;
+     * @return the indices of the keys in the sorted order.
+     */
+    public static int[] sortIndices(int[] keys, int count, boolean descending) {
+        if (count < MIN_LINEAR_SORT_COUNT) {
+            return mergeSortIndices(keys, count, descending);
+        }
+
+        int minKey = keys[0];
+        int maxKey = keys[0];
+
+        for (int i = 1; i < count; i++) {
+            minKey = Math.min(minKey, keys[i]);
+            maxKey = Math.max(maxKey, keys[i]);
+        }
+
+        long range = (long) maxKey - minKey;
+
+        if (range <= (long) count * COUNTING_SORT_KEYS_PER_INDEX) {
+            return countingSortIndices(keys, count, descending, minKey, (int) range);
+        } else {
+            return radixSortIndices(keys, count, descending, minKey, range);
+        }
+    }
+
+    /**
+     * Sorts the indices of the keys with counting sort, in time proportional to the count and the range of the keys.
+     * @param keys the keys;
+     * @param count the number of sorted keys;
+     * @param descending {@code true} to sort in descending order of the keys;
+     * @param minKey the smallest key;
+     * @param range the difference between the largest and the smallest key;
+     * @return the indices of the keys in the sorted order.
+     */
+    private static int[] countingSortIndices(int[] keys, int count, boolean descending, int minKey, int range) {
+        int[] positions = new int[range + 2];
+
+        for (int i = 0; i < count; i++) {
+            positions[order(keys[i] - minKey, range, descending) + 1]++;
+        }
+
+        for (int digit = 1; digit < positions.length; digit++) {
+            positions[digit] += positions[digit - 1];
+        }
+
+        int[] indices = new int[count];
+
+        for (int i = 0; i < count; i++) {
+            indices[positions[order(keys[i] - minKey, range, descending)]++] = i;
+        }
+
+        return indices;
+    }
+
+    /**
+     * Sorts the indices of the keys with least significant digit radix sort, counting sorting them by each byte
+     * of the offsets of the keys from the smallest key, from the lowest byte to the highest byte of the range.
+     * The offsets are moved together with the indices, so every pass reads them sequentially,
+     * and passes in which all offsets have the same byte are skipped.
+     * @param keys the keys;
+     * @param count the number of sorted keys;
+     * @param descending {@code true} to sort in descending order of the keys;
+     * @param minKey the smallest key;
+     * @param range the difference between the largest and the smallest key;
+     * @return the indices of the keys in the sorted order.
+     */
+    private static int[] radixSortIndices(int[] keys, int count, boolean descending, int minKey, long range) {
+        int[] indices = new int[count];
+        int[] sortedIndices = new int[count];
+        int[] offsets = new int[count];
+        int[] sortedOffsets = new int[count];
+        int[] positions = new int[RADIX + 1];
+
+        for (int i = 0; i < count; i++) {
+            indices[i] = i;
+            offsets[i] = keys[i] - minKey;
+        }
+
+        for (int shift = 0; shift < Integer.SIZE && (range >>> shift) > 0; shift += RADIX_BITS) {
+            Arrays.fill(positions, 0);
+
+            for (int i = 0; i < count; i++) {
+                positions[order(offsets[i] >>> shift & (RADIX - 1), RADIX - 1, descending) + 1]++;
+            }
+
+            if (positions[order(offsets[0] >>> shift & (RADIX - 1), RADIX - 1, descending) + 1] == count) {
+                continue;
+            }
+
+            for (int digit = 1; digit < positions.length; digit++) {
+                positions[digit] += positions[digit - 1];
+            }
+
+            for (int i = 0; i < count; i++) {
+                int offset = offsets[i];
+                int target = positions[order(offset >>> shift & (RADIX - 1), RADIX - 1, descending)]++;
+                sortedIndices[target] = indices[i];
+                sortedOffsets[target] = offset;
+            }
+
+            int[] swap = indices;
+            indices = sortedIndices;
+            sortedIndices = swap;
+
+            swap = offsets;
+            offsets = sortedOffsets;
+            sortedOffsets = swap;
+        }
+
+        return indices;
+    }
+
+    /**
+     * Sorts the indices of the keys with bottom-up merge sort.
+     * @param keys the keys;
+     * @param count the number of sorted keys;
+     * @param descending {@code true} to sort in descending order of the keys;
+     * @return the indices of the keys in the sorted order.
+     */
+    private static int[] mergeSortIndices(int[] keys, int count, boolean descending) {
+        int[] indices = new int[count];
+        int[] mergedIndices = new int[count];
+
+        for (int i = 0; i < count; i++) {
+            indices[i] = i;
+        }
+
+        for (int width = 1; width < count; width *= 2) {
+            for (int from = 0; from < count; from += 2 * width) {
+                int middle = Math.min(from + width, count);
+                int to = Math.min(from + 2 * width, count);
+                int left = from;
+                int right = middle;
+
+                for (int i = from; i < to; i++) {
+                    if (right >= to || (left < middle && !isBefore(keys[indices[right]], keys[indices[left]], descending))) {
+                        mergedIndices[i] = indices[left++];
+                    } else {
+                        mergedIndices[i] = indices[right++];
+                    }
+                }
+            }
+
+            int[] swap = indices;
+            indices = mergedIndices;
+            mergedIndices = swap;
+        }
+
+        return indices;
+    }
+
+    /**
+     * Checks whether the first key is sorted strictly before the second key.
+     * @param first the first key;
+     * @param second the second key;
+     * @param descending {@code true} for descending order of the keys;
+     * @return {@code true} if the first key goes before the second key, {@code false} if they are equal or in reverse order.
+     */
+    private static boolean isBefore(int first, int second, boolean descending) {
+        return descending ? first > second : first < second;
+    }
+
+    /**
+     * Gets the position of the digit of a key in the order of the sort.
+     * @param digit the digit, from {@code 0} to {@code maxDigit};
+     * @param maxDigit the largest digit;
+     * @param descending {@code true} to invert the digit for descending order;
+     * @return the position of the digit from {@code 0} to {@code maxDigit}.
+     */
+    private static int order(int digit, int maxDigit, boolean descending) {
+        return descending ? maxDigit - digit : digit;
+    }
+}
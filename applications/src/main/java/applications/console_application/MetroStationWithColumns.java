@@ -0,0 +1,346 @@
+package applications.console_application;
+
+import java.util.Arrays;
+
+/**
+ * Represents metro station data with operating hours stored in columns of primitive values:
+ * the ridership of each hour in an {@code int} array and its comment as an {@code int} code
+ * of a {@link CommentDictionary}, so an hour takes 8 bytes instead of a separate {@code Hour} object
+ * and repeated comments are stored once.
+ * {@code Hour} objects are created only when they are requested, as copies of the stored values,
+ * so changes to them are stored with {@link #setHour(int, Hour)}.
+ * Like the array of hours of {@link AbstractMetroStation}, duplicate hours are kept.
+ * This class is inherited from the abstract {@link MetroStationWithCollection}.
+ */
+public class MetroStationWithColumns extends MetroStationWithCollection {
+    /** The initial number of hours the columns have room for. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** The dictionary of comments of the hours. */
+    private final CommentDictionary comments;
+
+    /** Ridership of the hours, only the first {@code hourCount} elements are used. */
+    private int[] riderships = new int[INITIAL_CAPACITY];
+
+    /** Codes of the comments of the hours in the dictionary, only the first {@code hourCount} elements are used. */
+    private int[] commentCodes = new int[INITIAL_CAPACITY];
+
+    /** The number of hours. */
+    private int hourCount;
+
+    /**
+     * The constructor initialises the metro station object with the default values and its own comment dictionary.
+     */
+    public MetroStationWithColumns() {
+        this.comments = new CommentDictionary();
+    }
+
+    /**
+     * The constructor initialises the metro station object with the specified values with {@code name}
+     * and {@code opened} year and its own comment dictionary, which is freed together with the metro station.
+     * @param name the name of metro station;
+     * @param opened the opened year of metro station.
+     */
+    public MetroStationWithColumns(String name, int opened) {
+        this(name, opened, new CommentDictionary());
+    }
+
+    /**
+     * The constructor initialises the metro station object with the specified values with {@code name},
+     * {@code opened} year and the dictionary of comments.
+     * @param name the name of metro station;
+     * @param opened the opened year of metro station;
+     * @param comments the dictionary of comments, which may be shared with other metro stations.
+     */
+    public MetroStationWithColumns(String name, int opened, CommentDictionary comments) {
+        super(name, opened);
+        this.comments = comments;
+    }
+
+    /**
+     * Gets the dictionary of comments of the hours.
+     * @return the dictionary of comments.
+     */
+    public CommentDictionary getCommentDictionary() {
+        return comments;
+    }
+
+    /**
+     * Gets the ridership of the {@code hour} with index {@code i} without creating the {@code Hour} object.
+     * @param i the index of the hour;
+     * @return the ridership.
+     */
+    public int getRidership(int i) {
+        checkIndex(i);
+
+        return riderships[i];
+    }
+
+    /**
+     * Gets the comment of the {@code hour} with index {@code i} without creating the {@code Hour} object.
+     * @param i the index of the hour;
+     * @return the comment.
+     */
+    public String getComment(int i) {
+        checkIndex(i);
+
+        return comments.decode(commentCodes[i]);
+    }
+
+    /**
+     * Creates the {@code hour} with index {@code i} from the columns.
+     * @param i the index of the hour;
+     * @return the copy of the hour with index {@code i}.
+     */
+    @Override
+    public Hour getHour(int i) {
+        checkIndex(i);
+
+        return new Hour(riderships[i], comments.decode(commentCodes[i]));
+    }
+
+    /**
+     * Stores the values of the {@code hour} with index {@code i}.
+     * @param i index of the hour;
+     * @param hour the object of class {@code Hour} whose values are stored, {@code null} is not stored.
+     */
+    @Override
+    public void setHour(int i, Hour hour) {
+        checkIndex(i);
+
+        if (hour != null) {
+            riderships[i] = hour.getRidership();
+            commentCodes[i] = comments.encode(hour.getComment());
+        }
+    }
+
+    /**
+     * Creates the array of operating hours from the columns.
+     * @return the array of copies of the hours.
+     */
+    @Override
+    public Hour[] getHours() {
+        Hour[] hours = new Hour[hourCount];
+
+        for (int i = 0; i < hourCount; i++) {
+            hours[i] = new Hour(riderships[i], comments.decode(commentCodes[i]));
+        }
+
+        return hours;
+    }
+
+    /**
+     * Replaces the operating hours with the values of the hours of the array.
+     * @param hours the array of hours to be stored.
+     */
+    @Override
+    public void setHours(Hour[] hours) {
+        removeHours();
+
+        for (Hour hour : hours) {
+            addHour(hour);
+        }
+    }
+
+    /**
+     * Stores the values of the {@code hour} at the end of the columns.
+     * @param hour the object of class {@code Hour} whose values are stored;
+     * @return {@code true}, if the hour was stored, {@code false} if it is {@code null}.
+     */
+    @Override
+    public boolean addHour(Hour hour) {
+        if (hour == null) {
+            return false;
+        }
+
+        return addHour(hour.getRidership(), hour.getComment());
+    }
+
+    /**
+     * Stores the hour with the ridership and the comment at the end of the columns without creating the {@code Hour} object.
+     * @param ridership the ridership;
+     * @param comment the comment;
+     * @return {@code true}, if the hour was stored, {@code false} if the ridership is negative or there is no comment.
+     */
+    @Override
+    public boolean addHour(int ridership, String comment) {
+        if (ridership < 0 || comment == null) {
+            return false;
+        }
+
+        if (hourCount == riderships.length) {
+            riderships = Arrays.copyOf(riderships, hourCount * 2);
+            commentCodes = Arrays.copyOf(commentCodes, hourCount * 2);
+        }
+
+        riderships[hourCount] = ridership;
+        commentCodes[hourCount] = comments.encode(comment);
+        hourCount++;
+
+        return true;
+    }
+
+    /**
+     * Counts the number of hours in the columns.
+     * @return the number of hours.
+     */
+    @Override
+    public int countHours() {
+        return hourCount;
+    }
+
+    /**
+     * Removes all hours and releases the memory of the columns.
+     */
+    @Override
+    public void removeHours() {
+        riderships = new int[INITIAL_CAPACITY];
+        commentCodes = new int[INITIAL_CAPACITY];
+        hourCount = 0;
+    }
+
+    /**
+     * Calculates the total ridership by summing the ridership column.
+     * @return null, if there are no hours, the total ridership otherwise.
+     */
+    @Override
+    public Integer calculateTotalRidership() {
+        if (hourCount == 0) {
+            return null;
+        }
+
+        int totalRidership = 0;
+
+        for (int i = 0; i < hourCount; i++) {
+            totalRidership += riderships[i];
+        }
+
+        return totalRidership;
+    }
+
+    /**
+     * Finds the hours with the minimal ridership by scanning the ridership column,
+     * creating {@code Hour} objects only for the found hours.
+     * @return null, if there are no hours, array of hours with minimal ridership otherwise.
+     */
+    @Override
+    public Hour[] findHoursWithMinRidership() {
+        if (hourCount == 0) {
+            return null;
+        }
+
+        int minRidership = riderships[0];
+
+        for (int i = 1; i < hourCount; i++) {
+            minRidership = Math.min(minRidership, riderships[i]);
+        }
+
+        return findHours(riderships, minRidership);
+    }
+
+    /**
+     * Finds the hours with the maximum count of words in the comment,
+     * using the word counts of comments calculated once by the dictionary.
+     * @return null, if there are no hours, array of hours with the maximum word count in comment otherwise.
+     */
+    @Override
+    public Hour[] findHoursWithMaxWordCountOfComment() {
+        if (hourCount == 0) {
+            return null;
+        }
+
+        int[] wordCounts = getCommentValues(false);
+        int maxWordCount = 0;
+
+        for (int i = 0; i < hourCount; i++) {
+            maxWordCount = Math.max(maxWordCount, wordCounts[i]);
+        }
+
+        return findHours(wordCounts, maxWordCount);
+    }
+
+    /**
+     * Sorts the hours by decreasing ridership, keeping the order of hours with equal ridership.
+     */
+    @Override
+    public void sortByDecreasingRidership() {
+        sortByDescendingKeys(riderships);
+    }
+
+    /**
+     * Sorts the hours by descending comment length, keeping the order of hours with equal comment length.
+     */
+    @Override
+    public void sortByDescendingCommentLength() {
+        sortByDescendingKeys(getCommentValues(true));
+    }
+
+    /**
+     * Checks that the index refers to a stored hour.
+     * @param i the index of the hour.
+     */
+    private void checkIndex(int i) {
+        if (i < 0 || i >= hourCount) {
+            throw new IndexOutOfBoundsException("Index " + i + " out of bounds for length " + hourCount);
+        }
+    }
+
+    /**
+     * Creates the hours whose value in the column equals the value.
+     * @param column the values of the hours;
+     * @param value the value of the found hours;
+     * @return the array of found hours.
+     */
+    private Hour[] findHours(int[] column, int value) {
+        int count = 0;
+
+        for (int i = 0; i < hourCount; i++) {
+            if (column[i] == value) {
+                count++;
+            }
+        }
+
+        Hour[] hours = new Hour[count];
+
+        for (int i = 0, j = 0; j < count; i++) {
+            if (column[i] == value) {
+                hours[j++] = getHour(i);
+            }
+        }
+
+        return hours;
+    }
+
+    /**
+     * Gets the length or the word count of the comment of each hour from the dictionary.
+     * @param length {@code true} for the length of the comments, {@code false} for their word count;
+     * @return the values of the comments by the index of the hour.
+     */
+    private int[] getCommentValues(boolean length) {
+        int[] values = new int[hourCount];
+
+        for (int i = 0; i < hourCount; i++) {
+            values[i] = length ? comments.getLength(commentCodes[i]) : comments.getWordCount(commentCodes[i]);
+        }
+
+        return values;
+    }
+
+    /**
+     * Reorders the columns by descending keys of the hours, keeping the order of hours with equal keys.
+     * @param keys the keys by the index of the hour.
+     */
+    private void sortByDescendingKeys(int[] keys) {
+        int[] indices = IntKeySort.sortIndices(keys, hourCount, true);
+        int[] sortedRiderships = new int[Math.max(hourCount, INITIAL_CAPACITY)];
+        int[] sortedCommentCodes = new int[sortedRiderships.length];
+
+        for (int i = 0; i < hourCount; i++) {
+            sortedRiderships[i] = riderships[indices[i]];
+            sortedCommentCodes[i] = commentCodes[indices[i]];
+        }
+
+        riderships = sortedRiderships;
+        commentCodes = sortedCommentCodes;
+    }
+}
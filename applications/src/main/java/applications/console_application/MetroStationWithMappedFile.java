@@ -0,0 +1,642 @@
+package applications.console_application;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Represents metro station data with operating hours stored off the heap in a memory-mapped file,
+ * so the number of hours is not limited by the heap, the operating system caches the hours in memory,
+ * and reopening the metro station does not read the hours.
+ * <p>
+ * The file starts with a header of {@code HEADER_SIZE} bytes with the number of hours, the {@code opened} year
+ * and the {@code name} of the metro station, followed by a record of 8 bytes for each hour:
+ * the {@code int} ridership and the {@code int} code of the comment.
+ * The comments are stored once in a {@link CommentDictionary}, which is saved to the file with the same name
+ * and the {@code .comments} extension as they are added.
+ * <p>
+ * Total ridership, searches and sorts read and move the records in the mapped file
+ * and create {@code Hour} objects only for the found hours.
+ * Changes are written to the file by the operating system, {@link #close()} writes them immediately.
+ * Like the array of hours of {@link AbstractMetroStation}, duplicate hours are kept.
+ * This class is inherited from the {@link AbstractMetroStation}.
+ */
+public class MetroStationWithMappedFile extends AbstractMetroStation implements AutoCloseable {
+    /** The size of the header of the file in bytes. */
+    public static final int HEADER_SIZE = 256;
+
+    /** The size of the record of an hour in bytes. */
+    private static final int RECORD_SIZE = 8;
+
+    /** The initial number of hours the file has room for. */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /** The maximum number of hours, limited by the size of a mapped buffer. */
+    private static final int MAX_CAPACITY = (Integer.MAX_VALUE - HEADER_SIZE) / RECORD_SIZE;
+
+    /** The value identifying the file of hours at the start of the header. */
+    private static final int MAGIC = 0x4D534852;
+
+    /** The position of the number of hours in the header. */
+    private static final int HOUR_COUNT_POSITION = 4;
+
+    /** The position of the {@code opened} year in the header. */
+    private static final int OPENED_POSITION = 8;
+
+    /** The position of the length of the {@code name} in bytes in the header, followed by the {@code name}. */
+    private static final int NAME_POSITION = 12;
+
+    /** The maximum length of the {@code name} in bytes in UTF-8. */
+    private static final int MAX_NAME_LENGTH = HEADER_SIZE - NAME_POSITION - 2;
+
+    /** The channel of the file of hours. */
+    private final FileChannel channel;
+
+    /** The stream appending the added comments to the file of comments. */
+    private final DataOutputStream commentOutput;
+
+    /** The dictionary of comments of the hours. */
+    private final CommentDictionary comments = new CommentDictionary();
+
+    /** The mapped header and records of the file. */
+    private MappedByteBuffer buffer;
+
+    /** The number of hours the mapped records have room for. */
+    private int capacity;
+
+    /** The number of hours. */
+    private int hourCount;
+
+    /** The name of the metro station. */
+    private String name;
+
+    /**
+     * The constructor opens the metro station stored in the file, or creates an empty metro station in it
+     * if the file does not exist.
+     * @param fileName the name of the file of hours.
+     */
+    public MetroStationWithMappedFile(String fileName) {
+        this(fileName, !Files.exists(Path.of(fileName)));
+    }
+
+    /**
+     * The constructor creates the metro station with the specified values with {@code name} and {@code opened} year
+     * and without hours in the file, replacing the metro station stored in it.
+     * @param fileName the name of the file of hours;
+     * @param name the name of metro station;
+     * @param opened the opened year of metro station.
+     */
+    public MetroStationWithMappedFile(String fileName, String name, int opened) {
+        this(fileName, true);
+        setName(name);
+        setOpened(opened);
+    }
+
+    /**
+     * The constructor maps the file of hours and reads the file of comments.
+     * The header of an existing file is validated, so a damaged file fails to open instead of failing on later reads,
+     * and the channel is closed if the file fails to open.
+     * @param fileName the name of the file of hours;
+     * @param create {@code true} to create an empty file, {@code false} to open the existing file.
+     */
+    private MetroStationWithMappedFile(String fileName, boolean create) {
+        Path commentPath = Path.of(fileName + ".comments");
+
+        try {
+            if (create) {
+                Files.deleteIfExists(Path.of(fileName));
+                Files.deleteIfExists(commentPath);
+            }
+
+            channel = FileChannel.open(Path.of(fileName),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+            try {
+                if (create) {
+                    map(INITIAL_CAPACITY);
+                    buffer.putInt(0, MAGIC);
+                    name = "";
+                } else {
+                    open(fileName, commentPath);
+                }
+
+                commentOutput = new DataOutputStream(new BufferedOutputStream(
+                        new FileOutputStream(commentPath.toFile(), true)));
+            } catch (IOException | RuntimeException | Error e) {
+                try {
+                    channel.close();
+                } catch (IOException closeException) {
+                    e.addSuppressed(closeException);
+                }
+
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Maps the existing file of hours, validates its header and reads the file of comments.
+     * @param fileName the name of the file of hours;
+     * @param commentPath the path of the file of comments;
+     * @throws IOException an exception related to a reading error or an invalid header of the file.
+     */
+    private void open(String fileName, Path commentPath) throws IOException {
+        if (channel.size() < HEADER_SIZE) {
+            throw new IOException("Not a file of hours: " + fileName);
+        }
+
+        map((int) Math.min((channel.size() - HEADER_SIZE) / RECORD_SIZE, MAX_CAPACITY));
+
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a file of hours: " + fileName);
+        }
+
+        hourCount = buffer.getInt(HOUR_COUNT_POSITION);
+
+        if (hourCount < 0 || hourCount > capacity) {
+            throw new IOException("Invalid number of hours " + hourCount + " for the size of the file: " + fileName);
+        }
+
+        int nameLength = buffer.getShort(NAME_POSITION);
+
+        if (nameLength < 0 || nameLength > MAX_NAME_LENGTH) {
+            throw new IOException("Invalid length of the name " + nameLength + ": " + fileName);
+        }
+
+        byte[] nameBytes = new byte[nameLength];
+        buffer.get(NAME_POSITION + 2, nameBytes);
+        name = new String(nameBytes, StandardCharsets.UTF_8);
+
+        if (hourCount > 0 && !Files.exists(commentPath)) {
+            throw new IOException("Missing file of comments: " + commentPath);
+        }
+
+        readComments(commentPath);
+    }
+
+    /**
+     * Gets the {@code name} for the metro station.
+     * @return the {@code name} of metro station.
+     */
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Sets the {@code name} for the metro station and writes it to the header of the file.
+     * @param name the {@code name} of metro station to be set, at most {@code MAX_NAME_LENGTH} bytes in UTF-8.
+     */
+    @Override
+    public void setName(String name) {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+
+        if (nameBytes.length > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("The name is longer than " + MAX_NAME_LENGTH + " bytes: " + name);
+        }
+
+        buffer.putShort(NAME_POSITION, (short) nameBytes.length);
+        buffer.put(NAME_POSITION + 2, nameBytes);
+        this.name = name;
+    }
+
+    /**
+     * Gets the {@code opened} year for the metro station from the header of the file.
+     * @return the {@code opened} year of metro station.
+     */
+    @Override
+    public int getOpened() {
+        return buffer.getInt(OPENED_POSITION);
+    }
+
+    /**
+     * Sets the {@code opened} year for the metro station in the header of the file.
+     * @param opened the {@code opened} year of metro station to be set.
+     */
+    @Override
+    public void setOpened(int opened) {
+        buffer.putInt(OPENED_POSITION, opened);
+    }
+
+    /**
+     * Gets the dictionary of comments of the hours.
+     * @return the dictionary of comments.
+     */
+    public CommentDictionary getCommentDictionary() {
+        return comments;
+    }
+
+    /**
+     * Gets the ridership of the {@code hour} with index {@code i} without creating the {@code Hour} object.
+     * @param i the index of the hour;
+     * @return the ridership.
+     */
+    public int getRidership(int i) {
+        checkIndex(i);
+
+        return buffer.getInt(getPosition(i));
+    }
+
+    /**
+     * Gets the comment of the {@code hour} with index {@code i} without creating the {@code Hour} object.
+     * @param i the index of the hour;
+     * @return the comment.
+     */
+    public String getComment(int i) {
+        checkIndex(i);
+
+        return comments.decode(buffer.getInt(getPosition(i) + 4));
+    }
+
+    /**
+     * Creates the {@code hour} with index {@code i} from its record.
+     * @param i the index of the hour;
+     * @return the copy of the hour with index {@code i}.
+     */
+    @Override
+    public Hour getHour(int i) {
+        checkIndex(i);
+
+        return readHour(i);
+    }
+
+    /**
+     * Writes the values of the {@code hour} with index {@code i} to its record.
+     * @param i index of the hour;
+     * @param hour the object of class {@code Hour} whose values are written, {@code null} is not written.
+     */
+    @Override
+    public void setHour(int i, Hour hour) {
+        checkIndex(i);
+
+        if (hour != null) {
+            writeHour(i, hour.getRidership(), hour.getComment());
+        }
+    }
+
+    /**
+     * Creates the array of operating hours from the records.
+     * @return the array of copies of the hours.
+     */
+    @Override
+    public Hour[] getHours() {
+        Hour[] hours = new Hour[hourCount];
+
+        for (int i = 0; i < hourCount; i++) {
+            hours[i] = readHour(i);
+        }
+
+        return hours;
+    }
+
+    /**
+     * Replaces the operating hours with the values of the hours of the array.
+     * @param hours the array of hours to be written.
+     */
+    @Override
+    public void setHours(Hour[] hours) {
+        removeHours();
+
+        for (Hour hour : hours) {
+            addHour(hour);
+        }
+    }
+
+    /**
+     * Writes the values of the {@code hour} to a new record at the end of the file.
+     * @param hour the object of class {@code Hour} whose values are written;
+     * @return {@code true}, if the hour was written, {@code false} if it is {@code null}.
+     */
+    @Override
+    public boolean addHour(Hour hour) {
+        if (hour == null) {
+            return false;
+        }
+
+        return addHour(hour.getRidership(), hour.getComment());
+    }
+
+    /**
+     * Writes the hour with the ridership and the comment to a new record at the end of the file.
+     * @param ridership the ridership;
+     * @param comment the comment;
+     * @return {@code true}, if the hour was written, {@code false} if the ridership is negative or there is no comment.
+     */
+    @Override
+    public boolean addHour(int ridership, String comment) {
+        if (ridership < 0 || comment == null) {
+            return false;
+        }
+
+        if (hourCount == capacity) {
+            if (capacity == MAX_CAPACITY) {
+                throw new IllegalStateException("The file of hours is full: " + capacity + " hours");
+            }
+
+            map((int) Math.min(Math.max(capacity * 2L, INITIAL_CAPACITY), MAX_CAPACITY));
+        }
+
+        writeHour(hourCount, ridership, comment);
+        setHourCount(hourCount + 1);
+
+        return true;
+    }
+
+    /**
+     * Counts the number of hours in the file.
+     * @return the number of hours.
+     */
+    @Override
+    public int countHours() {
+        return hourCount;
+    }
+
+    /**
+     * Removes all hours, the space of their records is reused by the added hours.
+     */
+    @Override
+    public void removeHours() {
+        setHourCount(0);
+    }
+
+    /**
+     * Calculates the total ridership by reading the ridership of the records.
+     * @return null, if there are no hours, the total ridership otherwise.
+     */
+    @Override
+    public Integer calculateTotalRidership() {
+        if (hourCount == 0) {
+            return null;
+        }
+
+        int totalRidership = 0;
+
+        for (int i = 0; i < hourCount; i++) {
+            totalRidership += buffer.getInt(getPosition(i));
+        }
+
+        return totalRidership;
+    }
+
+    /**
+     * Finds the hours with the minimal ridership by reading the ridership of the records,
+     * creating {@code Hour} objects only for the found hours.
+     * @return null, if there are no hours, array of hours with minimal ridership otherwise.
+     */
+    @Override
+    public Hour[] findHoursWithMinRidership() {
+        if (hourCount == 0) {
+            return null;
+        }
+
+        int[] riderships = getRecordValues(false);
+        int minRidership = Integer.MAX_VALUE;
+
+        for (int ridership : riderships) {
+            minRidership = Math.min(minRidership, ridership);
+        }
+
+        return findHours(riderships, minRidership);
+    }
+
+    /**
+     * Finds the hours with the maximum count of words in the comment,
+     * using the word counts of comments calculated once by the dictionary.
+     * @return null, if there are no hours, array of hours with the maximum word count in comment otherwise.
+     */
+    @Override
+    public Hour[] findHoursWithMaxWordCountOfComment() {
+        if (hourCount == 0) {
+            return null;
+        }
+
+        int[] wordCounts = getRecordValues(true);
+
+        for (int i = 0; i < hourCount; i++) {
+            wordCounts[i] = comments.getWordCount(wordCounts[i]);
+        }
+
+        int maxWordCount = 0;
+
+        for (int wordCount : wordCounts) {
+            maxWordCount = Math.max(maxWordCount, wordCount);
+        }
+
+        return findHours(wordCounts, maxWordCount);
+    }
+
+    /**
+     * Sorts the records by decreasing ridership, keeping the order of hours with equal ridership.
+     */
+    @Override
+    public void sortByDecreasingRidership() {
+        sortByDescendingKeys(getRecordValues(false));
+    }
+
+    /**
+     * Sorts the records by descending comment length, keeping the order of hours with equal comment length.
+     */
+    @Override
+    public void sortByDescendingCommentLength() {
+        int[] lengths = getRecordValues(true);
+
+        for (int i = 0; i < hourCount; i++) {
+            lengths[i] = comments.getLength(lengths[i]);
+        }
+
+        sortByDescendingKeys(lengths);
+    }
+
+    /**
+     * Writes the changes of the records to the file and closes the files of hours and comments.
+     */
+    @Override
+    public void close() {
+        try {
+            buffer.force();
+            commentOutput.close();
+            channel.close();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Maps the header and the records for the number of hours, extending the file if it is shorter.
+     * @param newCapacity the number of hours the mapped records have room for.
+     */
+    private void map(int newCapacity) {
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) newCapacity * RECORD_SIZE);
+            capacity = newCapacity;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Reads the comments from the file of comments into the dictionary in the order of their codes.
+     * @param commentPath the path of the file of comments.
+     * @throws IOException an exception related to a reading error.
+     */
+    private void readComments(Path commentPath) throws IOException {
+        if (!Files.exists(commentPath)) {
+            return;
+        }
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(
+                new FileInputStream(commentPath.toFile())))) {
+            while (true) {
+                comments.encode(input.readUTF());
+            }
+        } catch (EOFException e) {
+            // All comments are read.
+        }
+    }
+
+    /**
+     * Sets the number of hours and writes it to the header of the file.
+     * @param newHourCount the number of hours.
+     */
+    private void setHourCount(int newHourCount) {
+        hourCount = newHourCount;
+        buffer.putInt(HOUR_COUNT_POSITION, newHourCount);
+    }
+
+    /**
+     * Gets the position of the record of the hour in the file.
+     * @param i the index of the hour;
+     * @return the position of the record.
+     */
+    private static int getPosition(int i) {
+        return HEADER_SIZE + i * RECORD_SIZE;
+    }
+
+    /**
+     * Checks that the index refers to a stored hour.
+     * @param i the index of the hour.
+     */
+    private void checkIndex(int i) {
+        if (i < 0 || i >= hourCount) {
+            throw new IndexOutOfBoundsException("Index " + i + " out of bounds for length " + hourCount);
+        }
+    }
+
+    /**
+     * Creates the hour from its record.
+     * @param i the index of the hour;
+     * @return the hour.
+     */
+    private Hour readHour(int i) {
+        int position = getPosition(i);
+
+        return new Hour(buffer.getInt(position), comments.decode(buffer.getInt(position + 4)));
+    }
+
+    /**
+     * Writes the ridership and the code of the comment to the record of the hour,
+     * saving the comment to the file of comments if it is new.
+     * @param i the index of the hour;
+     * @param ridership the ridership;
+     * @param comment the comment.
+     */
+    private void writeHour(int i, int ridership, String comment) {
+        int commentCount = comments.size();
+        int code = comments.encode(comment);
+
+        if (code == commentCount) {
+            try {
+                commentOutput.writeUTF(comment);
+                commentOutput.flush();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        buffer.putInt(getPosition(i), ridership);
+        buffer.putInt(getPosition(i) + 4, code);
+    }
+
+    /**
+     * Reads the ridership or the comment code of each record.
+     * @param commentCodes {@code true} for the comment codes, {@code false} for the ridership;
+     * @return the values by the index of the hour.
+     */
+    private int[] getRecordValues(boolean commentCodes) {
+        int[] values = new int[hourCount];
+        int offset = commentCodes ? 4 : 0;
+
+        for (int i = 0; i < hourCount; i++) {
+            values[i] = buffer.getInt(getPosition(i) + offset);
+        }
+
+        return values;
+    }
+
+    /**
+     * Creates the hours whose value equals the value.
+     * @param values the values of the hours;
+     * @param value the value of the found hours;
+     * @return the array of found hours.
+     */
+    private Hour[] findHours(int[] values, int value) {
+        int count = 0;
+
+        for (int i = 0; i < hourCount; i++) {
+            if (values[i] == value) {
+                count++;
+            }
+        }
+
+        Hour[] hours = new Hour[count];
+
+        for (int i = 0, j = 0; j < count; i++) {
+            if (values[i] == value) {
+                hours[j++] = readHour(i);
+            }
+        }
+
+        return hours;
+    }
+
+    /**
+     * Reorders the records in the file by descending keys of the hours, keeping the order of hours with equal keys.
+     * The records are moved in place along the cycles of the sorted order.
+     * @param keys the keys by the index of the hour.
+     */
+    private void sortByDescendingKeys(int[] keys) {
+        int[] indices = IntKeySort.sortIndices(keys, hourCount, true);
+
+        for (int i = 0; i < hourCount; i++) {
+            if (indices[i] < 0 || indices[i] == i) {
+                continue;
+            }
+
+            long record = buffer.getLong(getPosition(i));
+            int j = i;
+
+            while (indices[j] != i) {
+                int source = indices[j];
+                buffer.putLong(getPosition(j), buffer.getLong(getPosition(source)));
+                indices[j] = -1;
+                j = source;
+            }
+
+            buffer.putLong(getPosition(j), record);
+            indices[j] = -1;
+        }
+    }
+}
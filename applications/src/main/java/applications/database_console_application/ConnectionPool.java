@@ -0,0 +1,455 @@
+package applications.database_console_application;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Pool of JDBC connections to the database used by {@link DBUtils}.
+ * Supports configurable minimum and maximum size, validation of connections on borrow,
+ * eviction of idle connections, detection of connections that are not returned to the pool
+ * and caching of prepared statements per connection.
+ */
+public class ConnectionPool implements AutoCloseable {
+    /**
+     * Default values of the pool settings.
+     */
+    public static final int DEFAULT_MIN_SIZE = 2;
+    public static final int DEFAULT_MAX_SIZE = 10;
+    public static final long DEFAULT_BORROW_TIMEOUT_MILLIS = 30_000;
+    public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 600_000;
+    public static final long DEFAULT_LEAK_DETECTION_THRESHOLD_MILLIS = 60_000;
+    public static final int DEFAULT_VALIDATION_TIMEOUT_SECONDS = 2;
+    public static final int DEFAULT_STATEMENT_CACHE_SIZE = StatementCache.DEFAULT_MAX_SIZE;
+
+    /**
+     * The interval between runs of the maintenance task, in milliseconds.
+     */
+    private static final long MAINTENANCE_INTERVAL_MILLIS = 30_000;
+
+    /**
+     * The time after the last use during which a connection is considered valid without checking, in milliseconds.
+     */
+    private static final long VALIDATION_BYPASS_MILLIS = 500;
+
+    /**
+     * Logger for logging pool events.
+     */
+    private static Logger logger = LogManager.getLogger(ConnectionPool.class);
+
+    /**
+     * Settings of the pool.
+     */
+    private final String url;
+    private final int minSize;
+    private final int maxSize;
+    private volatile long borrowTimeoutMillis = DEFAULT_BORROW_TIMEOUT_MILLIS;
+    private volatile long idleTimeoutMillis = DEFAULT_IDLE_TIMEOUT_MILLIS;
+    private volatile long leakDetectionThresholdMillis = DEFAULT_LEAK_DETECTION_THRESHOLD_MILLIS;
+    private volatile int validationTimeoutSeconds = DEFAULT_VALIDATION_TIMEOUT_SECONDS;
+    private volatile int statementCacheSize = DEFAULT_STATEMENT_CACHE_SIZE;
+
+    /**
+     * Idle connections, the most recently used first.
+     */
+    private final BlockingDeque<PooledConnection> idleConnections = new LinkedBlockingDeque<>();
+
+    /**
+     * Connections that are currently borrowed from the pool.
+     */
+    private final Set<PooledConnection> borrowedConnections = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Permits limiting the number of simultaneously borrowed connections by the maximum pool size.
+     */
+    private final Semaphore permits;
+
+    /**
+     * The number of physical connections opened by the pool.
+     */
+    private final AtomicInteger totalConnections = new AtomicInteger();
+
+    /**
+     * Executor running the periodic maintenance of the pool.
+     */
+    private final ScheduledExecutorService maintenance;
+
+    /**
+     * Whether the pool is closed.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Sets the logger to be used by the pool.
+     * @param logger The logger instance.
+     */
+    public static void setLogger(Logger logger) {
+        ConnectionPool.logger = logger;
+    }
+
+    /**
+     * The constructor initialises the pool and opens the minimum number of connections.
+     * @param url the JDBC URL of the database;
+     * @param minSize the minimum number of connections kept in the pool;
+     * @param maxSize the maximum number of connections in the pool.
+     */
+    public ConnectionPool(String url, int minSize, int maxSize) {
+        if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+
+        this.url = url;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.permits = new Semaphore(maxSize, true);
+
+        fillToMinimum();
+
+        maintenance = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "connection-pool-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        maintenance.scheduleWithFixedDelay(this::maintain,
+                MAINTENANCE_INTERVAL_MILLIS, MAINTENANCE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+
+        logger.info("Connection pool created: min=" + minSize + ", max=" + maxSize);
+    }
+
+    /**
+     * Borrows a connection from the pool, opening a new one if there are no idle connections.
+     * The connection must be returned to the pool by closing it.
+     * @return the borrowed {@link PooledConnection};
+     * @throws SQLException if the pool is closed, no connection is available within the borrow timeout
+     * or a new connection cannot be opened.
+     */
+    public PooledConnection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timeout of " + borrowTimeoutMillis + " ms waiting for a connection"
+                        + " (active=" + getActiveConnections() + ", max=" + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        }
+
+        try {
+            PooledConnection connection;
+
+            while ((connection = idleConnections.pollFirst()) != null) {
+                if (System.currentTimeMillis() - connection.getLastUsedAt() < VALIDATION_BYPASS_MILLIS
+                        || connection.isValid(validationTimeoutSeconds)) {
+                    break;
+                }
+
+                logger.warn("Invalid connection removed from the pool");
+                discard(connection);
+            }
+
+            if (connection == null) {
+                connection = open();
+            }
+
+            connection.markBorrowed(leakDetectionThresholdMillis > 0
+                    ? new Throwable("Connection borrowed by thread \"" + Thread.currentThread().getName() + "\"")
+                    : null);
+            borrowedConnections.add(connection);
+
+            return connection;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the borrowed connection to the pool.
+     * Uncommitted changes are rolled back and the auto-commit mode is restored.
+     * @param connection the connection to be returned.
+     */
+    void release(PooledConnection connection) {
+        if (!borrowedConnections.remove(connection)) {
+            return;
+        }
+
+        try {
+            if (closed || connection.getConnection().isClosed()) {
+                discard(connection);
+                return;
+            }
+
+            if (!connection.getConnection().getAutoCommit()) {
+                connection.getConnection().rollback();
+                connection.getConnection().setAutoCommit(true);
+            }
+
+            connection.markReturned();
+            idleConnections.offerFirst(connection);
+        } catch (SQLException e) {
+            logger.warn("Broken connection removed from the pool: " + e);
+            discard(connection);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Closes the pool and all idle connections.
+     * Borrowed connections are closed when they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        maintenance.shutdownNow();
+
+        PooledConnection connection;
+
+        while ((connection = idleConnections.pollFirst()) != null) {
+            discard(connection);
+        }
+
+        logger.info("Connection pool closed");
+    }
+
+    /**
+     * Opens a new physical connection.
+     * @return the new {@link PooledConnection};
+     * @throws SQLException if the connection cannot be opened or the pool has reached its maximum size.
+     */
+    private PooledConnection open() throws SQLException {
+        int total;
+
+        do {
+            total = totalConnections.get();
+
+            if (total >= maxSize) {
+                throw new SQLException("Connection pool has reached its maximum size of " + maxSize);
+            }
+        } while (!totalConnections.compareAndSet(total, total + 1));
+
+        try {
+            Connection connection = DriverManager.getConnection(url);
+
+            return new PooledConnection(connection, this, statementCacheSize);
+        } catch (SQLException | RuntimeException e) {
+            totalConnections.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * Closes the physical connection and removes it from the pool.
+     * @param connection the connection to be discarded.
+     */
+    private void discard(PooledConnection connection) {
+        totalConnections.decrementAndGet();
+        connection.closePhysically();
+    }
+
+    /**
+     * Opens idle connections until the pool contains the minimum number of connections.
+     */
+    private void fillToMinimum() {
+        while (!closed && totalConnections.get() < minSize) {
+            try {
+                PooledConnection connection = open();
+                connection.markReturned();
+                idleConnections.offerLast(connection);
+            } catch (SQLException e) {
+                logger.error("Failed to open a connection for the pool: " + e);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Evicts connections that were idle longer than the idle timeout, restores the minimum size of the pool
+     * and reports connections borrowed longer than the leak detection threshold.
+     */
+    private void maintain() {
+        try {
+            long now = System.currentTimeMillis();
+            Iterator<PooledConnection> iterator = idleConnections.descendingIterator();
+
+            while (iterator.hasNext() && totalConnections.get() > minSize) {
+                PooledConnection connection = iterator.next();
+
+                if (now - connection.getLastUsedAt() > idleTimeoutMillis
+                        && idleConnections.remove(connection)) {
+                    discard(connection);
+                }
+            }
+
+            fillToMinimum();
+
+            if (leakDetectionThresholdMillis > 0) {
+                for (PooledConnection connection : borrowedConnections) {
+                    if (!connection.isLeakReported()
+                            && now - connection.getBorrowedAt() > leakDetectionThresholdMillis) {
+                        connection.setLeakReported(true);
+                        logger.warn("Possible connection leak: connection is borrowed for "
+                                + (now - connection.getBorrowedAt()) + " ms", connection.getBorrowTrace());
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.error("Connection pool maintenance failed: " + e);
+        }
+    }
+
+    /**
+     * Cancels the statements being executed on the connections borrowed by the thread.
+     * A connection returned by the thread and borrowed by another thread meanwhile is skipped,
+     * so only the statements of the thread are cancelled.
+     * @param thread the thread that borrowed the connections;
+     * @return the number of statements for which the cancellation was sent to the database.
+     */
+    public int cancelStatements(Thread thread) {
+        int cancelled = 0;
+
+        for (PooledConnection connection : borrowedConnections) {
+            cancelled += connection.cancelStatements(thread);
+        }
+
+        return cancelled;
+    }
+
+    /**
+     * Sets the maximum time to wait for a connection when borrowing.
+     * @param borrowTimeoutMillis the time in milliseconds.
+     */
+    public void setBorrowTimeoutMillis(long borrowTimeoutMillis) {
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+    }
+
+    /**
+     * Sets the time after which idle connections above the minimum size are closed.
+     * @param idleTimeoutMillis the time in milliseconds.
+     */
+    public void setIdleTimeoutMillis(long idleTimeoutMillis) {
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    /**
+     * Sets the time after which a borrowed connection is reported as a possible leak.
+     * @param leakDetectionThresholdMillis the time in milliseconds, or {@code 0} to disable leak detection.
+     */
+    public void setLeakDetectionThresholdMillis(long leakDetectionThresholdMillis) {
+        this.leakDetectionThresholdMillis = leakDetectionThresholdMillis;
+    }
+
+    /**
+     * Sets the time to wait for the validation of a connection on borrow.
+     * @param validationTimeoutSeconds the time in seconds.
+     */
+    public void setValidationTimeoutSeconds(int validationTimeoutSeconds) {
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+    }
+
+    /**
+     * Sets the maximum number of prepared statements cached by each connection opened after the call.
+     * @param statementCacheSize the number of statements, or {@code 0} to disable caching.
+     */
+    public void setStatementCacheSize(int statementCacheSize) {
+        if (statementCacheSize < 0) {
+            throw new IllegalArgumentException("Invalid statement cache size: " + statementCacheSize);
+        }
+
+        this.statementCacheSize = statementCacheSize;
+    }
+
+    /**
+     * Gets the number of prepared statements taken from the statement caches of the pool connections.
+     * @return the number of cache hits.
+     */
+    public long getStatementCacheHits() {
+        long hits = 0;
+
+        for (PooledConnection connection : idleConnections) {
+            hits += connection.getStatementCacheHits();
+        }
+
+        for (PooledConnection connection : borrowedConnections) {
+            hits += connection.getStatementCacheHits();
+        }
+
+        return hits;
+    }
+
+    /**
+     * Gets the number of prepared statements that were not found in the statement caches of the pool connections.
+     * @return the number of cache misses.
+     */
+    public long getStatementCacheMisses() {
+        long misses = 0;
+
+        for (PooledConnection connection : idleConnections) {
+            misses += connection.getStatementCacheMisses();
+        }
+
+        for (PooledConnection connection : borrowedConnections) {
+            misses += connection.getStatementCacheMisses();
+        }
+
+        return misses;
+    }
+
+    /**
+     * Gets the maximum number of connections in the pool.
+     * @return the maximum pool size.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Gets the minimum number of connections kept in the pool.
+     * @return the minimum pool size.
+     */
+    public int getMinSize() {
+        return minSize;
+    }
+
+    /**
+     * Gets the number of physical connections opened by the pool.
+     * @return the number of connections.
+     */
+    public int getTotalConnections() {
+        return totalConnections.get();
+    }
+
+    /**
+     * Gets the number of idle connections in the pool.
+     * @return the number of idle connections.
+     */
+    public int getIdleConnections() {
+        return idleConnections.size();
+    }
+
+    /**
+     * Gets the number of connections that are currently borrowed from the pool.
+     * @return the number of borrowed connections.
+     */
+    public int getActiveConnections() {
+        return borrowedConnections.size();
+    }
+}
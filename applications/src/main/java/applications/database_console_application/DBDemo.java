@@ -186,7 +186,7 @@ public class DBDemo {
         showHoursWithWordInComment(word);
         word = "ow";
         System.out.println("Search Hours with word fragment \"" + word + "\" in comment for all Metro Stations:");
-        showHoursWithWordInComment(word);
+        showHoursWithWordInComment(word, CommentMatch.FRAGMENT);
         word = "";
         System.out.println("Search Hours with word \"" + word + "\" in comment for all Metro Stations:");
         showHoursWithWordInComment(word);
@@ -197,6 +197,9 @@ public class DBDemo {
                 + getTotalRidership("Politekhnichna"));
         System.out.println("Get total ridership for \"Kholodna Hora\" Metro Station:\t\t"
                 + getTotalRidership("Kholodna Hora") + "\n");
+        System.out.println("Get ridership statistics for all the Metro Stations:");
+        showRidershipStatistics();
+        System.out.println();
 
         System.out.println("Search Hours with minimum ridership for all Metro Stations:");
         showHoursWithMinRidership();
@@ -271,6 +274,9 @@ public class DBDemo {
             testSearchHours();
             testSortingHours();
 
+            System.out.println("\nCheck of query plans for full table scans:");
+            showQueryPlanCheck();
+
             exportToJSON(METROSTATIONSFORDB_FILE);
             System.out.println("\nExport for the current data of Metro Stations to JSON file completed");
             closeConnection();
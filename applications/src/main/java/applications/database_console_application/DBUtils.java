@@ -6,13 +6,19 @@ import com.thoughtworks.xstream.security.AnyTypePermission;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.PrintWriter;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 
 /**
@@ -31,6 +37,12 @@ public class DBUtils {
      */
     public static void setLogger(Logger logger)  {
         DBUtils.logger = logger;
+
+        if (logger != null) {
+            ConnectionPool.setLogger(logger);
+            SchemaMigrations.setLogger(logger);
+            DBUtilsAsync.setLogger(logger);
+        }
     }
     /**
      * Enum representing different sorting options of Metro Stations or Operating Hours data for querying metro stations.
@@ -47,6 +59,17 @@ public class DBUtils {
         SORTED_DESC_COMMENT_LENGTH
     }
 
+    /**
+     * Enum representing different options of matching a word in the comments of Operating Hours.
+     */
+    public enum CommentMatch {
+        WHOLE_WORD,
+        PREFIX,
+        SUFFIX,
+        PREFIX_OR_SUFFIX,
+        FRAGMENT
+    }
+
     /**
      * Enum representing different search options for querying Operating Hours data.
      */
@@ -71,17 +94,24 @@ public class DBUtils {
             CREATE TABLE metroStationsDB.metroStations (
               MetroStationID INT NOT NULL AUTO_INCREMENT,
               Name VARCHAR(128) NULL,
-              Opened INT NULL,
-              PRIMARY KEY (MetroStationID));
+              Opened INT NOT NULL DEFAULT 0,
+              PRIMARY KEY (MetroStationID),
+              UNIQUE INDEX Name_UNIQUE (Name ASC) VISIBLE);
             """;
     public static final String CREATE_TABLE_HOURS = """
             CREATE TABLE metroStationsDB.hours (
               HourID INT NOT NULL AUTO_INCREMENT,
-              Ridership INT NULL,
+              Ridership INT NOT NULL DEFAULT 0,
               Comment VARCHAR(256) NULL,
               MetroStationID INT NULL,
+              CommentLength INT GENERATED ALWAYS AS (COALESCE(CHAR_LENGTH(Comment), 0)) STORED,
+              CommentWordCount INT GENERATED ALWAYS AS (LENGTH(Comment) - LENGTH(REPLACE(Comment, ' ', '')) + 1) STORED,
               PRIMARY KEY (HourID),
-              INDEX MetroStationID_idx (MetroStationID ASC) VISIBLE,
+              INDEX MetroStationID_Ridership_idx (MetroStationID ASC, Ridership ASC) VISIBLE,
+              INDEX Ridership_idx (Ridership ASC) VISIBLE,
+              INDEX CommentLength_idx (CommentLength ASC) VISIBLE,
+              INDEX CommentWordCount_idx (CommentWordCount ASC) VISIBLE,
+              FULLTEXT INDEX Comment_ft (Comment),
               CONSTRAINT MetroStationID
                 FOREIGN KEY (MetroStationID)
                 REFERENCES metroStationsDB.metroStations (MetroStationID)
@@ -130,6 +160,11 @@ public class DBUtils {
             FROM metroStationsDB.metroStations
             ORDER BY Opened DESC;
             """;
+    private static final String SELECT_METROSTATIONS_SNAPSHOT = """
+            SELECT MetroStationID, Name, Opened
+            FROM metroStationsDB.metroStations
+            ORDER BY MetroStationID;
+            """;
     private static final String SELECT_METROSTATION_BY_ID = """
             SELECT *
             FROM metroStationsDB.metroStations
@@ -140,10 +175,36 @@ public class DBUtils {
             FROM metroStationsDB.metroStations
             WHERE Name = ?;
             """;
+    private static final String SELECT_METROSTATIONS_BY_NAME_PREFIX = """
+            SELECT *
+            FROM metroStationsDB.metroStations
+            WHERE Name LIKE ? ESCAPE '!'
+            ORDER BY Name
+            LIMIT ?;
+            """;
+    private static final String SELECT_METROSTATIONS_WITH_HOURS = """
+            SELECT ms.MetroStationID, ms.Name, ms.Opened, h.HourID, h.Ridership, h.Comment
+            FROM metroStationsDB.metroStations ms
+            LEFT JOIN metroStationsDB.hours h ON h.MetroStationID = ms.MetroStationID
+            ORDER BY ms.MetroStationID, h.HourID;
+            """;
+    private static final String SELECT_METROSTATIONS_COUNT = """
+            SELECT COUNT(*)
+            FROM metroStationsDB.metroStations;
+            """;
+    private static final String SELECT_HOURS_COUNT = """
+            SELECT COUNT(*)
+            FROM metroStationsDB.hours;
+            """;
     private static final String SELECT_HOURS = """
             SELECT *
             FROM metroStationsDB.hours;
             """;
+    private static final String SELECT_HOURS_SNAPSHOT = """
+            SELECT HourID, Ridership, Comment, CommentLength, MetroStationID
+            FROM metroStationsDB.hours
+            ORDER BY HourID;
+            """;
     private static final String SELECT_HOURS_BY_HOURID = """
             SELECT *
             FROM metroStationsDB.hours
@@ -158,7 +219,58 @@ public class DBUtils {
              SELECT h.HourID, h.Ridership, h.Comment, h.MetroStationID, m.Name
              FROM metroStationsDB.hours h
              INNER JOIN metroStationsDB.metroStations m ON h.MetroStationID = m.MetroStationID
-             WHERE h.Comment LIKE '%key_word%';
+             WHERE MATCH(h.Comment) AGAINST (? IN BOOLEAN MODE);
+            """;
+    private static final String SELECT_HOURS_BY_COMMENT_PATTERN = """
+             SELECT h.HourID, h.Ridership, h.Comment, h.MetroStationID, m.Name
+             FROM metroStationsDB.hours h
+             INNER JOIN metroStationsDB.metroStations m ON h.MetroStationID = m.MetroStationID
+             WHERE h.Comment REGEXP ?;
+            """;
+    private static final String SELECT_HOURS_BY_COMMENT_FRAGMENT = """
+             SELECT h.HourID, h.Ridership, h.Comment, h.MetroStationID, m.Name
+             FROM metroStationsDB.hours h
+             INNER JOIN metroStationsDB.metroStations m ON h.MetroStationID = m.MetroStationID
+             WHERE h.Comment LIKE ? ESCAPE '!';
+            """;
+    private static final String SELECT_HOURS_PAGE_BY_COMMENT_WORD = """
+            SELECT h.HourID, h.Ridership, h.Comment, h.MetroStationID, m.Name
+            FROM metroStationsDB.hours h
+            INNER JOIN metroStationsDB.metroStations m ON h.MetroStationID = m.MetroStationID
+            WHERE MATCH(h.Comment) AGAINST (? IN BOOLEAN MODE) AND h.HourID > ?
+            ORDER BY h.HourID
+            LIMIT ?;
+            """;
+    private static final String SELECT_HOURS_PAGE_BY_COMMENT_PATTERN = """
+            SELECT h.HourID, h.Ridership, h.Comment, h.MetroStationID, m.Name
+            FROM metroStationsDB.hours h
+            INNER JOIN metroStationsDB.metroStations m ON h.MetroStationID = m.MetroStationID
+            WHERE h.Comment REGEXP ? AND h.HourID > ?
+            ORDER BY h.HourID
+            LIMIT ?;
+            """;
+    private static final String SELECT_HOURS_PAGE_BY_COMMENT_FRAGMENT = """
+            SELECT h.HourID, h.Ridership, h.Comment, h.MetroStationID, m.Name
+            FROM metroStationsDB.hours h
+            INNER JOIN metroStationsDB.metroStations m ON h.MetroStationID = m.MetroStationID
+            WHERE h.Comment LIKE ? ESCAPE '!' AND h.HourID > ?
+            ORDER BY h.HourID
+            LIMIT ?;
+            """;
+    private static final String SELECT_HOURS_COUNT_BY_COMMENT_WORD = """
+            SELECT COUNT(*)
+            FROM metroStationsDB.hours
+            WHERE MATCH(Comment) AGAINST (? IN BOOLEAN MODE);
+            """;
+    private static final String SELECT_HOURS_COUNT_BY_COMMENT_PATTERN = """
+            SELECT COUNT(*)
+            FROM metroStationsDB.hours
+            WHERE Comment REGEXP ?;
+            """;
+    private static final String SELECT_HOURS_COUNT_BY_COMMENT_FRAGMENT = """
+            SELECT COUNT(*)
+            FROM metroStationsDB.hours
+            WHERE Comment LIKE ? ESCAPE '!';
             """;
     private static final String SELECT_TOTAL_RIDERSHIP = """
             SELECT SUM(Ridership) AS TotalRidership
@@ -166,9 +278,31 @@ public class DBUtils {
             """;
     private static final String SELECT_TOTAL_RIDERSHIP_FOR_METROSTATION = """
             SELECT SUM(h.Ridership) AS TotalRidership
-            FROM metroStationsDB.hours h
-            JOIN metroStationsDB.metroStations ms ON h.MetroStationID = ms.MetroStationID
-            WHERE ms.Name = ?;
+            FROM metroStationsDB.metroStations ms
+            LEFT JOIN metroStationsDB.hours h ON h.MetroStationID = ms.MetroStationID
+            WHERE ms.Name = ?
+            GROUP BY ms.MetroStationID;
+            """;
+    private static final String SELECT_RIDERSHIP_STATISTICS = """
+            SELECT SUM(Ridership) AS TotalRidership, COUNT(Ridership) AS HourCount,
+              MIN(Ridership) AS MinRidership, MAX(Ridership) AS MaxRidership, AVG(Ridership) AS AvgRidership
+            FROM metroStationsDB.hours;
+            """;
+    private static final String SELECT_RIDERSHIP_STATISTICS_FOR_METROSTATION = """
+            SELECT SUM(h.Ridership) AS TotalRidership, COUNT(h.Ridership) AS HourCount,
+              MIN(h.Ridership) AS MinRidership, MAX(h.Ridership) AS MaxRidership, AVG(h.Ridership) AS AvgRidership
+            FROM metroStationsDB.metroStations ms
+            LEFT JOIN metroStationsDB.hours h ON h.MetroStationID = ms.MetroStationID
+            WHERE ms.Name = ?
+            GROUP BY ms.MetroStationID;
+            """;
+    private static final String SELECT_RIDERSHIP_STATISTICS_BY_METROSTATION = """
+            SELECT ms.Name, SUM(h.Ridership) AS TotalRidership, COUNT(h.Ridership) AS HourCount,
+              MIN(h.Ridership) AS MinRidership, MAX(h.Ridership) AS MaxRidership, AVG(h.Ridership) AS AvgRidership
+            FROM metroStationsDB.metroStations ms
+            LEFT JOIN metroStationsDB.hours h ON h.MetroStationID = ms.MetroStationID
+            GROUP BY ms.MetroStationID, ms.Name
+            ORDER BY ms.MetroStationID;
             """;
     private static final String SELECT_HOURS_BY_MIN_RIDERSHIP = """
             SELECT h.HourID, h.Ridership, h.Comment, h.MetroStationID, ms.Name
@@ -195,10 +329,10 @@ public class DBUtils {
             SELECT h.HourID, h.Ridership, h.Comment, h.MetroStationID, ms.Name
             FROM metroStationsDB.hours h
             JOIN metroStationsDB.metroStations ms ON h.MetroStationID = ms.MetroStationID
-            WHERE (LENGTH(h.Comment) - LENGTH(REPLACE(h.Comment, ' ', '')) + 1) = (
-                SELECT MAX(LENGTH(h2.Comment) - LENGTH(REPLACE(h2.Comment, ' ', '')) + 1)
+            WHERE h.CommentWordCount = (
+                SELECT MAX(h2.CommentWordCount)
                 FROM metroStationsDB.hours h2
-                JOIN metroStationsDB.metroStations ms2 ON h2.MetroStationID = ms2.MetroStationID
+                WHERE h2.MetroStationID IS NOT NULL
             );
             """;
     private static final String SELECT_HOURS_BY_MAX_COMMENT_WORD_COUNT_BY_METROSTATION = """
@@ -206,8 +340,8 @@ public class DBUtils {
             FROM metroStationsDB.hours h
             JOIN metroStationsDB.metroStations ms ON h.MetroStationID = ms.MetroStationID
             WHERE ms.Name = ?
-            AND (LENGTH(h.Comment) - LENGTH(REPLACE(h.Comment, ' ', '')) + 1) = (
-                SELECT MAX(LENGTH(h2.Comment) - LENGTH(REPLACE(h2.Comment, ' ', '')) + 1)
+            AND h.CommentWordCount = (
+                SELECT MAX(h2.CommentWordCount)
                 FROM metroStationsDB.hours h2
                 JOIN metroStationsDB.metroStations ms2 ON h2.MetroStationID = ms2.MetroStationID
                 WHERE ms2.Name = ?);
@@ -225,12 +359,33 @@ public class DBUtils {
     private static final String SELECT_HOURS_ORDER_BY_ASC_COMMENT_LENGTH = """
              SELECT *
              FROM metroStationsDB.hours
-             ORDER BY LENGTH(Comment) ASC;
+             ORDER BY CommentLength ASC;
             """;
     private static final String SELECT_HOURS_ORDER_BY_DESC_COMMENT_LENGTH = """
              SELECT *
              FROM metroStationsDB.hours
-             ORDER BY LENGTH(Comment) DESC;
+             ORDER BY CommentLength DESC;
+            """;
+    private static final String SELECT_METROSTATIONS_PAGE = """
+            SELECT *
+            FROM metroStationsDB.metroStations
+            %s
+            ORDER BY %s
+            LIMIT ?;
+            """;
+    private static final String SELECT_HOURS_PAGE = """
+            SELECT *
+            FROM metroStationsDB.hours
+            %s
+            ORDER BY %s
+            LIMIT ?;
+            """;
+    private static final String SELECT_HOURS_PAGE_AT_OFFSET = """
+            SELECT *
+            FROM metroStationsDB.hours
+            %s
+            ORDER BY %s
+            LIMIT ? OFFSET ?;
             """;
     private static final String DELETE_METROSTATION_BY_ID = """
             DELETE FROM metroStationsDB.metroStations
@@ -244,7 +399,70 @@ public class DBUtils {
             DELETE FROM metroStationsDB.hours
             WHERE HourID = ?;
             """;
-    private static Connection connection;
+    /**
+     * Queries checked by {@link #checkQueryPlans()}: the name of the method using the query, the query and sample parameters.
+     */
+    private static final Object[][] QUERY_PLAN_CHECKS = {
+            {"getMetroStationByID", SELECT_METROSTATION_BY_ID, 1},
+            {"getMetroStationByName", SELECT_METROSTATION_BY_NAME, ""},
+            {"findMetroStationsByNamePrefix", SELECT_METROSTATIONS_BY_NAME_PREFIX, "a%", 1},
+            {"getHourByHourID", SELECT_HOURS_BY_HOURID, 1},
+            {"getHoursByMetroStationID", SELECT_HOURS_BY_METROSTATIONID, 1},
+            {"findHoursWithWordInComment", SELECT_HOURS_BY_COMMENT_WORD, "word"},
+            {"findHoursWithWordInComment(page)", SELECT_HOURS_PAGE_BY_COMMENT_WORD, "word", 0, 1},
+            {"getTotalRidership(name)", SELECT_TOTAL_RIDERSHIP_FOR_METROSTATION, ""},
+            {"getRidershipStatistics(name)", SELECT_RIDERSHIP_STATISTICS_FOR_METROSTATION, ""},
+            {"findHours(SEARCH_BY_MIN_RIDERSHIP)", SELECT_HOURS_BY_MIN_RIDERSHIP},
+            {"findHours(SEARCH_BY_MIN_RIDERSHIP, name)", SELECT_HOURS_BY_MIN_RIDERSHIP_BY_METROSTATION, "", ""},
+            {"findHours(SEARCH_BY_MAX_COMMENT_WORD_COUNT)", SELECT_HOURS_BY_MAX_COMMENT_WORD_COUNT},
+            {"findHours(SEARCH_BY_MAX_COMMENT_WORD_COUNT, name)", SELECT_HOURS_BY_MAX_COMMENT_WORD_COUNT_BY_METROSTATION, "", ""},
+            {"removeMetroStationByName", DELETE_METROSTATION_BY_NAME, ""},
+            {"removeHourByHourID", DELETE_HOUR_BY_HOURID, 1}
+    };
+
+    /**
+     * The JDBC URL of the MySQL database server.
+     * Statements are prepared on the server, so a statement kept in the {@link StatementCache} of a connection
+     * is parsed once and then executed with only its parameters.
+     * Batched inserts are still rewritten by the driver into multi-row inserts, which are prepared on the server per batch size.
+     */
+    private static final String DB_URL = "jdbc:mysql://localhost/mysql?user=root&password=Root_1234"
+            + "&useServerPrepStmts=true&rewriteBatchedStatements=true";
+
+    /**
+     * The pool of connections to the database.
+     */
+    private static ConnectionPool connectionPool;
+
+    /**
+     * The cache of Metro Stations by ID and name, kept coherent by the methods changing Metro Stations.
+     */
+    private static volatile MetroStationCache metroStationCache = new MetroStationCache();
+
+    /**
+     * Versions of the Metro Stations and Hours tables, incremented after every change of the table.
+     */
+    private static final AtomicLong metroStationsVersion = new AtomicLong();
+    private static final AtomicLong hoursVersion = new AtomicLong();
+
+    /**
+     * Caches of the results of {@link #getMetroStations(Sort)} and {@link #getHours(Sort)} by sorting,
+     * valid while the version of their table is unchanged.
+     */
+    private static final QueryResultCache<Sort, MetroStations> metroStationsResultCache = new QueryResultCache<>();
+    private static final QueryResultCache<Sort, List<HourForDB>> hoursResultCache = new QueryResultCache<>();
+
+    /**
+     * Whether {@link #getMetroStations(Sort)} and {@link #getHours(Sort)} sort snapshots of the tables in memory
+     * instead of querying the database for each sort order.
+     */
+    private static volatile boolean clientSideSorting;
+
+    /**
+     * The last snapshots of the Metro Stations and Hours tables, or {@code null}.
+     */
+    private static volatile MetroStationsSnapshot metroStationsSnapshot;
+    private static volatile HoursSnapshot hoursSnapshot;
 
     /**
      * Deserializes Merto Stations data from the specified XML file.
@@ -269,14 +487,105 @@ public class DBUtils {
         }
     }
 
+    /**
+     * Imports Metro Stations data from the specified JSON file directly to the database.
+     * The file is parsed and inserted record by record without building a {@link MetroStations} object.
+     * @param fileName the file name;
+     * @return the number of imported Metro Stations.
+     */
+    public static long importFromJSONToDatabase(String fileName) {
+        return importFromJSONToDatabase(fileName, null);
+    }
+
+    /**
+     * Imports Metro Stations data from the specified JSON file directly to the database reporting the progress.
+     * The import stops when the calling thread is interrupted; records imported before remain in the database.
+     * @param fileName the file name;
+     * @param progressListener the listener of the number of bytes of the file imported, or {@code null};
+     * @return the number of imported Metro Stations.
+     */
+    public static long importFromJSONToDatabase(String fileName, ProgressListener progressListener) {
+        logger.info("Import from JSON file to database");
+
+        try {
+            MetroStationsJSONImporter importer = new MetroStationsJSONImporter(fileName);
+            importer.setProgressListener(progressListener);
+
+            return importer.importToDatabase();
+        } catch (IOException | SQLException e) {
+            logger.error(e.toString());
+            throw new RuntimeException(e);
+        }
+    }
+
     /**
      * Serializes Metro Stations data from database to the specified JSON file.
+     * Rows are streamed from the database and written to the file one by one,
+     * so the memory use does not depend on the amount of data.
      * @param fileName the file name.
      */
     public static void exportToJSON(String fileName) {
-        exportToJSON(
-                getMetroStationsWithHours(),
-                fileName);
+        exportToJSON(fileName, null);
+    }
+
+    /**
+     * Serializes Metro Stations data from database to the specified JSON file reporting the progress.
+     * The export stops when the calling thread is interrupted, leaving an incomplete file.
+     * @param fileName the file name;
+     * @param progressListener the listener of the number of Metro Stations written, or {@code null}.
+     */
+    public static void exportToJSON(String fileName, ProgressListener progressListener) {
+        logger.info("Export to JSON file");
+
+        try (PooledConnection connection = getConnection();
+             Statement statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            long metroStationCount = -1;
+
+            if (progressListener != null) {
+                try (ResultSet resultSet = statement.executeQuery(SELECT_METROSTATIONS_COUNT)) {
+                    resultSet.next();
+                    metroStationCount = resultSet.getLong(1);
+                }
+            }
+
+            statement.setFetchSize(Integer.MIN_VALUE);
+
+            try (ResultSet resultSet = statement.executeQuery(SELECT_METROSTATIONS_WITH_HOURS);
+                 MetroStationsJSONWriter writer = new MetroStationsJSONWriter(
+                         new BufferedWriter(new FileWriter(fileName)))) {
+                long currentMetroStationID = -1;
+
+                while (resultSet.next()) {
+                    long metroStationID = resultSet.getLong("MetroStationID");
+
+                    if (metroStationID != currentMetroStationID) {
+                        if (Thread.currentThread().isInterrupted()) {
+                            throw new InterruptedIOException("Export to " + fileName + " was interrupted");
+                        }
+
+                        if (progressListener != null) {
+                            progressListener.progress(writer.getMetroStationCount(), metroStationCount);
+                        }
+
+                        writer.writeMetroStation(metroStationID, resultSet.getString("Name"), resultSet.getInt("Opened"));
+                        currentMetroStationID = metroStationID;
+                    }
+
+                    long hourID = resultSet.getLong("HourID");
+
+                    if (!resultSet.wasNull()) {
+                        writer.writeHour(hourID, resultSet.getInt("Ridership"), resultSet.getString("Comment"), metroStationID);
+                    }
+                }
+
+                if (progressListener != null) {
+                    progressListener.progress(writer.getMetroStationCount(), metroStationCount);
+                }
+            }
+        } catch (SQLException | IOException e) {
+            logger.error(e.toString());
+            throw new RuntimeException(e);
+        }
     }
 
     /**
@@ -305,36 +614,154 @@ public class DBUtils {
     }
 
     /**
-     * Creates the connection to the database.
+     * Creates the pool of connections to the database with the default pool size.
      */
     public static void createConnection() {
-        try {
-            connection = DriverManager.getConnection("jdbc:mysql://localhost/mysql?user=root&password=Root_1234");
+        createConnection(ConnectionPool.DEFAULT_MIN_SIZE, ConnectionPool.DEFAULT_MAX_SIZE);
+    }
 
-            if (logger != null) {
-                logger.info("Database connection established");
-            } else {
-                Logger logger = LogManager.getLogger(DBUtils.class);
-                DBUtils.setLogger(logger);
+    /**
+     * Creates the pool of connections to the database.
+     * @param minPoolSize the minimum number of connections kept in the pool;
+     * @param maxPoolSize the maximum number of connections in the pool.
+     */
+    public static void createConnection(int minPoolSize, int maxPoolSize) {
+        if (logger == null) {
+            Logger logger = LogManager.getLogger(DBUtils.class);
+            DBUtils.setLogger(logger);
+        }
+
+        ConnectionPool pool = new ConnectionPool(DB_URL, minPoolSize, maxPoolSize);
+
+        try (PooledConnection connection = pool.borrow()) {
+            if (!connection.isValid(ConnectionPool.DEFAULT_VALIDATION_TIMEOUT_SECONDS)) {
+                throw new SQLException("Database connection is not valid");
             }
+
+            logger.info("Database connection established");
         } catch (SQLException e) {
+            pool.close();
             logger.error(e.toString());
             throw new RuntimeException(e);
         }
+
+        if (connectionPool != null) {
+            connectionPool.close();
+        }
+
+        connectionPool = pool;
     }
 
     /**
-     * Closes the connection to the database.
+     * Closes the pool of connections to the database.
      */
     public static void closeConnection() {
         logger.info("Database connection closed");
 
-        try {
-            connection.close();
-        } catch (SQLException e) {
-            logger.error(e.toString());
-            throw new RuntimeException(e);
+        if (connectionPool != null) {
+            connectionPool.close();
+            connectionPool = null;
+        }
+
+        metroStationCache.clear();
+        invalidateQueryResults();
+        metroStationsSnapshot = null;
+        hoursSnapshot = null;
+    }
+
+    /**
+     * Gets the pool of connections to the database.
+     * @return the {@link ConnectionPool}, or {@code null} if the connection is not established.
+     */
+    public static ConnectionPool getConnectionPool() {
+        return connectionPool;
+    }
+
+    /**
+     * Gets the cache of Metro Stations, for example to read its hit ratio.
+     * @return the {@link MetroStationCache} object.
+     */
+    public static MetroStationCache getMetroStationCache() {
+        return metroStationCache;
+    }
+
+    /**
+     * Replaces the cache of Metro Stations, for example to change its maximum size or time to live.
+     * @param cache the new {@link MetroStationCache} object.
+     */
+    public static void setMetroStationCache(MetroStationCache cache) {
+        metroStationCache = cache;
+    }
+
+    /**
+     * Gets the version of the Metro Stations table, which is incremented after every change of Metro Stations.
+     * @return the version of the Metro Stations table.
+     */
+    public static long getMetroStationsVersion() {
+        return metroStationsVersion.get();
+    }
+
+    /**
+     * Gets the version of the Hours table, which is incremented after every change of Hours.
+     * @return the version of the Hours table.
+     */
+    public static long getHoursVersion() {
+        return hoursVersion.get();
+    }
+
+    /**
+     * Sets whether {@link #getMetroStations(Sort)} and {@link #getHours(Sort)} load each table once into a snapshot
+     * and sort it in memory, instead of querying the database for each sort order.
+     * @param enabled {@code true} to sort in memory, {@code false} to sort in the database.
+     */
+    public static void setClientSideSorting(boolean enabled) {
+        clientSideSorting = enabled;
+    }
+
+    /**
+     * Checks whether Metro Stations and Hours are sorted in memory.
+     * @return {@code true} if they are sorted in memory, {@code false} if they are sorted in the database.
+     */
+    public static boolean isClientSideSorting() {
+        return clientSideSorting;
+    }
+
+    /**
+     * Makes all cached results of {@link #getMetroStations(Sort)} and {@link #getHours(Sort)} stale.
+     * Used after bulk changes of the tables and after changes made outside of {@link DBUtils}.
+     */
+    public static void invalidateQueryResults() {
+        metroStationsChanged();
+        hoursChanged();
+    }
+
+    /**
+     * Increments the version of the Metro Stations table after its change.
+     */
+    private static void metroStationsChanged() {
+        metroStationsVersion.incrementAndGet();
+    }
+
+    /**
+     * Increments the version of the Hours table after its change.
+     */
+    private static void hoursChanged() {
+        hoursVersion.incrementAndGet();
+    }
+
+    /**
+     * Borrows a connection from the pool. The connection must be returned to the pool by closing it.
+     * @return the borrowed {@link PooledConnection};
+     * @throws SQLException if the connection is not established or no connection is available.
+     */
+    public static PooledConnection getConnection() throws SQLException {
+        ConnectionPool pool = connectionPool;
+
+        if (pool == null) {
+            throw new SQLException("Database connection is not established");
         }
+
+        return pool.borrow();
     }
 
     /**
@@ -344,15 +771,14 @@ public class DBUtils {
     public static boolean createDatabase() {
         logger.info("Database created");
 
-        try {
-            Statement statement = connection.createStatement();
-
+        try (PooledConnection connection = getConnection();
+             Statement statement = connection.createStatement()) {
             statement.executeUpdate(DROP_TABLES);
             statement.executeUpdate(DROP_DATABASE);
+            metroStationCache.clear();
+            invalidateQueryResults();
 
-            statement.executeUpdate(CREATE_DATABASE);
-            statement.executeUpdate(CREATE_TABLE_METROSTATIONS);
-            statement.executeUpdate(CREATE_TABLE_HOURS);
+            SchemaMigrations.migrate(connection);
 
             return true;
         } catch (SQLException e) {
@@ -361,24 +787,84 @@ public class DBUtils {
         }
     }
 
+    /**
+     * Creates the database if it does not exist and upgrades its tables to the current structure without losing data.
+     * Only the {@link SchemaMigrations} not yet applied to the database are executed,
+     * so an up-to-date database is checked with a single query.
+     * @return the number of applied migrations.
+     */
+    public static int migrateDatabase() {
+        try (PooledConnection connection = getConnection()) {
+            int applied = SchemaMigrations.migrate(connection);
+            logger.info("Database schema is up to date (version " + SchemaMigrations.LATEST_VERSION + ")");
+
+            return applied;
+        } catch (SQLException e) {
+            logger.error(e.toString());
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Checks the execution plans of the queries filtering Metro Stations and Hours with {@code EXPLAIN}
+     * and reports the queries that read a whole table instead of using an index.
+     * Queries reading all rows by design, such as sorted lists of all Hours, are not checked.
+     * @return a list of descriptions of full table scans, empty if all checked queries use indexes.
+     */
+    public static List<String> checkQueryPlans() {
+        List<String> fullScans = new ArrayList<>();
+
+        try (PooledConnection connection = getConnection()) {
+            for (Object[] check : QUERY_PLAN_CHECKS) {
+                try (PreparedStatement preparedStatement = connection.prepareStatement("EXPLAIN " + check[1])) {
+                    for (int i = 2; i < check.length; i++) {
+                        preparedStatement.setObject(i - 1, check[i]);
+                    }
+
+                    try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                        while (resultSet.next()) {
+                            if ("ALL".equals(resultSet.getString("type"))) {
+                                fullScans.add(check[0] + ": full scan of table \"" + resultSet.getString("table")
+                                        + "\" (rows: " + resultSet.getLong("rows") + ")");
+                            }
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            logger.error(e.toString());
+            throw new RuntimeException(e);
+        }
+
+        fullScans.forEach(logger::warn);
+
+        return fullScans;
+    }
+
     /**
      * Adds {@link MetroStationForDB} data to the database.
      * @param metroStation the {@link MetroStationForDB} whose data is being added;
      * @return {@code true} if addition is successful, {@code false} otherwise.
      */
     public static long addMetroStation(MetroStationForDB metroStation) {
-        try {
-            PreparedStatement preparedStatement = connection.prepareStatement(INSERT_INTO_METROSTATIONS, Statement.RETURN_GENERATED_KEYS);
+        try (PooledConnection connection = getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(INSERT_INTO_METROSTATIONS, Statement.RETURN_GENERATED_KEYS)) {
             preparedStatement.setString(1, metroStation.getName());
             preparedStatement.setInt(2, metroStation.getOpened());
 
             preparedStatement.executeUpdate();
-            ResultSet generatedKeys = preparedStatement.getGeneratedKeys();
+            metroStationsChanged();
 
-            if (generatedKeys.next()) {
-                return generatedKeys.getLong(1);
-            } else {
-                return -1;
+            try (ResultSet generatedKeys = preparedStatement.getGeneratedKeys()) {
+                if (generatedKeys.next()) {
+                    long metroStationID = generatedKeys.getLong(1);
+                    metroStationCache.put(
+                            new MetroStationForDB(metroStationID, metroStation.getName(), metroStation.getOpened()));
+
+                    return metroStationID;
+                } else {
+                    return -1;
+                }
             }
         } catch (SQLException e) {
             logger.error(e.toString());
@@ -392,14 +878,25 @@ public class DBUtils {
      * @return {@code true} if addition is successful, {@code false} otherwise.
      */
     public static boolean addMetroStationsWithHours(MetroStations metroStations) {
-        metroStations.getList()
-                .forEach(metroStation -> {
-                    addMetroStation(metroStation);
-                    metroStation.getHourList()
-                            .forEach(hour ->
-                                addHour(hour, metroStation.getName())
-                            );
-                });
+        return addMetroStationsWithHours(metroStations, MetroStationsBulkLoader.DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Adds all data from the {@link MetroStations} object with MetroStations and theirs Hours to the database
+     * using batched inserts committed in chunks of the specified size.
+     * @param metroStations the object with {@link MetroStations} data;
+     * @param chunkSize the number of rows inserted in one transaction;
+     * @return {@code true} if addition is successful, {@code false} otherwise.
+     */
+    public static boolean addMetroStationsWithHours(MetroStations metroStations, int chunkSize) {
+        try (MetroStationsBulkLoader loader = new MetroStationsBulkLoader(chunkSize)) {
+            for (MetroStationForDB metroStation : metroStations.getList()) {
+                loader.addMetroStationWithHours(metroStation);
+            }
+        } catch (SQLException e) {
+            logger.error(e.toString());
+            throw new RuntimeException(e);
+        }
 
         return !metroStations.getList().isEmpty();
     }
@@ -412,16 +909,21 @@ public class DBUtils {
      * @return {@code true} if addition is successful, {@code false} otherwise.
      */
     public static boolean addHour(int ridership, String comment, long metroStationID) {
-        try {
-            MetroStationForDB metroStation = getMetroStationByID(metroStationID);
+        try (PooledConnection connection = getConnection()) {
+            MetroStationForDB metroStation = getMetroStationByID(connection, metroStationID);
 
             if (metroStation.getId() > 0) {
-                PreparedStatement preparedStatement = connection.prepareStatement(INSERT_INTO_HOURS);
-                preparedStatement.setInt(1, ridership);
-                preparedStatement.setString(2, comment);
-                preparedStatement.setLong(3, metroStation.getId());
-
-                return preparedStatement.executeUpdate() == 1;
+                try (PreparedStatement preparedStatement = connection.prepareStatement(INSERT_INTO_HOURS)) {
+                    preparedStatement.setInt(1, ridership);
+                    preparedStatement.setString(2, comment);
+                    preparedStatement.setLong(3, metroStation.getId());
+
+                    try {
+                        return preparedStatement.executeUpdate() == 1;
+                    } finally {
+                        hoursChanged();
+                    }
+                }
             }
 
             return false;
@@ -437,24 +939,27 @@ public class DBUtils {
      * @return The ID of the newly created record in the database, or -1 if the record was not added successfully.
      */
     public static long addHour(HourForDB hour) {
-        try {
-            MetroStationForDB metroStation = getMetroStationByID(hour.getMetroStationID());
+        try (PooledConnection connection = getConnection()) {
+            MetroStationForDB metroStation = getMetroStationByID(connection, hour.getMetroStationID());
 
             if (metroStation.getId() > 0) {
-                PreparedStatement preparedStatement = connection.prepareStatement(
+                try (PreparedStatement preparedStatement = connection.prepareStatement(
                         INSERT_INTO_HOURS,
-                        Statement.RETURN_GENERATED_KEYS);
-                preparedStatement.setInt(1, hour.getRidership());
-                preparedStatement.setString(2, hour.getComment());
-                preparedStatement.setLong(3, metroStation.getId());
-
-                preparedStatement.executeUpdate();
-                ResultSet generatedKeys = preparedStatement.getGeneratedKeys();
-
-                if (generatedKeys.next()) {
-                    return generatedKeys.getLong(1);
-                } else {
-                    return -1;
+                        Statement.RETURN_GENERATED_KEYS)) {
+                    preparedStatement.setInt(1, hour.getRidership());
+                    preparedStatement.setString(2, hour.getComment());
+                    preparedStatement.setLong(3, metroStation.getId());
+
+                    preparedStatement.executeUpdate();
+                    hoursChanged();
+
+                    try (ResultSet generatedKeys = preparedStatement.getGeneratedKeys()) {
+                        if (generatedKeys.next()) {
+                            return generatedKeys.getLong(1);
+                        } else {
+                            return -1;
+                        }
+                    }
                 }
             }
 
@@ -472,16 +977,21 @@ public class DBUtils {
      * @return {@code true} if addition is successful, {@code false} otherwise.
      */
     public static boolean addHour(HourForDB hour, String metroStationName) {
-        try {
-            long metroStationID = getMetroStationIDByName(metroStationName);
+        try (PooledConnection connection = getConnection()) {
+            long metroStationID = getMetroStationIDByName(connection, metroStationName);
 
             if (metroStationID > 0) {
-                PreparedStatement preparedStatement = connection.prepareStatement(INSERT_INTO_HOURS);
-                preparedStatement.setInt(1, hour.getRidership());
-                preparedStatement.setString(2, hour.getComment());
-                preparedStatement.setLong(3, metroStationID);
-
-                return preparedStatement.executeUpdate() == 1;
+                try (PreparedStatement preparedStatement = connection.prepareStatement(INSERT_INTO_HOURS)) {
+                    preparedStatement.setInt(1, hour.getRidership());
+                    preparedStatement.setString(2, hour.getComment());
+                    preparedStatement.setLong(3, metroStationID);
+
+                    try {
+                        return preparedStatement.executeUpdate() == 1;
+                    } finally {
+                        hoursChanged();
+                    }
+                }
             }
 
             return false;
@@ -497,14 +1007,24 @@ public class DBUtils {
      * @return {@code true} if updating is successful, {@code false} otherwise.
      */
     public static boolean updateMetroStation(MetroStationForDB metroStation) {
-        try {
-            PreparedStatement preparedStatement = connection.prepareStatement(UPDATE_METROSTATION);
+        try (PooledConnection connection = getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(UPDATE_METROSTATION)) {
             preparedStatement.setString(1, metroStation.getName());
             preparedStatement.setInt(2, metroStation.getOpened());
             preparedStatement.setLong(3, metroStation.getId());
 
-            return preparedStatement.executeUpdate() == 1;
+            boolean updated = preparedStatement.executeUpdate() == 1;
+            metroStationsChanged();
+
+            if (updated) {
+                metroStationCache.put(metroStation);
+            } else {
+                metroStationCache.remove(metroStation.getId());
+            }
+
+            return updated;
         } catch (SQLException e) {
+            metroStationCache.remove(metroStation.getId());
             logger.error(e.toString());
             throw new RuntimeException(e);
         }
@@ -516,14 +1036,18 @@ public class DBUtils {
      * @return {@code true} if updating is successful, {@code false} otherwise.
      */
     public static boolean updateHour(HourForDB hour) {
-        try {
-            PreparedStatement preparedStatement = connection.prepareStatement(UPDATE_HOUR);
+        try (PooledConnection connection = getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(UPDATE_HOUR)) {
             preparedStatement.setInt(1, hour.getRidership());
             preparedStatement.setString(2, hour.getComment());
             preparedStatement.setLong(3, hour.getMetroStationID());
             preparedStatement.setLong(4, hour.getId());
 
-            return preparedStatement.executeUpdate() == 1;
+            try {
+                return preparedStatement.executeUpdate() == 1;
+            } finally {
+                hoursChanged();
+            }
         } catch (SQLException e) {
             logger.error(e.toString());
             throw new RuntimeException(e);
@@ -536,11 +1060,16 @@ public class DBUtils {
      * @return {@code true} if deletion is successful, {@code false} otherwise.
      */
     public static boolean removeMetroStationByID(long metroStationID) {
-        try {
-            PreparedStatement preparedStatement = connection.prepareStatement(DELETE_METROSTATION_BY_ID);
+        try (PooledConnection connection = getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(DELETE_METROSTATION_BY_ID)) {
             preparedStatement.setLong(1, metroStationID);
 
-            return preparedStatement.executeUpdate() == 1;
+            try {
+                return preparedStatement.executeUpdate() == 1;
+            } finally {
+                metroStationCache.remove(metroStationID);
+                metroStationsChanged();
+            }
         } catch (SQLException e) {
             logger.error(e.toString());
             throw new RuntimeException(e);
@@ -553,11 +1082,16 @@ public class DBUtils {
      * @return {@code true} if deletion is successful, {@code false} otherwise.
      */
     public static boolean removeMetroStationByName(String metroStationName) {
-        try {
-            PreparedStatement preparedStatement = connection.prepareStatement(DELETE_METROSTATION_BY_NAME);
+        try (PooledConnection connection = getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(DELETE_METROSTATION_BY_NAME)) {
             preparedStatement.setString(1, metroStationName);
 
-            return preparedStatement.executeUpdate() == 1;
+            try {
+                return preparedStatement.executeUpdate() == 1;
+            } finally {
+                metroStationCache.removeByName(metroStationName);
+                metroStationsChanged();
+            }
         } catch (SQLException e) {
             logger.error(e.toString());
             throw new RuntimeException(e);
@@ -570,11 +1104,15 @@ public class DBUtils {
      * @return {@code true} if deletion is successful, {@code false} otherwise.
      */
     public static boolean removeHourByHourID(long hourID) {
-        try {
-            PreparedStatement preparedStatement = connection.prepareStatement(DELETE_HOUR_BY_HOURID);
+        try (PooledConnection connection = getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(DELETE_HOUR_BY_HOURID)) {
             preparedStatement.setLong(1, hourID);
 
-            return preparedStatement.executeUpdate() == 1;
+            try {
+                return preparedStatement.executeUpdate() == 1;
+            } finally {
+                hoursChanged();
+            }
         } catch (SQLException e) {
             logger.error(e.toString());
             throw new RuntimeException(e);
@@ -652,51 +1190,460 @@ public class DBUtils {
             return hours;
         }
 
-        return new ArrayList<>();
+        return new ArrayList<>();
+    }
+
+    /**
+     * Creates the {@link HourForDB} list, which stores the data about Hours including its MetroStation Name
+     * from the result set retrieved from the database.
+     * @return list of {@link HourForDB} retrieved from the given result set.
+     */
+    public static List<HourForDB> getHoursWithMSNameFromResultSet(ResultSet resultSet) throws SQLException {
+        if (resultSet.isBeforeFirst()) {
+            List<HourForDB> hours = new ArrayList<>();
+
+            while (resultSet.next()) {
+                HourForDB hour = getHourFromResultSet(resultSet);
+                hour.setMetroStationName(resultSet.getString("Name"));
+                hours.add(hour);
+            }
+
+            return hours;
+        }
+
+        return new ArrayList<>();
+    }
+
+    /**
+     * Creates a {@link MetroStationForDB} object by filling it with data from the database.
+     * @param metroStationID ID of the Metro Station;
+     * @return an {@link MetroStationForDB} object filled with data from the database.
+     */
+    public static MetroStationForDB getMetroStationByID(long metroStationID) {
+        MetroStationForDB metroStation = metroStationCache.get(metroStationID);
+
+        if (metroStation != null) {
+            return metroStation;
+        }
+
+        try (PooledConnection connection = getConnection()) {
+            return selectMetroStationByID(connection, metroStationID);
+        } catch (SQLException e) {
+            logger.error(e.toString());
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Creates a {@link MetroStationForDB} object by filling it with data from the {@link MetroStationCache}
+     * or from the database using the borrowed connection.
+     * @param connection the borrowed connection;
+     * @param metroStationID ID of the Metro Station;
+     * @return an {@link MetroStationForDB} object filled with data from the database;
+     * @throws SQLException an exception related to a SQL query error.
+     */
+    private static MetroStationForDB getMetroStationByID(PooledConnection connection, long metroStationID) throws SQLException {
+        MetroStationForDB metroStation = metroStationCache.get(metroStationID);
+
+        return metroStation != null ? metroStation : selectMetroStationByID(connection, metroStationID);
+    }
+
+    /**
+     * Creates a {@link MetroStationForDB} object by filling it with data from the database
+     * using the borrowed connection, and puts the found Metro Station into the {@link MetroStationCache}.
+     * @param connection the borrowed connection;
+     * @param metroStationID ID of the Metro Station;
+     * @return an {@link MetroStationForDB} object filled with data from the database;
+     * @throws SQLException an exception related to a SQL query error.
+     */
+    private static MetroStationForDB selectMetroStationByID(PooledConnection connection, long metroStationID) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(SELECT_METROSTATION_BY_ID)) {
+            preparedStatement.setLong(1, metroStationID);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                MetroStationForDB metroStation = new MetroStationForDB();
+
+                if (resultSet.next()) {
+                    metroStation = getMetroStationFromResultSet(resultSet);
+                    metroStationCache.put(metroStation);
+                }
+
+                return metroStation;
+            }
+        }
+    }
+
+    /**
+     * Creates a {@link MetroStationForDB} object by filling it with data from the database.
+     * @param metroStationName name of the Metro Station;
+     * @return an {@link MetroStationForDB} object filled with data from the database.
+     */
+    public static MetroStationForDB getMetroStationByName(String metroStationName) {
+        MetroStationForDB metroStation = metroStationCache.getByName(metroStationName);
+
+        if (metroStation != null) {
+            return metroStation;
+        }
+
+        try (PooledConnection connection = getConnection()) {
+            return selectMetroStationByName(connection, metroStationName);
+        } catch (SQLException e) {
+            logger.error(e.toString());
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Creates a {@link MetroStationForDB} object by filling it with data from the {@link MetroStationCache}
+     * or from the database using the borrowed connection.
+     * @param connection the borrowed connection;
+     * @param metroStationName name of the Metro Station;
+     * @return an {@link MetroStationForDB} object filled with data from the database;
+     * @throws SQLException an exception related to a SQL query error.
+     */
+    private static MetroStationForDB getMetroStationByName(PooledConnection connection, String metroStationName) throws SQLException {
+        MetroStationForDB metroStation = metroStationCache.getByName(metroStationName);
+
+        return metroStation != null ? metroStation : selectMetroStationByName(connection, metroStationName);
+    }
+
+    /**
+     * Creates a {@link MetroStationForDB} object by filling it with data from the database
+     * using the borrowed connection, and puts the found Metro Station into the {@link MetroStationCache}.
+     * @param connection the borrowed connection;
+     * @param metroStationName name of the Metro Station;
+     * @return an {@link MetroStationForDB} object filled with data from the database;
+     * @throws SQLException an exception related to a SQL query error.
+     */
+    private static MetroStationForDB selectMetroStationByName(PooledConnection connection, String metroStationName) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(SELECT_METROSTATION_BY_NAME)) {
+            preparedStatement.setString(1, metroStationName);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                MetroStationForDB metroStation = new MetroStationForDB();
+
+                if (resultSet.next()) {
+                    metroStation = getMetroStationFromResultSet(resultSet);
+                    metroStationCache.put(metroStation);
+                }
+
+                return metroStation;
+            }
+        }
+    }
+
+    /**
+     * Finds the first Metro Stations in the order of names whose name starts with a certain prefix
+     * and passes each of them to the consumer as soon as it is read. The prefix is searched with the index of names.
+     * @param prefix the beginning of the name;
+     * @param limit the maximum number of Metro Stations found;
+     * @param consumer the consumer of the found Metro Stations, called on the calling thread;
+     * @return the number of found Metro Stations.
+     */
+    public static int findMetroStationsByNamePrefix(String prefix, int limit, Consumer<MetroStationForDB> consumer) {
+        try (PooledConnection connection = getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(SELECT_METROSTATIONS_BY_NAME_PREFIX)) {
+            preparedStatement.setString(1, prefix.replaceAll("[!%_]", "!$0") + "%");
+            preparedStatement.setInt(2, limit);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                int count = 0;
+
+                while (resultSet.next()) {
+                    consumer.accept(getMetroStationFromResultSet(resultSet));
+                    count++;
+                }
+
+                return count;
+            }
+        } catch (SQLException e) {
+            logger.error(e.toString());
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Displays data about Metro Station and its Operating Hours by Name on the console.
+     * @param metroStationName name of the Metro Station;
+     * @return an {@link MetroStationForDB} object filled with data from the database.
+     */
+    public static MetroStationForDB getMetroStationWithHoursByName(String metroStationName) {
+        try (PooledConnection connection = getConnection()) {
+            MetroStationForDB metroStation = getMetroStationByName(connection, metroStationName);
+
+            if (metroStation.getId() > 0) {
+                metroStation.addHours(
+                        getHoursByMetroStationID(connection, metroStation.getId()));
+            }
+
+            return metroStation;
+        } catch (SQLException e) {
+            logger.error(e.toString());
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Gets the Metro Station ID by Metro Station name.
+     * @param metroStationName Metro Station name;
+     * @return Metro Station ID in the database.
+     */
+    public static long getMetroStationIDByName(String metroStationName) {
+        MetroStationForDB metroStation = metroStationCache.getByName(metroStationName);
+
+        if (metroStation != null) {
+            return metroStation.getId();
+        }
+
+        try (PooledConnection connection = getConnection()) {
+            return selectMetroStationByName(connection, metroStationName).getId();
+        } catch (SQLException e) {
+            logger.error(e.toString());
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Gets the Metro Station ID by Metro Station name from the {@link MetroStationCache}
+     * or from the database using the borrowed connection.
+     * @param connection the borrowed connection;
+     * @param metroStationName Metro Station name;
+     * @return Metro Station ID in the database;
+     * @throws SQLException an exception related to a SQL query error.
+     */
+    private static long getMetroStationIDByName(PooledConnection connection, String metroStationName) throws SQLException {
+        return getMetroStationByName(connection, metroStationName).getId();
+    }
+
+    /**
+     * Creates the {@link MetroStations}, which stores all the data from the database.
+     * @param sorting the order sorted data defined by the {@link Sort} list;
+     * @return the {@link MetroStations} object where the data about Metro Stations is stored.
+     */
+    public static MetroStations getMetroStations(Sort sorting) {
+        String query = switch (sorting) {
+            case UNSORTED -> SELECT_METROSTATIONS;
+            case SORTED_BY_ASC_NAME -> SELECT_METROSTATIONS_ORDER_BY_ASC_NAME;
+            case SORTED_BY_DESC_NAME -> SELECT_METROSTATIONS_ORDER_BY_DESC_NAME;
+            case SORTED_BY_ASC_OPENED -> SELECT_METROSTATIONS_ORDER_BY_ASC_OPENED;
+            case SORTED_BY_DESC_OPENED -> SELECT_METROSTATIONS_ORDER_BY_DESC_OPENED;
+            default -> throw new IllegalArgumentException("Unexpected value: " + sorting);
+        };
+
+        if (clientSideSorting) {
+            return getMetroStationsSnapshot().getMetroStations(sorting);
+        }
+
+        long version = metroStationsVersion.get();
+        MetroStations cached = metroStationsResultCache.get(sorting, version);
+
+        if (cached != null) {
+            return copyMetroStations(cached);
+        }
+
+        try (PooledConnection connection = getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(query)) {
+            MetroStations metroStations = getMetroStationsFromResultSet(resultSet);
+            metroStationsResultCache.put(sorting, version, copyMetroStations(metroStations));
+
+            return metroStations;
+        } catch (SQLException e) {
+            logger.error(e.toString());
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Gets a page of Metro Stations from the database using keyset pagination.
+     * The page starts right after the specified Metro Station in the order defined by the sorting,
+     * so the query does not depend on the number of rows before the page.
+     * @param sorting the order sorted data defined by the {@link Sort} list;
+     * @param pageSize the maximum number of Metro Stations on the page;
+     * @param after the last Metro Station of the previous page, or {@code null} for the first page;
+     * @return the {@link MetroStations} object where the data about Metro Stations of the page is stored.
+     */
+    public static MetroStations getMetroStationsPage(Sort sorting, int pageSize, MetroStationForDB after) {
+        String sortColumn = switch (sorting) {
+            case UNSORTED -> null;
+            case SORTED_BY_ASC_NAME, SORTED_BY_DESC_NAME -> "Name";
+            case SORTED_BY_ASC_OPENED, SORTED_BY_DESC_OPENED -> "Opened";
+            default -> throw new IllegalArgumentException("Unexpected value: " + sorting);
+        };
+        boolean descending = sorting == Sort.SORTED_BY_DESC_NAME || sorting == Sort.SORTED_BY_DESC_OPENED;
+        Object sortValue = after == null || sortColumn == null ? null
+                : sortColumn.equals("Name") ? after.getName() : after.getOpened();
+
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+
+        String query = getPageQuery(SELECT_METROSTATIONS_PAGE, sortColumn, "MetroStationID", descending,
+                after != null, sortValue == null);
+
+        try (PooledConnection connection = getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            int index = after == null ? 1
+                    : setCursorParameters(preparedStatement, sortColumn != null, sortValue, after.getId());
+            preparedStatement.setInt(index, pageSize);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return getMetroStationsFromResultSet(resultSet);
+            }
+        } catch (SQLException e) {
+            logger.error(e.toString());
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Displays all data about Metro Stations and its Operating Hours from the database on the console, sequentially for each Metro Station.
+     * Metro Stations and Hours are retrieved with a single query.
+     */
+    public static MetroStations getMetroStationsWithHours() {
+        try (PooledConnection connection = getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(SELECT_METROSTATIONS_WITH_HOURS)) {
+            return getMetroStationsWithHoursFromResultSet(resultSet);
+        } catch (SQLException e) {
+            logger.error(e.toString());
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Creates and returns a {@link MetroStations} object with Operating Hours data from the result dataset
+     * of Metro Stations joined with their Hours and ordered by Metro Station ID.
+     * Rows of each Metro Station are grouped in a single pass over the result dataset.
+     * @param resultSet the result dataset from which the Metro Stations and Hours data is retrieved;
+     * @return the created Metro Stations with Operating Hours data;
+     * @throws SQLException an exception related to a SQL query error.
+     */
+    public static MetroStations getMetroStationsWithHoursFromResultSet(ResultSet resultSet) throws SQLException {
+        MetroStations metroStations = new MetroStations();
+        MetroStationForDB metroStation = null;
+
+        while (resultSet.next()) {
+            long metroStationID = resultSet.getLong("MetroStationID");
+
+            if (metroStation == null || metroStation.getId() != metroStationID) {
+                metroStation = getMetroStationFromResultSet(resultSet);
+                metroStations.add(metroStation);
+            }
+
+            long hourID = resultSet.getLong("HourID");
+
+            if (!resultSet.wasNull()) {
+                HourForDB hour = new HourForDB();
+                hour.setId(hourID);
+                hour.setRidership(resultSet.getInt("Ridership"));
+                hour.setComment(resultSet.getString("Comment"));
+                hour.setMetroStationID(metroStationID);
+                metroStation.addHour(hour);
+            }
+        }
+
+        return metroStations;
+    }
+
+    /**
+     * Creates the {@link HourForDB} object, which stores all the data from the database.
+     * @return the {@link HourForDB} object where the data about Hour is stored.
+     */
+    public static HourForDB getHourByHourID(long id) {
+        try (PooledConnection connection = getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(SELECT_HOURS_BY_HOURID)) {
+            preparedStatement.setLong(1, id);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                HourForDB hour = new HourForDB();
+
+                if (resultSet.next()) {
+                    hour = getHourFromResultSet(resultSet);
+                }
+
+                return hour;
+            }
+        } catch (SQLException e) {
+            logger.error(e.toString());
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Creates the {@link HourForDB} object, which stores the data about one Hour.
+     * from the result set retrieved from the database.
+     * @return the {@link HourForDB} object retrieved from the given result set.
+     */
+    public static HourForDB getHourFromResultSet(ResultSet resultSet) throws SQLException {
+        HourForDB hour = new HourForDB();
+        hour.setId(resultSet.getLong("HourID"));
+        hour.setRidership(resultSet.getInt("Ridership"));
+        hour.setComment(resultSet.getString("Comment"));
+        hour.setMetroStationID(resultSet.getLong("MetroStationID"));
+
+        return hour;
     }
 
     /**
-     * Creates the {@link HourForDB} list, which stores the data about Hours including its MetroStation Name
-     * from the result set retrieved from the database.
-     * @return list of {@link HourForDB} retrieved from the given result set.
+     * Gets data about Hours form database.
+     * @param sorting the order sorted data defined by the {@link Sort} list;
+     * @return a list of {@link HourForDB} objects retrieved from the database.
      */
-    public static List<HourForDB> getHoursWithMSNameFromResultSet(ResultSet resultSet) throws SQLException {
-        if (resultSet.isBeforeFirst()) {
-            List<HourForDB> hours = new ArrayList<>();
+    public static List<HourForDB> getHours(Sort sorting) {
+        String query = switch (sorting) {
+            case UNSORTED -> SELECT_HOURS;
+            case SORTED_ASC_RIDERSHIP -> SELECT_HOURS_ORDER_BY_ASC_RIDERSHIP;
+            case SORTED_DESC_RIDERSHIP -> SELECT_HOURS_ORDER_BY_DESC_RIDERSHIP;
+            case SORTED_ASC_COMMENT_LENGTH -> SELECT_HOURS_ORDER_BY_ASC_COMMENT_LENGTH;
+            case SORTED_DESC_COMMENT_LENGTH -> SELECT_HOURS_ORDER_BY_DESC_COMMENT_LENGTH;
+            default -> throw new IllegalArgumentException("Unexpected value: " + sorting);
+        };
 
-            while (resultSet.next()) {
-                HourForDB hour = getHourFromResultSet(resultSet);
-                hour.setMetroStationName(resultSet.getString("Name"));
-                hours.add(hour);
-            }
+        if (clientSideSorting) {
+            return getHoursSnapshot().getHours(sorting);
+        }
 
-            return hours;
+        long version = hoursVersion.get();
+        List<HourForDB> cached = hoursResultCache.get(sorting, version);
+
+        if (cached != null) {
+            return copyHours(cached);
         }
 
-        return new ArrayList<>();
+        try (PooledConnection connection = getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(query)) {
+            List<HourForDB> hours = getHoursFromResultSet(resultSet);
+            hoursResultCache.put(sorting, version, copyHours(hours));
+
+            return hours;
+        } catch (SQLException e) {
+            logger.error(e.toString());
+            throw new RuntimeException(e);
+        }
     }
 
     /**
-     * Creates a {@link MetroStationForDB} object by filling it with data from the database.
-     * @param metroStationID ID of the Metro Station;
-     * @return an {@link MetroStationForDB} object filled with data from the database.
+     * Gets the snapshot of the current version of the Metro Stations table, reading it from the database
+     * if the table has changed since the last snapshot.
+     * @return the {@link MetroStationsSnapshot} object.
      */
-    public static MetroStationForDB getMetroStationByID(long metroStationID) {
-        try {
-            PreparedStatement preparedStatement = connection.prepareStatement(SELECT_METROSTATION_BY_ID);
-            preparedStatement.setLong(1, metroStationID);
+    public static MetroStationsSnapshot getMetroStationsSnapshot() {
+        long version = metroStationsVersion.get();
+        MetroStationsSnapshot snapshot = metroStationsSnapshot;
 
-            ResultSet resultSet = preparedStatement.executeQuery();
-            MetroStationForDB metroStation = new MetroStationForDB();
-
-            if (resultSet.next()) {
-                metroStation = getMetroStationFromResultSet(resultSet);
-
-            }
+        if (snapshot != null && snapshot.getVersion() == version) {
+            return snapshot;
+        }
 
-            resultSet.close();
+        try (PooledConnection connection = getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(SELECT_METROSTATIONS_SNAPSHOT)) {
+            snapshot = new MetroStationsSnapshot(resultSet, version);
+            metroStationsSnapshot = snapshot;
 
-            return metroStation;
+            return snapshot;
         } catch (SQLException e) {
             logger.error(e.toString());
             throw new RuntimeException(e);
@@ -704,25 +1651,28 @@ public class DBUtils {
     }
 
     /**
-     * Creates a {@link MetroStationForDB} object by filling it with data from the database.
-     * @param metroStationName name of the Metro Station;
-     * @return an {@link MetroStationForDB} object filled with data from the database.
+     * Gets the snapshot of the current version of the Hours table, reading it from the database
+     * if the table has changed since the last snapshot. The rows are streamed from the server.
+     * @return the {@link HoursSnapshot} object.
      */
-    public static MetroStationForDB getMetroStationByName(String metroStationName) {
-        try {
-            PreparedStatement preparedStatement = connection.prepareStatement(SELECT_METROSTATION_BY_NAME);
-            preparedStatement.setString(1, metroStationName);
+    public static HoursSnapshot getHoursSnapshot() {
+        long version = hoursVersion.get();
+        HoursSnapshot snapshot = hoursSnapshot;
 
-            ResultSet resultSet = preparedStatement.executeQuery();
-            MetroStationForDB metroStation = new MetroStationForDB();
+        if (snapshot != null && snapshot.getVersion() == version) {
+            return snapshot;
+        }
 
-            if (resultSet.next()) {
-                metroStation = getMetroStationFromResultSet(resultSet);
-            }
+        try (PooledConnection connection = getConnection();
+             Statement statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            statement.setFetchSize(Integer.MIN_VALUE);
 
-            resultSet.close();
+            try (ResultSet resultSet = statement.executeQuery(SELECT_HOURS_SNAPSHOT)) {
+                snapshot = new HoursSnapshot(resultSet, version);
+                hoursSnapshot = snapshot;
 
-            return metroStation;
+                return snapshot;
+            }
         } catch (SQLException e) {
             logger.error(e.toString());
             throw new RuntimeException(e);
@@ -730,43 +1680,68 @@ public class DBUtils {
     }
 
     /**
-     * Displays data about Metro Station and its Operating Hours by Name on the console.
-     * @param metroStationName name of the Metro Station;
-     * @return an {@link MetroStationForDB} object filled with data from the database.
+     * Creates a copy of the Metro Stations without Hours, so the cached result is not changed by callers.
+     * @param metroStations the {@link MetroStations} object to be copied;
+     * @return the copy of the {@link MetroStations} object.
      */
-    public static MetroStationForDB getMetroStationWithHoursByName(String metroStationName) {
-        MetroStationForDB metroStation = getMetroStationByName(metroStationName);
+    private static MetroStations copyMetroStations(MetroStations metroStations) {
+        MetroStations copy = new MetroStations();
 
-        if (metroStation.getId() > 0) {
-            metroStation.addHours(
-                    getHoursByMetroStationID(metroStation.getId()));
+        for (MetroStationForDB metroStation : metroStations.getList()) {
+            copy.add(new MetroStationForDB(metroStation.getId(), metroStation.getName(), metroStation.getOpened()));
         }
 
-        return metroStation;
+        return copy;
     }
 
     /**
-     * Gets the Metro Station ID by Metro Station name.
-     * @param metroStationName Metro Station name;
-     * @return Metro Station ID in the database.
+     * Creates a copy of the Hours, so the cached result is not changed by callers.
+     * @param hours the list of {@link HourForDB} objects to be copied;
+     * @return the copy of the list.
      */
-    public static long getMetroStationIDByName(String metroStationName) {
-        try {
-            PreparedStatement preparedStatement = connection.prepareStatement(SELECT_METROSTATION_BY_NAME);
-            preparedStatement.setString(1, metroStationName);
+    private static List<HourForDB> copyHours(List<HourForDB> hours) {
+        List<HourForDB> copy = new ArrayList<>(hours.size());
 
-            ResultSet resultSet = preparedStatement.executeQuery();
-            long id;
+        for (HourForDB hour : hours) {
+            HourForDB hourCopy = new HourForDB(hour.getId(), hour.getRidership(), hour.getComment(), hour.getMetroStationID());
+            hourCopy.setMetroStationName(hour.getMetroStationName());
+            copy.add(hourCopy);
+        }
 
-            if (resultSet.next()) {
-                id = resultSet.getLong("MetroStationID");
-            } else {
-                id = -1;
-            }
+        return copy;
+    }
+
+    /**
+     * Gets a page of Hours from the database using keyset pagination.
+     * The page starts right after the specified Hour in the order defined by the sorting,
+     * so the query does not depend on the number of rows before the page.
+     * @param sorting the order sorted data defined by the {@link Sort} list;
+     * @param pageSize the maximum number of Hours on the page;
+     * @param after the last Hour of the previous page, or {@code null} for the first page;
+     * @return a list of {@link HourForDB} objects of the page retrieved from the database.
+     */
+    public static List<HourForDB> getHoursPage(Sort sorting, int pageSize, HourForDB after) {
+        String sortColumn = getHoursSortColumn(sorting);
+        boolean descending = sorting == Sort.SORTED_DESC_RIDERSHIP || sorting == Sort.SORTED_DESC_COMMENT_LENGTH;
+        Object sortValue = after == null || sortColumn == null ? null
+                : sortColumn.equals("Ridership") ? after.getRidership()
+                : after.getComment() == null ? 0 : after.getComment().codePointCount(0, after.getComment().length());
+
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
 
-            resultSet.close();
+        String query = getPageQuery(SELECT_HOURS_PAGE, sortColumn, "HourID", descending, after != null, sortValue == null);
 
-            return id;
+        try (PooledConnection connection = getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            int index = after == null ? 1
+                    : setCursorParameters(preparedStatement, sortColumn != null, sortValue, after.getId());
+            preparedStatement.setInt(index, pageSize);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return getHoursFromResultSet(resultSet);
+            }
         } catch (SQLException e) {
             logger.error(e.toString());
             throw new RuntimeException(e);
@@ -774,27 +1749,32 @@ public class DBUtils {
     }
 
     /**
-     * Creates the {@link MetroStations}, which stores all the data from the database.
+     * Gets a page of Hours from the database starting at the position in the order defined by the sorting.
+     * Unlike {@link #getHoursPage(Sort, int, HourForDB)}, the previous page is not needed,
+     * but the database skips all the rows before the position, so the query is slower for further pages.
      * @param sorting the order sorted data defined by the {@link Sort} list;
-     * @return the {@link MetroStations} object where the data about Metro Stations is stored.
+     * @param offset the position of the first Hour of the page;
+     * @param pageSize the maximum number of Hours on the page;
+     * @return a list of {@link HourForDB} objects of the page retrieved from the database.
      */
-    public static MetroStations getMetroStations(Sort sorting) {
-        try {
-            String query = switch (sorting) {
-                case UNSORTED -> SELECT_METROSTATIONS;
-                case SORTED_BY_ASC_NAME -> SELECT_METROSTATIONS_ORDER_BY_ASC_NAME;
-                case SORTED_BY_DESC_NAME -> SELECT_METROSTATIONS_ORDER_BY_DESC_NAME;
-                case SORTED_BY_ASC_OPENED -> SELECT_METROSTATIONS_ORDER_BY_ASC_OPENED;
-                case SORTED_BY_DESC_OPENED -> SELECT_METROSTATIONS_ORDER_BY_DESC_OPENED;
-                default -> throw new IllegalArgumentException("Unexpected value: " + sorting);
-            };
-
-            Statement statement = connection.createStatement();
-            ResultSet resultSet = statement.executeQuery(query);
-            MetroStations metroStations = getMetroStationsFromResultSet(resultSet);
-            resultSet.close();
+    public static List<HourForDB> getHoursPageAtOffset(Sort sorting, long offset, int pageSize) {
+        String sortColumn = getHoursSortColumn(sorting);
+        boolean descending = sorting == Sort.SORTED_DESC_RIDERSHIP || sorting == Sort.SORTED_DESC_COMMENT_LENGTH;
 
-            return metroStations;
+        if (pageSize < 1 || offset < 0) {
+            throw new IllegalArgumentException("Invalid page: offset " + offset + ", size " + pageSize);
+        }
+
+        String query = getPageQuery(SELECT_HOURS_PAGE_AT_OFFSET, sortColumn, "HourID", descending, false, false);
+
+        try (PooledConnection connection = getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setInt(1, pageSize);
+            preparedStatement.setLong(2, offset);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return getHoursFromResultSet(resultSet);
+            }
         } catch (SQLException e) {
             logger.error(e.toString());
             throw new RuntimeException(e);
@@ -802,24 +1782,16 @@ public class DBUtils {
     }
 
     /**
-     * Displays all data about Metro Stations and its Operating Hours from the database on the console, sequentially for each Metro Station.
+     * Gets the number of Operating Hours in the database.
+     * @return the number of Hours.
      */
-    public static MetroStations getMetroStationsWithHours() {
-        try {
-            Statement statement = connection.createStatement();
-            ResultSet resultSet = statement.executeQuery(SELECT_METROSTATIONS);
-
-            MetroStations metroStations = getMetroStationsFromResultSet(resultSet);
-            resultSet.close();
-
-            if (!metroStations.getList().isEmpty()) {
-                metroStations.getList()
-                        .forEach(metroStation ->
-                                metroStation.addHours(
-                                        getHoursByMetroStationID(metroStation.getId())));
-            }
+    public static long getHourCount() {
+        try (PooledConnection connection = getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(SELECT_HOURS_COUNT)) {
+            resultSet.next();
 
-            return metroStations;
+            return resultSet.getLong(1);
         } catch (SQLException e) {
             logger.error(e.toString());
             throw new RuntimeException(e);
@@ -827,24 +1799,88 @@ public class DBUtils {
     }
 
     /**
-     * Creates the {@link HourForDB} object, which stores all the data from the database.
-     * @return the {@link HourForDB} object where the data about Hour is stored.
+     * Gets the column by which Hours are sorted in pages.
+     * @param sorting the order sorted data defined by the {@link Sort} list;
+     * @return the sort column, or {@code null} if Hours are sorted by ID only.
+     */
+    private static String getHoursSortColumn(Sort sorting) {
+        return switch (sorting) {
+            case UNSORTED -> null;
+            case SORTED_ASC_RIDERSHIP, SORTED_DESC_RIDERSHIP -> "Ridership";
+            case SORTED_ASC_COMMENT_LENGTH, SORTED_DESC_COMMENT_LENGTH -> "CommentLength";
+            default -> throw new IllegalArgumentException("Unexpected value: " + sorting);
+        };
+    }
+
+    /**
+     * Builds the query of a page for keyset pagination.
+     * Rows are ordered by the sort column and then by ID, so the position of every row is unique.
+     * MySQL sorts {@code NULL} values of the sort column first in ascending order and last in descending order,
+     * and a comparison with {@code NULL} is never true, so the cursor has separate predicates for {@code NULL} values:
+     * otherwise a page ending on a row with a {@code NULL} value would be followed by an empty page.
+     * @param select the query template with placeholders for the WHERE and ORDER BY clauses;
+     * @param sortColumn the column or expression by which rows are sorted, or {@code null} to sort by ID only;
+     * @param idColumn the ID column of the table;
+     * @param descending {@code true} for descending order, {@code false} for ascending order;
+     * @param hasCursor {@code true} if the page starts after a row of the previous page, {@code false} for the first page;
+     * @param nullCursor {@code true} if the value of the sort column of the row before the page is {@code NULL};
+     * @return the query of the page.
+     */
+    private static String getPageQuery(String select, String sortColumn, String idColumn, boolean descending,
+                                       boolean hasCursor, boolean nullCursor) {
+        String comparison = descending ? "<" : ">";
+        String direction = descending ? " DESC" : " ASC";
+        String where = "";
+        String orderBy = idColumn + direction;
+
+        if (sortColumn != null) {
+            orderBy = sortColumn + direction + ", " + orderBy;
+        }
+
+        if (hasCursor && sortColumn == null) {
+            where = "WHERE " + idColumn + " " + comparison + " ?";
+        } else if (hasCursor && nullCursor) {
+            where = descending
+                    ? "WHERE " + sortColumn + " IS NULL AND " + idColumn + " < ?"
+                    : "WHERE " + sortColumn + " IS NOT NULL OR (" + sortColumn + " IS NULL AND " + idColumn + " > ?)";
+        } else if (hasCursor) {
+            where = "WHERE " + sortColumn + " " + comparison + " ? OR (" + sortColumn + " = ? AND " + idColumn + " " + comparison + " ?)"
+                    + (descending ? " OR " + sortColumn + " IS NULL" : "");
+        }
+
+        return select.formatted(where, orderBy);
+    }
+
+    /**
+     * Sets the parameters of the page query built by {@link #getPageQuery} that define the start of the page.
+     * @param preparedStatement the statement of the page query;
+     * @param sorted {@code true} if rows are sorted by a sort column, {@code false} if rows are sorted by ID only;
+     * @param sortValue the value of the sort column of the last row of the previous page, or {@code null} for {@code NULL};
+     * @param afterID the ID of the last row of the previous page;
+     * @return the index of the next parameter of the query;
+     * @throws SQLException an exception related to a SQL query error.
      */
-    public static HourForDB getHourByHourID(long id) {
-        try {
-            PreparedStatement preparedStatement = connection.prepareStatement(SELECT_HOURS_BY_HOURID);
-            preparedStatement.setLong(1, id);
+    private static int setCursorParameters(PreparedStatement preparedStatement, boolean sorted, Object sortValue, long afterID) throws SQLException {
+        int index = 1;
 
-            ResultSet resultSet = preparedStatement.executeQuery();
-            HourForDB hour = new HourForDB();
+        if (sorted && sortValue != null) {
+            preparedStatement.setObject(index++, sortValue);
+            preparedStatement.setObject(index++, sortValue);
+        }
 
-            if (resultSet.next()) {
-                hour = getHourFromResultSet(resultSet);
-            }
+        preparedStatement.setLong(index++, afterID);
 
-            resultSet.close();
+        return index;
+    }
 
-            return hour;
+    /**
+     * Creates the {@link HourForDB} list, which stores all the data about Hours with certain MetroStationID
+     * from the database.
+     * @return the {@link HourForDB} list where the data about Hours is stored.
+     */
+    public static List<HourForDB> getHoursByMetroStationID(long metroStationID) {
+        try (PooledConnection connection = getConnection()) {
+            return getHoursByMetroStationID(connection, metroStationID);
         } catch (SQLException e) {
             logger.error(e.toString());
             throw new RuntimeException(e);
@@ -852,43 +1888,89 @@ public class DBUtils {
     }
 
     /**
-     * Creates the {@link HourForDB} object, which stores the data about one Hour.
-     * from the result set retrieved from the database.
-     * @return the {@link HourForDB} object retrieved from the given result set.
+     * Creates the {@link HourForDB} list, which stores all the data about Hours with certain MetroStationID
+     * from the database using the borrowed connection.
+     * @param connection the borrowed connection;
+     * @param metroStationID ID of the Metro Station;
+     * @return the {@link HourForDB} list where the data about Hours is stored;
+     * @throws SQLException an exception related to a SQL query error.
      */
-    public static HourForDB getHourFromResultSet(ResultSet resultSet) throws SQLException {
-        HourForDB hour = new HourForDB();
-        hour.setId(resultSet.getLong("HourID"));
-        hour.setRidership(resultSet.getInt("Ridership"));
-        hour.setComment(resultSet.getString("Comment"));
-        hour.setMetroStationID(resultSet.getLong("MetroStationID"));
+    private static List<HourForDB> getHoursByMetroStationID(PooledConnection connection, long metroStationID) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(SELECT_HOURS_BY_METROSTATIONID)) {
+            preparedStatement.setLong(1, metroStationID);
 
-        return hour;
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return getHoursFromResultSet(resultSet);
+            }
+        }
     }
 
     /**
-     * Gets data about Hours form database.
-     * @param sorting the order sorted data defined by the {@link Sort} list;
-     * @return a list of {@link HourForDB} objects retrieved from the database.
+     * The minimum length of words stored in the full-text index of comments (InnoDB {@code innodb_ft_min_token_size}).
      */
-    public static List<HourForDB> getHours(Sort sorting) {
-        try {
-            String query = switch (sorting) {
-                case UNSORTED -> SELECT_HOURS;
-                case SORTED_ASC_RIDERSHIP -> SELECT_HOURS_ORDER_BY_ASC_RIDERSHIP;
-                case SORTED_DESC_RIDERSHIP -> SELECT_HOURS_ORDER_BY_DESC_RIDERSHIP;
-                case SORTED_ASC_COMMENT_LENGTH -> SELECT_HOURS_ORDER_BY_ASC_COMMENT_LENGTH;
-                case SORTED_DESC_COMMENT_LENGTH -> SELECT_HOURS_ORDER_BY_DESC_COMMENT_LENGTH;
-                default -> throw new IllegalArgumentException("Unexpected value: " + sorting);
-            };
-
-            Statement statement = connection.createStatement();
-            ResultSet resultSet = statement.executeQuery(query);
-
-            List<HourForDB> list = getHoursFromResultSet(resultSet);
-            resultSet.close();
-
-            return list;
+    private static final int FULLTEXT_MIN_WORD_LENGTH = 3;
+
+    /**
+     * Finds all Operating Hours with a certain word or word fragment in the comments.
+     * @param word word or word fragment to search for.
+     * @return a list of hours retrieved from the database.
+     */
+    public static List<HourForDB> findHoursWithWordInComment(String word) {
+        return findHoursWithWordInComment(word, CommentMatch.FRAGMENT);
+    }
+
+    /**
+     * Finds all Operating Hours with a certain word or word fragment in the comments.
+     * Whole words and word prefixes are searched with the full-text index of comments.
+     * Suffixes, words shorter than the minimum indexed word length and words with non-alphanumeric characters
+     * are searched with a regular expression by word boundaries, and fragments with a pattern,
+     * which both require reading all comments.
+     * @param word word or word fragment to search for;
+     * @param match the {@link CommentMatch} rule of matching the word in the comments;
+     * @return a list of hours retrieved from the database.
+     */
+    public static List<HourForDB> findHoursWithWordInComment(String word, CommentMatch match) {
+        List<HourForDB> hours = new ArrayList<>();
+        findHoursWithWordInComment(word, match, 0, hours::add);
+
+        return hours;
+    }
+
+    /**
+     * Finds the first Operating Hours with a certain word or word fragment in the comments
+     * and passes each of them to the consumer as soon as it is read, so the results can be shown while they are read.
+     * The server stops the search once the limit is reached.
+     * @param word word or word fragment to search for;
+     * @param match the {@link CommentMatch} rule of matching the word in the comments;
+     * @param limit the maximum number of Hours found, or {@code 0} for all of them;
+     * @param consumer the consumer of the found Hours, called on the calling thread;
+     * @return the number of found Hours.
+     */
+    public static int findHoursWithWordInComment(String word, CommentMatch match, int limit, Consumer<HourForDB> consumer) {
+        if (word == null || word.isBlank()) {
+            return 0;
+        }
+
+        String[] search = getCommentSearch(word, match,
+                SELECT_HOURS_BY_COMMENT_WORD, SELECT_HOURS_BY_COMMENT_PATTERN, SELECT_HOURS_BY_COMMENT_FRAGMENT);
+
+        try (PooledConnection connection = getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(search[0])) {
+            preparedStatement.setString(1, search[1]);
+            preparedStatement.setMaxRows(limit);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                int count = 0;
+
+                while (resultSet.next()) {
+                    HourForDB hour = getHourFromResultSet(resultSet);
+                    hour.setMetroStationName(resultSet.getString("Name"));
+                    consumer.accept(hour);
+                    count++;
+                }
+
+                return count;
+            }
         } catch (SQLException e) {
             logger.error(e.toString());
             throw new RuntimeException(e);
@@ -896,20 +1978,31 @@ public class DBUtils {
     }
 
     /**
-     * Creates the {@link HourForDB} list, which stores all the data about Hours with certain MetroStationID
-     * from the database.
-     * @return the {@link HourForDB} list where the data about Hours is stored.
+     * Finds a page of Operating Hours with a certain word or word fragment in the comments in the order of IDs,
+     * so all matching Hours can be read page by page without reading them at once.
+     * @param word word or word fragment to search for;
+     * @param match the {@link CommentMatch} rule of matching the word in the comments;
+     * @param afterHourID the ID of the last Hour of the previous page, or {@code 0} for the first page;
+     * @param pageSize the maximum number of Hours in the page;
+     * @return a list of hours retrieved from the database, shorter than the page size on the last page.
      */
-    public static List<HourForDB> getHoursByMetroStationID(long metroStationID) {
-        try {
-            PreparedStatement preparedStatement = connection.prepareStatement(SELECT_HOURS_BY_METROSTATIONID);
-            preparedStatement.setLong(1, metroStationID);
+    public static List<HourForDB> findHoursWithWordInComment(String word, CommentMatch match, long afterHourID, int pageSize) {
+        if (word == null || word.isBlank()) {
+            return new ArrayList<>();
+        }
 
-            ResultSet resultSet = preparedStatement.executeQuery();
-            List<HourForDB> list = getHoursFromResultSet(resultSet);
-            resultSet.close();
+        String[] search = getCommentSearch(word, match, SELECT_HOURS_PAGE_BY_COMMENT_WORD,
+                SELECT_HOURS_PAGE_BY_COMMENT_PATTERN, SELECT_HOURS_PAGE_BY_COMMENT_FRAGMENT);
 
-            return list;
+        try (PooledConnection connection = getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(search[0])) {
+            preparedStatement.setString(1, search[1]);
+            preparedStatement.setLong(2, afterHourID);
+            preparedStatement.setInt(3, pageSize);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return getHoursWithMSNameFromResultSet(resultSet);
+            }
         } catch (SQLException e) {
             logger.error(e.toString());
             throw new RuntimeException(e);
@@ -917,26 +2010,75 @@ public class DBUtils {
     }
 
     /**
-     * Displays data on the console about all Operating Hours with a certain word or word fragment in the comments.
-     * @param word word of word fragment to search for.
-     * @return a list of hours retrieved from the database.
+     * Counts the Operating Hours with a certain word or word fragment in the comments.
+     * @param word word or word fragment to search for;
+     * @param match the {@link CommentMatch} rule of matching the word in the comments;
+     * @return the number of matching Hours.
      */
-    public static List<HourForDB> findHoursWithWordInComment(String word) {
-        try {
-            String query = SELECT_HOURS_BY_COMMENT_WORD.replace("key_word", word);
-            PreparedStatement preparedStatement = connection.prepareStatement(query);
+    public static long countHoursWithWordInComment(String word, CommentMatch match) {
+        if (word == null || word.isBlank()) {
+            return 0;
+        }
 
-            ResultSet resultSet = preparedStatement.executeQuery();
-            List<HourForDB> list = getHoursWithMSNameFromResultSet(resultSet);
-            resultSet.close();
+        String[] search = getCommentSearch(word, match, SELECT_HOURS_COUNT_BY_COMMENT_WORD,
+                SELECT_HOURS_COUNT_BY_COMMENT_PATTERN, SELECT_HOURS_COUNT_BY_COMMENT_FRAGMENT);
 
-            return list;
+        try (PooledConnection connection = getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(search[0])) {
+            preparedStatement.setString(1, search[1]);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next() ? resultSet.getLong(1) : 0;
+            }
         } catch (SQLException e) {
             logger.error(e.toString());
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Chooses the query searching for a word or word fragment in the comments and its parameter.
+     * Whole words and word prefixes are searched with the full-text index of comments,
+     * other words with a regular expression by word boundaries, and fragments with a pattern.
+     * <p>
+     * The full-text index finds all words only because {@link SchemaMigrations} creates it
+     * with the InnoDB stopword list disabled. An index built with stopwords omits words such as "with", "from"
+     * or "the", so whole-word and prefix searches for them would find no Hours without reporting an error.
+     * Words shorter than {@code FULLTEXT_MIN_WORD_LENGTH}, the default {@code innodb_ft_min_token_size},
+     * are not indexed and are searched with the regular expression, so a server with a larger minimum token size
+     * also misses words shorter than its minimum.
+     * @param word word or word fragment to search for;
+     * @param match the {@link CommentMatch} rule of matching the word in the comments;
+     * @param wordQuery the query using the full-text index;
+     * @param patternQuery the query using a regular expression;
+     * @param fragmentQuery the query using a pattern;
+     * @return the chosen query and its parameter.
+     */
+    private static String[] getCommentSearch(String word, CommentMatch match,
+                                             String wordQuery, String patternQuery, String fragmentQuery) {
+        String text = word.strip();
+        boolean indexed = text.matches("[\\p{L}\\p{N}_]+");
+
+        if (match == CommentMatch.FRAGMENT) {
+            return new String[] {fragmentQuery, "%" + text.replaceAll("[!%_]", "!$0") + "%"};
+        } else if (match == CommentMatch.WHOLE_WORD && indexed && text.length() >= FULLTEXT_MIN_WORD_LENGTH) {
+            return new String[] {wordQuery, text};
+        } else if (match == CommentMatch.PREFIX && indexed) {
+            return new String[] {wordQuery, text + "*"};
+        }
+
+        String pattern = text.replaceAll("[\\\\^$.|?*+()\\[\\]{}]", "\\\\$0");
+        String parameter = switch (match) {
+            case WHOLE_WORD -> "\\b" + pattern + "\\b";
+            case PREFIX -> "\\b" + pattern;
+            case SUFFIX -> pattern + "\\b";
+            case PREFIX_OR_SUFFIX -> "\\b" + pattern + "|" + pattern + "\\b";
+            default -> throw new IllegalArgumentException("Unexpected value: " + match);
+        };
+
+        return new String[] {patternQuery, parameter};
+    }
+
     /**
      * Finds the Hours records according to a specified {@link Search} search rule.
      * @param searching the {@link Search} rule for searching data;
@@ -949,13 +2091,10 @@ public class DBUtils {
             default -> throw new IllegalArgumentException("Unexpected value: " + searching);
         };
 
-        try {
-            PreparedStatement preparedStatement = connection.prepareStatement(query);
-            ResultSet resultSet = preparedStatement.executeQuery();
-            List<HourForDB> list = getHoursWithMSNameFromResultSet(resultSet);
-            resultSet.close();
-
-            return list;
+        try (PooledConnection connection = getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query);
+             ResultSet resultSet = preparedStatement.executeQuery()) {
+            return getHoursWithMSNameFromResultSet(resultSet);
         } catch (SQLException e) {
             logger.error(e.toString());
             throw new RuntimeException(e);
@@ -975,16 +2114,14 @@ public class DBUtils {
             default -> throw new IllegalArgumentException("Unexpected value: " + searching);
         };
 
-        try {
-            PreparedStatement preparedStatement = connection.prepareStatement(query);
+        try (PooledConnection connection = getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(query)) {
             preparedStatement.setString(1, metroStationName);
             preparedStatement.setString(2, metroStationName);
 
-            ResultSet resultSet = preparedStatement.executeQuery();
-            List<HourForDB> list = getHoursWithMSNameFromResultSet(resultSet);
-            resultSet.close();
-
-            return list;
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return getHoursWithMSNameFromResultSet(resultSet);
+            }
         } catch (SQLException e) {
             logger.error(e.toString());
             throw new RuntimeException(e);
@@ -993,23 +2130,16 @@ public class DBUtils {
 
     /**
      * Gets the total ridership for all Operating Hours in the database.
-     * @return a total ridership for all Hours retrieved from the database.
+     * @return a total ridership for all Hours retrieved from the database, or {@code -1} if there are no Hours.
      */
     public static int getTotalRidership() {
-        try {
-            if (getMetroStations(Sort.UNSORTED).getList().isEmpty()
-                    || getHours(Sort.UNSORTED).isEmpty()) {
-                return -1;
-            }
-
-            PreparedStatement preparedStatement = connection.prepareStatement(SELECT_TOTAL_RIDERSHIP);
-            ResultSet resultSet = preparedStatement.executeQuery();
-
+        try (PooledConnection connection = getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(SELECT_TOTAL_RIDERSHIP);
+             ResultSet resultSet = preparedStatement.executeQuery()) {
             resultSet.next();
             int totalRidership = resultSet.getInt("TotalRidership");
-            resultSet.close();
 
-            return totalRidership;
+            return resultSet.wasNull() ? -1 : totalRidership;
         } catch (SQLException e) {
             logger.error(e.toString());
             throw new RuntimeException(e);
@@ -1019,30 +2149,96 @@ public class DBUtils {
     /**
      * Gets the total ridership for Operating Hours of a specified Metro Station in the database.
      * @param metroStationName the name of the Metro Station;
-     * @return a total ridership for Hours of a specified Metro Station retrieved from the database.
+     * @return a total ridership for Hours of a specified Metro Station retrieved from the database,
+     * {@code 0} if the Metro Station has no Hours, or {@code -1} if the Metro Station does not exist.
      */
     public static int getTotalRidership(String metroStationName) {
-        try {
-            if (getMetroStationByName(metroStationName).getId() < 1
-                    || getHours(Sort.UNSORTED).isEmpty()) {
-                return -1;
+        try (PooledConnection connection = getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(SELECT_TOTAL_RIDERSHIP_FOR_METROSTATION)) {
+            preparedStatement.setString(1, metroStationName);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next() ? resultSet.getInt("TotalRidership") : -1;
             }
+        } catch (SQLException e) {
+            logger.error(e.toString());
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Gets the total, number, minimum, maximum and average ridership of all Operating Hours in the database.
+     * @return the {@link RidershipStatistics} object with {@code null} values if there are no Hours.
+     */
+    public static RidershipStatistics getRidershipStatistics() {
+        try (PooledConnection connection = getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(SELECT_RIDERSHIP_STATISTICS);
+             ResultSet resultSet = preparedStatement.executeQuery()) {
+            resultSet.next();
+
+            return getRidershipStatisticsFromResultSet(resultSet);
+        } catch (SQLException e) {
+            logger.error(e.toString());
+            throw new RuntimeException(e);
+        }
+    }
 
-            PreparedStatement preparedStatement = connection.prepareStatement(SELECT_TOTAL_RIDERSHIP_FOR_METROSTATION);
+    /**
+     * Gets the total, number, minimum, maximum and average ridership of Operating Hours of a specified Metro Station.
+     * @param metroStationName the name of the Metro Station;
+     * @return the {@link RidershipStatistics} object with {@code null} values if the Metro Station has no Hours,
+     * or {@code null} if the Metro Station does not exist.
+     */
+    public static RidershipStatistics getRidershipStatistics(String metroStationName) {
+        try (PooledConnection connection = getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(SELECT_RIDERSHIP_STATISTICS_FOR_METROSTATION)) {
             preparedStatement.setString(1, metroStationName);
-            ResultSet resultSet = preparedStatement.executeQuery();
 
-            resultSet.next();
-            int totalRidership = resultSet.getInt("TotalRidership");
-            resultSet.close();
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next() ? getRidershipStatisticsFromResultSet(resultSet) : null;
+            }
+        } catch (SQLException e) {
+            logger.error(e.toString());
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Gets the ridership statistics of all Metro Stations with one grouped query.
+     * @return a map of Metro Station names to {@link RidershipStatistics} objects in the order of Metro Station IDs.
+     */
+    public static Map<String, RidershipStatistics> getRidershipStatisticsByMetroStation() {
+        try (PooledConnection connection = getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(SELECT_RIDERSHIP_STATISTICS_BY_METROSTATION);
+             ResultSet resultSet = preparedStatement.executeQuery()) {
+            Map<String, RidershipStatistics> statistics = new LinkedHashMap<>();
+
+            while (resultSet.next()) {
+                statistics.put(resultSet.getString("Name"), getRidershipStatisticsFromResultSet(resultSet));
+            }
 
-            return totalRidership;
+            return statistics;
         } catch (SQLException e) {
             logger.error(e.toString());
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Converts the current row of the result set of an aggregate query into a {@link RidershipStatistics} object.
+     * @param resultSet the result set containing the aggregate values;
+     * @return the {@link RidershipStatistics} object;
+     * @throws SQLException an exception related to a SQL query error.
+     */
+    public static RidershipStatistics getRidershipStatisticsFromResultSet(ResultSet resultSet) throws SQLException {
+        return new RidershipStatistics(
+                resultSet.getObject("TotalRidership", Long.class),
+                resultSet.getLong("HourCount"),
+                resultSet.getObject("MinRidership", Integer.class),
+                resultSet.getObject("MaxRidership", Integer.class),
+                resultSet.getObject("AvgRidership", Double.class));
+    }
+
     /**
      * Creates a string representation of the data about Metro Station on the console.
      * @param metroStation the {@link MetroStationForDB} object to print.
@@ -1248,7 +2444,7 @@ public class DBUtils {
 
     /**
      *  Displays the results of a search for Operating Hours data
-     *  with the specified word or word fragment in the comment.
+     *  with the specified word in the comment.
      */
     public static void showHoursWithWordInComment(String word) {
         System.out.println(
@@ -1256,6 +2452,16 @@ public class DBUtils {
                         findHoursWithWordInComment(word)));
     }
 
+    /**
+     *  Displays the results of a search for Operating Hours data
+     *  with the specified word or word fragment in the comment matched by the {@link CommentMatch} rule.
+     */
+    public static void showHoursWithWordInComment(String word, CommentMatch match) {
+        System.out.println(
+                hoursWithMSNameToString(
+                        findHoursWithWordInComment(word, match)));
+    }
+
     /**
      *  Displays the results of a search for Operating Hours data
      *  with the minimum ridership.
@@ -1302,6 +2508,28 @@ public class DBUtils {
                                 metroStationName)) + "\n");
     }
 
+    /**
+     * Displays the ridership statistics of all Operating Hours and of each Metro Station.
+     */
+    public static void showRidershipStatistics() {
+        System.out.println("All Metro Stations:\t" + getRidershipStatistics());
+
+        for (Map.Entry<String, RidershipStatistics> entry : getRidershipStatisticsByMetroStation().entrySet()) {
+            System.out.println(entry.getKey() + ":\t" + entry.getValue());
+        }
+    }
+
+    /**
+     * Displays the queries that read a whole table instead of using an index.
+     */
+    public static void showQueryPlanCheck() {
+        List<String> fullScans = checkQueryPlans();
+
+        System.out.println(fullScans.isEmpty()
+                ? "All checked queries use indexes."
+                : String.join("\n", fullScans));
+    }
+
     /**
      * Displays Operating Hours data sorted by ascending ridership.
      */
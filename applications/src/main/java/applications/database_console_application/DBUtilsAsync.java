@@ -0,0 +1,467 @@
+package applications.database_console_application;
+
+import applications.database_console_application.DBUtils.CommentMatch;
+import applications.database_console_application.DBUtils.Search;
+import applications.database_console_application.DBUtils.Sort;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+
+/**
+ * Asynchronous facade of {@link DBUtils}: every method runs the corresponding {@link DBUtils} method in the background
+ * and returns a {@link CompletableFuture} with its result, so callers such as JavaFX event handlers are not blocked.
+ * Tasks run on a thread per task, virtual if the Java runtime supports virtual threads and daemon otherwise.
+ * The number of tasks using the database at the same time is bounded by the maximum size of the {@link ConnectionPool},
+ * further tasks wait for a permit instead of waiting for a connection.
+ * Cancelling a returned future with {@link CompletableFuture#cancel(boolean)} cancels the statements
+ * being executed by the task with {@link java.sql.Statement#cancel()} and interrupts the task.
+ */
+public class DBUtilsAsync {
+    /**
+     * Logger for logging cancelled tasks.
+     */
+    private static Logger logger = LogManager.getLogger(DBUtilsAsync.class);
+
+    /**
+     * The executor running the tasks.
+     */
+    private static final ExecutorService executor = createExecutor();
+
+    /**
+     * Permits limiting the number of tasks using the database at the same time, or {@code null} before the first task.
+     */
+    private static volatile Semaphore permits;
+
+    /**
+     * The utility class is not instantiated.
+     */
+    private DBUtilsAsync() {}
+
+    /**
+     * Sets the logger to be used for logging cancelled tasks.
+     * @param logger The logger instance.
+     */
+    public static void setLogger(Logger logger) {
+        DBUtilsAsync.logger = logger;
+    }
+
+    /**
+     * Sets the maximum number of tasks using the database at the same time.
+     * By default, it is the maximum size of the connection pool at the time of the first task.
+     * @param maxConcurrentTasks the maximum number of concurrent tasks.
+     */
+    public static synchronized void setMaxConcurrentTasks(int maxConcurrentTasks) {
+        permits = new Semaphore(maxConcurrentTasks, true);
+    }
+
+    /**
+     * Runs the database operation in the background.
+     * @param operation the operation calling {@link DBUtils} methods;
+     * @param <T> the type of the result;
+     * @return the future completed with the result of the operation or with its exception.
+     */
+    public static <T> CompletableFuture<T> supplyAsync(Supplier<T> operation) {
+        DatabaseFuture<T> future = new DatabaseFuture<>();
+        Semaphore taskPermits = getPermits();
+
+        executor.execute(() -> {
+            if (!future.start()) {
+                return;
+            }
+
+            try {
+                taskPermits.acquire();
+            } catch (InterruptedException e) {
+                future.completeExceptionally(e);
+                future.finish();
+                return;
+            }
+
+            try {
+                if (!future.isDone()) {
+                    future.complete(operation.get());
+                }
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            } finally {
+                future.finish();
+                taskPermits.release();
+            }
+        });
+
+        return future;
+    }
+
+    /**
+     * Runs the database operation without a result in the background.
+     * @param operation the operation calling {@link DBUtils} methods;
+     * @return the future completed after the operation or with its exception.
+     */
+    public static CompletableFuture<Void> runAsync(Runnable operation) {
+        return supplyAsync(() -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    /**
+     * Asynchronous version of {@link DBUtils#createDatabase()}.
+     * @return the future result.
+     */
+    public static CompletableFuture<Boolean> createDatabase() {
+        return supplyAsync(DBUtils::createDatabase);
+    }
+
+    /**
+     * Asynchronous version of {@link DBUtils#importFromJSONToDatabase(String)}.
+     * @param fileName the file name;
+     * @return the future number of imported Metro Stations.
+     */
+    public static CompletableFuture<Long> importFromJSONToDatabase(String fileName) {
+        return supplyAsync(() -> DBUtils.importFromJSONToDatabase(fileName));
+    }
+
+    /**
+     * Asynchronous version of {@link DBUtils#importFromJSONToDatabase(String, ProgressListener)}.
+     * @param fileName the file name;
+     * @param progressListener the listener of the number of bytes of the file imported, or {@code null};
+     * @return the future number of imported Metro Stations.
+     */
+    public static CompletableFuture<Long> importFromJSONToDatabase(String fileName, ProgressListener progressListener) {
+        return supplyAsync(() -> DBUtils.importFromJSONToDatabase(fileName, progressListener));
+    }
+
+    /**
+     * Asynchronous version of {@link DBUtils#exportToJSON(String)}.
+     * @param fileName the file name;
+     * @return the future completed after the export.
+     */
+    public static CompletableFuture<Void> exportToJSON(String fileName) {
+        return runAsync(() -> DBUtils.exportToJSON(fileName));
+    }
+
+    /**
+     * Asynchronous version of {@link DBUtils#exportToJSON(String, ProgressListener)}.
+     * @param fileName the file name;
+     * @param progressListener the listener of the number of Metro Stations written, or {@code null};
+     * @return the future completed after the export.
+     */
+    public static CompletableFuture<Void> exportToJSON(String fileName, ProgressListener progressListener) {
+        return runAsync(() -> DBUtils.exportToJSON(fileName, progressListener));
+    }
+
+    /**
+     * Asynchronous version of {@link DBUtils#addMetroStation(MetroStationForDB)}.
+     * @param metroStation the {@link MetroStationForDB} whose data is being added;
+     * @return the future ID of the added Metro Station.
+     */
+    public static CompletableFuture<Long> addMetroStation(MetroStationForDB metroStation) {
+        return supplyAsync(() -> DBUtils.addMetroStation(metroStation));
+    }
+
+    /**
+     * Asynchronous version of {@link DBUtils#addMetroStationsWithHours(MetroStations)}.
+     * @param metroStations the object with {@link MetroStations} data;
+     * @return the future result.
+     */
+    public static CompletableFuture<Boolean> addMetroStationsWithHours(MetroStations metroStations) {
+        return supplyAsync(() -> DBUtils.addMetroStationsWithHours(metroStations));
+    }
+
+    /**
+     * Asynchronous version of {@link DBUtils#addHour(HourForDB)}.
+     * @param hour the Hour object to be added;
+     * @return the future ID of the added Hour.
+     */
+    public static CompletableFuture<Long> addHour(HourForDB hour) {
+        return supplyAsync(() -> DBUtils.addHour(hour));
+    }
+
+    /**
+     * Asynchronous version of {@link DBUtils#addHour(HourForDB, String)}.
+     * @param hour the Hour record to be added;
+     * @param metroStationName the name of the Metro Station;
+     * @return the future result.
+     */
+    public static CompletableFuture<Boolean> addHour(HourForDB hour, String metroStationName) {
+        return supplyAsync(() -> DBUtils.addHour(hour, metroStationName));
+    }
+
+    /**
+     * Asynchronous version of {@link DBUtils#updateMetroStation(MetroStationForDB)}.
+     * @param metroStation the {@link MetroStationForDB} whose data is being updated;
+     * @return the future result.
+     */
+    public static CompletableFuture<Boolean> updateMetroStation(MetroStationForDB metroStation) {
+        return supplyAsync(() -> DBUtils.updateMetroStation(metroStation));
+    }
+
+    /**
+     * Asynchronous version of {@link DBUtils#updateHour(HourForDB)}.
+     * @param hour the {@link HourForDB} whose data is being updated;
+     * @return the future result.
+     */
+    public static CompletableFuture<Boolean> updateHour(HourForDB hour) {
+        return supplyAsync(() -> DBUtils.updateHour(hour));
+    }
+
+    /**
+     * Asynchronous version of {@link DBUtils#removeMetroStationByID(long)}.
+     * @param metroStationID the ID of the metro station;
+     * @return the future result.
+     */
+    public static CompletableFuture<Boolean> removeMetroStationByID(long metroStationID) {
+        return supplyAsync(() -> DBUtils.removeMetroStationByID(metroStationID));
+    }
+
+    /**
+     * Asynchronous version of {@link DBUtils#removeMetroStationByName(String)}.
+     * @param metroStationName the name of the Metro Station;
+     * @return the future result.
+     */
+    public static CompletableFuture<Boolean> removeMetroStationByName(String metroStationName) {
+        return supplyAsync(() -> DBUtils.removeMetroStationByName(metroStationName));
+    }
+
+    /**
+     * Asynchronous version of {@link DBUtils#removeHourByHourID(long)}.
+     * @param hourID the HourID value of the hour record to be removed;
+     * @return the future result.
+     */
+    public static CompletableFuture<Boolean> removeHourByHourID(long hourID) {
+        return supplyAsync(() -> DBUtils.removeHourByHourID(hourID));
+    }
+
+    /**
+     * Asynchronous version of {@link DBUtils#getMetroStationByID(long)}.
+     * @param metroStationID ID of the Metro Station;
+     * @return the future Metro Station.
+     */
+    public static CompletableFuture<MetroStationForDB> getMetroStationByID(long metroStationID) {
+        return supplyAsync(() -> DBUtils.getMetroStationByID(metroStationID));
+    }
+
+    /**
+     * Asynchronous version of {@link DBUtils#getMetroStationByName(String)}.
+     * @param metroStationName name of the Metro Station;
+     * @return the future Metro Station.
+     */
+    public static CompletableFuture<MetroStationForDB> getMetroStationByName(String metroStationName) {
+        return supplyAsync(() -> DBUtils.getMetroStationByName(metroStationName));
+    }
+
+    /**
+     * Asynchronous version of {@link DBUtils#getMetroStationWithHoursByName(String)}.
+     * @param metroStationName name of the Metro Station;
+     * @return the future Metro Station with its Hours.
+     */
+    public static CompletableFuture<MetroStationForDB> getMetroStationWithHoursByName(String metroStationName) {
+        return supplyAsync(() -> DBUtils.getMetroStationWithHoursByName(metroStationName));
+    }
+
+    /**
+     * Asynchronous version of {@link DBUtils#getMetroStations(Sort)}.
+     * @param sorting the order sorted data defined by the {@link Sort} list;
+     * @return the future Metro Stations.
+     */
+    public static CompletableFuture<MetroStations> getMetroStations(Sort sorting) {
+        return supplyAsync(() -> DBUtils.getMetroStations(sorting));
+    }
+
+    /**
+     * Asynchronous version of {@link DBUtils#getMetroStationsWithHours()}.
+     * @return the future Metro Stations with their Hours.
+     */
+    public static CompletableFuture<MetroStations> getMetroStationsWithHours() {
+        return supplyAsync(DBUtils::getMetroStationsWithHours);
+    }
+
+    /**
+     * Asynchronous version of {@link DBUtils#getHours(Sort)}.
+     * @param sorting the order sorted data defined by the {@link Sort} list;
+     * @return the future list of Hours.
+     */
+    public static CompletableFuture<List<HourForDB>> getHours(Sort sorting) {
+        return supplyAsync(() -> DBUtils.getHours(sorting));
+    }
+
+    /**
+     * Asynchronous version of {@link DBUtils#getHoursPage(Sort, int, HourForDB)}.
+     * @param sorting the order sorted data defined by the {@link Sort} list;
+     * @param pageSize the maximum number of Hours on the page;
+     * @param after the last Hour of the previous page, or {@code null} for the first page;
+     * @return the future list of Hours of the page.
+     */
+    public static CompletableFuture<List<HourForDB>> getHoursPage(Sort sorting, int pageSize, HourForDB after) {
+        return supplyAsync(() -> DBUtils.getHoursPage(sorting, pageSize, after));
+    }
+
+    /**
+     * Asynchronous version of {@link DBUtils#getHoursByMetroStationID(long)}.
+     * @param metroStationID ID of the Metro Station;
+     * @return the future list of Hours.
+     */
+    public static CompletableFuture<List<HourForDB>> getHoursByMetroStationID(long metroStationID) {
+        return supplyAsync(() -> DBUtils.getHoursByMetroStationID(metroStationID));
+    }
+
+    /**
+     * Asynchronous version of {@link DBUtils#findHoursWithWordInComment(String, CommentMatch)}.
+     * @param word the word to search for;
+     * @param match the way the word is matched defined by the {@link CommentMatch} list;
+     * @return the future list of found Hours.
+     */
+    public static CompletableFuture<List<HourForDB>> findHoursWithWordInComment(String word, CommentMatch match) {
+        return supplyAsync(() -> DBUtils.findHoursWithWordInComment(word, match));
+    }
+
+    /**
+     * Asynchronous version of {@link DBUtils#findHours(Search)}.
+     * @param searching the search criteria defined by the {@link Search} list;
+     * @return the future list of found Hours.
+     */
+    public static CompletableFuture<List<HourForDB>> findHours(Search searching) {
+        return supplyAsync(() -> DBUtils.findHours(searching));
+    }
+
+    /**
+     * Asynchronous version of {@link DBUtils#findHours(Search, String)}.
+     * @param searching the search criteria defined by the {@link Search} list;
+     * @param metroStationName the name of the Metro Station;
+     * @return the future list of found Hours.
+     */
+    public static CompletableFuture<List<HourForDB>> findHours(Search searching, String metroStationName) {
+        return supplyAsync(() -> DBUtils.findHours(searching, metroStationName));
+    }
+
+    /**
+     * Asynchronous version of {@link DBUtils#getTotalRidership()}.
+     * @return the future total ridership.
+     */
+    public static CompletableFuture<Integer> getTotalRidership() {
+        return supplyAsync(DBUtils::getTotalRidership);
+    }
+
+    /**
+     * Asynchronous version of {@link DBUtils#getTotalRidership(String)}.
+     * @param metroStationName the name of the Metro Station;
+     * @return the future total ridership.
+     */
+    public static CompletableFuture<Integer> getTotalRidership(String metroStationName) {
+        return supplyAsync(() -> DBUtils.getTotalRidership(metroStationName));
+    }
+
+    /**
+     * Asynchronous version of {@link DBUtils#getRidershipStatisticsByMetroStation()}.
+     * @return the future map of Metro Station names to their ridership statistics.
+     */
+    public static CompletableFuture<Map<String, RidershipStatistics>> getRidershipStatisticsByMetroStation() {
+        return supplyAsync(DBUtils::getRidershipStatisticsByMetroStation);
+    }
+
+    /**
+     * Gets the permits limiting concurrent tasks, creating them from the maximum size of the connection pool.
+     * @return the permits.
+     */
+    private static synchronized Semaphore getPermits() {
+        if (permits == null) {
+            ConnectionPool pool = DBUtils.getConnectionPool();
+            permits = new Semaphore(pool != null ? pool.getMaxSize() : ConnectionPool.DEFAULT_MAX_SIZE, true);
+        }
+
+        return permits;
+    }
+
+    /**
+     * Creates the executor running a new virtual thread for each task if the Java runtime supports it,
+     * or a new daemon platform thread otherwise, so pending tasks do not keep the application running.
+     * @return the executor.
+     */
+    private static ExecutorService createExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger threadNumber = new AtomicInteger();
+
+            return Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, "db-async-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Future of a database task that cancels the statements of the task when it is cancelled.
+     * @param <T> the type of the result.
+     */
+    private static class DatabaseFuture<T> extends CompletableFuture<T> {
+        /**
+         * The thread running the task or waiting for its permit, or {@code null} if the task is not running.
+         */
+        private Thread runner;
+
+        /**
+         * Marks the task as running on the current thread, which then waits for a permit.
+         * A task cancelled while it waits is interrupted, so it leaves the queue of the permits
+         * instead of holding its place in front of the next tasks.
+         * @return {@code true} if the task should run, {@code false} if it has already been cancelled.
+         */
+        synchronized boolean start() {
+            if (isDone()) {
+                return false;
+            }
+
+            runner = Thread.currentThread();
+            return true;
+        }
+
+        /**
+         * Marks the task as finished and clears the interruption caused by a cancellation,
+         * so a reused thread is not interrupted.
+         */
+        synchronized void finish() {
+            runner = null;
+            Thread.interrupted();
+        }
+
+        /**
+         * Cancels the future, the statements being executed by the task and interrupts the task.
+         * @param mayInterruptIfRunning ignored, the running task is always cancelled;
+         * @return {@code true} if the future was cancelled, {@code false} if it was already completed.
+         */
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+
+            if (cancelled) {
+                cancelRunner();
+            }
+
+            return cancelled;
+        }
+
+        /**
+         * Cancels the statements being executed by the running task and interrupts it.
+         */
+        private synchronized void cancelRunner() {
+            if (runner == null) {
+                return;
+            }
+
+            ConnectionPool pool = DBUtils.getConnectionPool();
+            int cancelledStatements = pool != null ? pool.cancelStatements(runner) : 0;
+            runner.interrupt();
+            logger.info("Database task cancelled, " + cancelledStatements + " statement(s) cancelled");
+        }
+    }
+}
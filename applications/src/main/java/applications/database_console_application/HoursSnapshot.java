@@ -0,0 +1,233 @@
+package applications.database_console_application;
+
+import applications.database_console_application.DBUtils.Sort;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+
+/**
+ * Snapshot of all Operating Hours of one version of the Hours table stored in primitive columns.
+ * Each {@link Sort} order of the Hours is computed in memory on first use as a permutation of row positions
+ * and memoized, so switching between sort orders does not query the database or sort again.
+ * Rows are stored in the order of Hour IDs; equal keys keep this order in all sort orders.
+ */
+public class HoursSnapshot {
+    /**
+     * The initial capacity of the columns.
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * The version of the Hours table the snapshot was read from.
+     */
+    private final long version;
+
+    /**
+     * The number of rows.
+     */
+    private int size;
+
+    /**
+     * Columns of the Hours.
+     */
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int[] riderships = new int[INITIAL_CAPACITY];
+    private String[] comments = new String[INITIAL_CAPACITY];
+    private int[] commentLengths = new int[INITIAL_CAPACITY];
+    private long[] metroStationIDs = new long[INITIAL_CAPACITY];
+
+    /**
+     * Memoized permutations of row positions by sorting.
+     */
+    private final Map<Sort, int[]> permutations = new EnumMap<>(Sort.class);
+
+    /**
+     * The constructor reads all rows of the result set into the snapshot.
+     * @param resultSet the result set with the {@code HourID}, {@code Ridership}, {@code Comment},
+     *                  {@code CommentLength} and {@code MetroStationID} columns ordered by {@code HourID};
+     * @param version the version of the Hours table read before the query was executed;
+     * @throws SQLException an exception related to a SQL query error.
+     */
+    public HoursSnapshot(ResultSet resultSet, long version) throws SQLException {
+        this.version = version;
+
+        while (resultSet.next()) {
+            if (size == ids.length) {
+                grow();
+            }
+
+            ids[size] = resultSet.getLong("HourID");
+            riderships[size] = resultSet.getInt("Ridership");
+            comments[size] = resultSet.getString("Comment");
+            commentLengths[size] = resultSet.getInt("CommentLength");
+            metroStationIDs[size] = resultSet.getLong("MetroStationID");
+            size++;
+        }
+    }
+
+    /**
+     * Gets the version of the Hours table the snapshot was read from.
+     * @return the version of the Hours table.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the number of Hours in the snapshot.
+     * @return the number of Hours.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the row of the Hour at the position in the sort order.
+     * @param sorting the order defined by the {@link Sort} list;
+     * @param position the position of the Hour in the sort order;
+     * @return the row of the Hour.
+     */
+    public int getRow(Sort sorting, int position) {
+        return getPermutation(sorting)[position];
+    }
+
+    /**
+     * Gets the ID of the Hour in the row.
+     * @param row the row of the Hour;
+     * @return the ID of the Hour.
+     */
+    public long getId(int row) {
+        return ids[row];
+    }
+
+    /**
+     * Gets the ridership of the Hour in the row.
+     * @param row the row of the Hour;
+     * @return the ridership of the Hour.
+     */
+    public int getRidership(int row) {
+        return riderships[row];
+    }
+
+    /**
+     * Gets the comment of the Hour in the row.
+     * @param row the row of the Hour;
+     * @return the comment of the Hour.
+     */
+    public String getComment(int row) {
+        return comments[row];
+    }
+
+    /**
+     * Gets the ID of the Metro Station of the Hour in the row.
+     * @param row the row of the Hour;
+     * @return the ID of the Metro Station.
+     */
+    public long getMetroStationID(int row) {
+        return metroStationIDs[row];
+    }
+
+    /**
+     * Creates the {@link HourForDB} object of the Hour at the position in the sort order.
+     * @param sorting the order defined by the {@link Sort} list;
+     * @param position the position of the Hour in the sort order;
+     * @return the {@link HourForDB} object.
+     */
+    public HourForDB getHour(Sort sorting, int position) {
+        int row = getRow(sorting, position);
+
+        return new HourForDB(ids[row], riderships[row], comments[row], metroStationIDs[row]);
+    }
+
+    /**
+     * Gets the list of all Hours in the sort order as a read-only view of the snapshot.
+     * The view only holds the memoized permutation, so getting it for a sort order used before
+     * takes constant time; each {@link HourForDB} object is created when its element is read.
+     * @param sorting the order defined by the {@link Sort} list;
+     * @return a read-only list of {@link HourForDB} objects.
+     */
+    public List<HourForDB> getHours(Sort sorting) {
+        return new SortedHours(getPermutation(sorting));
+    }
+
+    /**
+     * Gets the permutation of row positions in the sort order, computing it on first use.
+     * @param sorting the order defined by the {@link Sort} list;
+     * @return the memoized permutation, which must not be modified.
+     */
+    private synchronized int[] getPermutation(Sort sorting) {
+        int[] permutation = permutations.get(sorting);
+
+        if (permutation == null) {
+            permutation = switch (sorting) {
+                case UNSORTED -> SortPermutations.identity(size);
+                case SORTED_ASC_RIDERSHIP -> SortPermutations.byIntKey(riderships, size, false);
+                case SORTED_DESC_RIDERSHIP -> SortPermutations.byIntKey(riderships, size, true);
+                case SORTED_ASC_COMMENT_LENGTH -> SortPermutations.byIntKey(commentLengths, size, false);
+                case SORTED_DESC_COMMENT_LENGTH -> SortPermutations.byIntKey(commentLengths, size, true);
+                default -> throw new IllegalArgumentException("Unexpected value: " + sorting);
+            };
+            permutations.put(sorting, permutation);
+        }
+
+        return permutation;
+    }
+
+    /**
+     * Read-only list of the Hours of the snapshot in the order of a permutation of rows.
+     */
+    private class SortedHours extends AbstractList<HourForDB> implements RandomAccess {
+        /**
+         * The permutation of row positions in the sort order.
+         */
+        private final int[] permutation;
+
+        /**
+         * The constructor initialises the list with the specified values.
+         * @param permutation the permutation of row positions in the sort order.
+         */
+        SortedHours(int[] permutation) {
+            this.permutation = permutation;
+        }
+
+        /**
+         * Creates the {@link HourForDB} object of the Hour at the position in the sort order.
+         * @param position the position of the Hour in the sort order;
+         * @return the {@link HourForDB} object.
+         */
+        @Override
+        public HourForDB get(int position) {
+            int row = permutation[position];
+
+            return new HourForDB(ids[row], riderships[row], comments[row], metroStationIDs[row]);
+        }
+
+        /**
+         * Gets the number of Hours in the list.
+         * @return the number of Hours.
+         */
+        @Override
+        public int size() {
+            return permutation.length;
+        }
+    }
+
+    /**
+     * Doubles the capacity of the columns.
+     */
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        riderships = Arrays.copyOf(riderships, capacity);
+        comments = Arrays.copyOf(comments, capacity);
+        commentLengths = Arrays.copyOf(commentLengths, capacity);
+        metroStationIDs = Arrays.copyOf(metroStationIDs, capacity);
+    }
+}
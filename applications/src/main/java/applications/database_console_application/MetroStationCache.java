@@ -0,0 +1,286 @@
+package applications.database_console_application;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * In-process cache of Metro Stations by ID with an index of their IDs by name.
+ * {@link DBUtils} writes through the cache when it adds, updates or removes Metro Stations,
+ * so lookups of unchanged Metro Stations do not query the database.
+ * The number of cached Metro Stations is bounded, the least recently used one is evicted when the bound is exceeded,
+ * and entries expire after a time to live to pick up changes made outside this application.
+ * Copies of the Metro Stations are stored and returned, so callers may modify the returned objects.
+ */
+public class MetroStationCache {
+    /**
+     * The default maximum number of cached Metro Stations.
+     */
+    public static final int DEFAULT_MAX_SIZE = 1000;
+
+    /**
+     * The default time to live of cached Metro Stations in milliseconds.
+     */
+    public static final long DEFAULT_TIME_TO_LIVE_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    /**
+     * A cached Metro Station with its expiration time.
+     */
+    private static class Entry {
+        /**
+         * The copy of the Metro Station without Hours.
+         */
+        private final MetroStationForDB metroStation;
+
+        /**
+         * The value of {@link System#nanoTime()} after which the entry is expired.
+         */
+        private final long expiresAt;
+
+        /**
+         * The constructor initialises the entry with the specified values.
+         * @param metroStation the copy of the Metro Station without Hours;
+         * @param expiresAt the value of {@link System#nanoTime()} after which the entry is expired.
+         */
+        private Entry(MetroStationForDB metroStation, long expiresAt) {
+            this.metroStation = metroStation;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * The maximum number of cached Metro Stations.
+     */
+    private final int maxSize;
+
+    /**
+     * The time to live of cached Metro Stations in nanoseconds.
+     */
+    private final long timeToLiveNanos;
+
+    /**
+     * Cached Metro Stations by ID, the least recently used first.
+     */
+    private final Map<Long, Entry> metroStationsByID;
+
+    /**
+     * IDs of cached Metro Stations by name.
+     */
+    private final Map<String, Long> idsByName = new HashMap<>();
+
+    /**
+     * Counters of cache hits, misses, evictions and expirations.
+     */
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+
+    /**
+     * The constructor initialises the cache with the default maximum size and time to live.
+     */
+    public MetroStationCache() {
+        this(DEFAULT_MAX_SIZE, DEFAULT_TIME_TO_LIVE_MILLIS);
+    }
+
+    /**
+     * The constructor initialises the cache with the specified values.
+     * @param maxSize the maximum number of cached Metro Stations, or {@code 0} to disable caching;
+     * @param timeToLiveMillis the time to live of cached Metro Stations in milliseconds.
+     */
+    public MetroStationCache(int maxSize, long timeToLiveMillis) {
+        if (maxSize < 0 || timeToLiveMillis < 0) {
+            throw new IllegalArgumentException("Invalid cache size " + maxSize + " or time to live " + timeToLiveMillis);
+        }
+
+        this.maxSize = maxSize;
+        this.timeToLiveNanos = TimeUnit.MILLISECONDS.toNanos(timeToLiveMillis);
+        this.metroStationsByID = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if (size() > MetroStationCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    idsByName.remove(eldest.getValue().metroStation.getName(), eldest.getKey());
+                    return true;
+                }
+
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Gets the cached Metro Station by ID.
+     * @param metroStationID ID of the Metro Station;
+     * @return a copy of the Metro Station, or {@code null} if it is not cached.
+     */
+    public synchronized MetroStationForDB get(long metroStationID) {
+        Entry entry = getEntry(metroStationID);
+
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+
+        hits.incrementAndGet();
+
+        return copy(entry.metroStation);
+    }
+
+    /**
+     * Gets the cached Metro Station by name.
+     * @param metroStationName name of the Metro Station;
+     * @return a copy of the Metro Station, or {@code null} if it is not cached.
+     */
+    public synchronized MetroStationForDB getByName(String metroStationName) {
+        Long metroStationID = idsByName.get(metroStationName);
+        Entry entry = metroStationID == null ? null : getEntry(metroStationID);
+
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+
+        hits.incrementAndGet();
+
+        return copy(entry.metroStation);
+    }
+
+    /**
+     * Puts a copy of the Metro Station into the cache, replacing the cached Metro Station with the same ID.
+     * Metro Stations without a valid ID are ignored.
+     * @param metroStation the Metro Station read from or written to the database.
+     */
+    public synchronized void put(MetroStationForDB metroStation) {
+        if (maxSize == 0 || metroStation.getId() < 1) {
+            return;
+        }
+
+        remove(metroStation.getId());
+
+        Long previousID = idsByName.get(metroStation.getName());
+
+        if (previousID != null) {
+            remove(previousID);
+        }
+
+        metroStationsByID.put(metroStation.getId(),
+                new Entry(copy(metroStation), System.nanoTime() + timeToLiveNanos));
+
+        if (metroStation.getName() != null) {
+            idsByName.put(metroStation.getName(), metroStation.getId());
+        }
+    }
+
+    /**
+     * Removes the Metro Station with the specified ID from the cache.
+     * @param metroStationID ID of the Metro Station.
+     */
+    public synchronized void remove(long metroStationID) {
+        Entry entry = metroStationsByID.remove(metroStationID);
+
+        if (entry != null) {
+            idsByName.remove(entry.metroStation.getName(), metroStationID);
+        }
+    }
+
+    /**
+     * Removes the Metro Station with the specified name from the cache.
+     * @param metroStationName name of the Metro Station.
+     */
+    public synchronized void removeByName(String metroStationName) {
+        Long metroStationID = idsByName.remove(metroStationName);
+
+        if (metroStationID != null) {
+            metroStationsByID.remove(metroStationID);
+        }
+    }
+
+    /**
+     * Removes all Metro Stations from the cache.
+     */
+    public synchronized void clear() {
+        metroStationsByID.clear();
+        idsByName.clear();
+    }
+
+    /**
+     * Gets the number of cached Metro Stations, including expired ones not yet removed.
+     * @return the number of cached Metro Stations.
+     */
+    public synchronized int size() {
+        return metroStationsByID.size();
+    }
+
+    /**
+     * Gets the number of lookups answered from the cache.
+     * @return the number of cache hits.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of lookups not answered from the cache.
+     * @return the number of cache misses.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the number of Metro Stations removed to keep the cache within its maximum size.
+     * @return the number of evictions.
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * Gets the number of Metro Stations removed because their time to live has passed.
+     * @return the number of expirations.
+     */
+    public long getExpirations() {
+        return expirations.get();
+    }
+
+    /**
+     * Gets the share of lookups answered from the cache.
+     * @return the hit ratio from {@code 0} to {@code 1}, or {@code 0} if there were no lookups.
+     */
+    public double getHitRatio() {
+        long hitCount = hits.get();
+        long lookupCount = hitCount + misses.get();
+
+        return lookupCount == 0 ? 0 : (double) hitCount / lookupCount;
+    }
+
+    /**
+     * Gets the entry of the Metro Station, removing it if it is expired.
+     * @param metroStationID ID of the Metro Station;
+     * @return the entry, or {@code null} if the Metro Station is not cached or expired.
+     */
+    private Entry getEntry(long metroStationID) {
+        Entry entry = metroStationsByID.get(metroStationID);
+
+        if (entry != null && System.nanoTime() - entry.expiresAt > 0) {
+            expirations.incrementAndGet();
+            remove(metroStationID);
+            return null;
+        }
+
+        return entry;
+    }
+
+    /**
+     * Creates a copy of the Metro Station without Hours.
+     * @param metroStation the Metro Station to be copied;
+     * @return the copy of the Metro Station.
+     */
+    private static MetroStationForDB copy(MetroStationForDB metroStation) {
+        return new MetroStationForDB(metroStation.getId(), metroStation.getName(), metroStation.getOpened());
+    }
+}
@@ -0,0 +1,251 @@
+package applications.database_console_application;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Loader for bulk insertion of Metro Stations and their Operating Hours into the database.
+ * Rows are sent with JDBC batches and committed in one transaction per chunk.
+ * The IDs generated for Metro Stations are captured from the batch, so Hours are linked
+ * to their Metro Station by ID without looking it up by name.
+ */
+public class MetroStationsBulkLoader implements AutoCloseable {
+    /**
+     * The default number of rows sent to the database in one transaction.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    /**
+     * Constants containing SQL queries for batched inserts.
+     * The queries have no trailing semicolon, so the driver is able to rewrite a batch into a multi-row insert.
+     */
+    private static final String INSERT_INTO_METROSTATIONS = """
+            INSERT INTO metroStationsDB.metroStations (Name, Opened)
+            VALUES (?, ?)""";
+    private static final String INSERT_INTO_HOURS = """
+            INSERT INTO metroStationsDB.hours (Ridership, Comment, MetroStationID)
+            VALUES (?, ?, ?)""";
+
+    /**
+     * The connection borrowed for the whole loading.
+     */
+    private final PooledConnection connection;
+
+    /**
+     * Statements used for batched inserts.
+     */
+    private final PreparedStatement metroStationStatement;
+    private final PreparedStatement hourStatement;
+
+    /**
+     * The number of rows sent to the database in one transaction.
+     */
+    private final int chunkSize;
+
+    /**
+     * Metro Stations and Hours waiting to be sent to the database.
+     * For each pending Hour, the Metro Station it belongs to is stored at the same index,
+     * or {@code null} if the Hour already has the ID of its Metro Station.
+     */
+    private final List<MetroStationForDB> pendingMetroStations = new ArrayList<>();
+    private final List<HourForDB> pendingHours = new ArrayList<>();
+    private final List<MetroStationForDB> pendingHourMetroStations = new ArrayList<>();
+
+    /**
+     * The numbers of rows inserted into the database.
+     */
+    private long metroStationCount;
+    private long hourCount;
+
+    /**
+     * The constructor borrows a connection from the pool and prepares the loader with the default chunk size.
+     * @throws SQLException an exception related to a SQL query error.
+     */
+    public MetroStationsBulkLoader() throws SQLException {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * The constructor borrows a connection from the pool and prepares the loader.
+     * @param chunkSize the number of rows sent to the database in one transaction;
+     * @throws SQLException an exception related to a SQL query error.
+     */
+    public MetroStationsBulkLoader(int chunkSize) throws SQLException {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+
+        this.chunkSize = chunkSize;
+        this.connection = DBUtils.getConnection();
+
+        try {
+            connection.setAutoCommit(false);
+            metroStationStatement = connection.prepareStatement(INSERT_INTO_METROSTATIONS, Statement.RETURN_GENERATED_KEYS);
+            hourStatement = connection.prepareStatement(INSERT_INTO_HOURS);
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Adds the Metro Station to the loading. Its ID is set once the Metro Station is inserted.
+     * @param metroStation the {@link MetroStationForDB} to be inserted;
+     * @throws SQLException an exception related to a SQL query error.
+     */
+    public void addMetroStation(MetroStationForDB metroStation) throws SQLException {
+        pendingMetroStations.add(metroStation);
+        flushIfFull();
+    }
+
+    /**
+     * Adds the Metro Station and all its Hours to the loading.
+     * @param metroStation the {@link MetroStationForDB} to be inserted with its Hours;
+     * @throws SQLException an exception related to a SQL query error.
+     */
+    public void addMetroStationWithHours(MetroStationForDB metroStation) throws SQLException {
+        addMetroStation(metroStation);
+
+        for (HourForDB hour : metroStation.getHourList()) {
+            addHour(metroStation, hour);
+        }
+    }
+
+    /**
+     * Adds the Hour of the Metro Station previously added to the loading.
+     * @param metroStation the {@link MetroStationForDB} to which the Hour belongs;
+     * @param hour the {@link HourForDB} to be inserted;
+     * @throws SQLException an exception related to a SQL query error.
+     */
+    public void addHour(MetroStationForDB metroStation, HourForDB hour) throws SQLException {
+        pendingHours.add(hour);
+        pendingHourMetroStations.add(metroStation);
+        flushIfFull();
+    }
+
+    /**
+     * Adds the Hour of an existing Metro Station defined by {@link HourForDB#getMetroStationID()} to the loading.
+     * @param hour the {@link HourForDB} to be inserted;
+     * @throws SQLException an exception related to a SQL query error.
+     */
+    public void addHour(HourForDB hour) throws SQLException {
+        pendingHours.add(hour);
+        pendingHourMetroStations.add(null);
+        flushIfFull();
+    }
+
+    /**
+     * Sends all pending rows to the database and commits the transaction.
+     * The transaction of the chunk is rolled back if any of its rows fails.
+     * @throws SQLException an exception related to a SQL query error.
+     */
+    public void flush() throws SQLException {
+        if (pendingMetroStations.isEmpty() && pendingHours.isEmpty()) {
+            return;
+        }
+
+        try {
+            if (!pendingMetroStations.isEmpty()) {
+                for (MetroStationForDB metroStation : pendingMetroStations) {
+                    metroStationStatement.setString(1, metroStation.getName());
+                    metroStationStatement.setInt(2, metroStation.getOpened());
+                    metroStationStatement.addBatch();
+                }
+
+                metroStationStatement.executeBatch();
+
+                try (ResultSet generatedKeys = metroStationStatement.getGeneratedKeys()) {
+                    for (MetroStationForDB metroStation : pendingMetroStations) {
+                        if (!generatedKeys.next()) {
+                            throw new SQLException("Missing generated ID for Metro Station \"" + metroStation.getName() + "\"");
+                        }
+
+                        metroStation.setId(generatedKeys.getLong(1));
+                    }
+                }
+            }
+
+            if (!pendingHours.isEmpty()) {
+                for (int i = 0; i < pendingHours.size(); i++) {
+                    HourForDB hour = pendingHours.get(i);
+                    MetroStationForDB metroStation = pendingHourMetroStations.get(i);
+
+                    if (metroStation != null) {
+                        hour.setMetroStationID(metroStation.getId());
+                    }
+
+                    hourStatement.setInt(1, hour.getRidership());
+                    hourStatement.setString(2, hour.getComment());
+                    hourStatement.setLong(3, hour.getMetroStationID());
+                    hourStatement.addBatch();
+                }
+
+                hourStatement.executeBatch();
+            }
+
+            connection.commit();
+            DBUtils.invalidateQueryResults();
+
+            metroStationCount += pendingMetroStations.size();
+            hourCount += pendingHours.size();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            metroStationStatement.clearBatch();
+            hourStatement.clearBatch();
+            pendingMetroStations.clear();
+            pendingHours.clear();
+            pendingHourMetroStations.clear();
+        }
+    }
+
+    /**
+     * Sends the pending rows to the database once their number reaches the chunk size.
+     * @throws SQLException an exception related to a SQL query error.
+     */
+    private void flushIfFull() throws SQLException {
+        if (pendingMetroStations.size() + pendingHours.size() >= chunkSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Gets the number of Metro Stations inserted into the database.
+     * @return the number of Metro Stations.
+     */
+    public long getMetroStationCount() {
+        return metroStationCount;
+    }
+
+    /**
+     * Gets the number of Hours inserted into the database.
+     * @return the number of Hours.
+     */
+    public long getHourCount() {
+        return hourCount;
+    }
+
+    /**
+     * Sends the remaining rows to the database and returns the connection to the pool.
+     * @throws SQLException an exception related to a SQL query error.
+     */
+    @Override
+    public void close() throws SQLException {
+        try {
+            flush();
+        } finally {
+            try {
+                metroStationStatement.close();
+                hourStatement.close();
+            } finally {
+                connection.close();
+            }
+        }
+    }
+}
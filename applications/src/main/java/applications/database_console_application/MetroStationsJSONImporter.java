@@ -0,0 +1,181 @@
+package applications.database_console_application;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.sql.SQLException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+
+/**
+ * Importer of Metro Stations and their Operating Hours from a JSON file to the database.
+ * The file is parsed by {@link MetroStationsJSONReader} in a separate thread, parsed records are passed
+ * through a bounded queue to the calling thread, which inserts them with {@link MetroStationsBulkLoader}.
+ * Insertion starts as soon as the first records are parsed, and the memory use does not depend on the size of the file.
+ * The import stops with an {@link InterruptedIOException} when the calling thread is interrupted.
+ */
+public class MetroStationsJSONImporter {
+    /**
+     * The default maximum number of parsed records waiting to be inserted.
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    /**
+     * The number of records between reports of the progress.
+     */
+    private static final int PROGRESS_INTERVAL = 1000;
+
+    /**
+     * The marker of the end of parsed records in the queue.
+     */
+    private static final Object END = new Object();
+
+    /**
+     * The name of the imported file.
+     */
+    private final String fileName;
+
+    /**
+     * The number of rows inserted in one transaction.
+     */
+    private final int chunkSize;
+
+    /**
+     * The maximum number of parsed records waiting to be inserted.
+     */
+    private final int queueCapacity;
+
+    /**
+     * The error of the parsing thread, or {@code null}.
+     */
+    private volatile Throwable parsingError;
+
+    /**
+     * The number of bytes of the file read by the parsing thread, updated every {@code PROGRESS_INTERVAL} records.
+     */
+    private volatile long bytesRead;
+
+    /**
+     * The listener of the progress in bytes of the file, or {@code null}.
+     */
+    private ProgressListener progressListener;
+
+    /**
+     * The constructor initialises the importer with the default chunk size and queue capacity.
+     * @param fileName the name of the imported file.
+     */
+    public MetroStationsJSONImporter(String fileName) {
+        this(fileName, MetroStationsBulkLoader.DEFAULT_CHUNK_SIZE, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * The constructor initialises the importer with the specified values.
+     * @param fileName the name of the imported file;
+     * @param chunkSize the number of rows inserted in one transaction;
+     * @param queueCapacity the maximum number of parsed records waiting to be inserted.
+     */
+    public MetroStationsJSONImporter(String fileName, int chunkSize, int queueCapacity) {
+        this.fileName = fileName;
+        this.chunkSize = chunkSize;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Sets the listener of the progress of the import, called on the importing thread
+     * with the number of bytes of the file parsed and the size of the file.
+     * @param progressListener the listener, or {@code null} to not report the progress.
+     */
+    public void setProgressListener(ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Imports the file to the database.
+     * Records parsed before an error remain in the database.
+     * @return the number of imported Metro Stations;
+     * @throws IOException an exception related to a reading error or malformed JSON text;
+     * @throws SQLException an exception related to a SQL query error.
+     */
+    public long importToDatabase() throws IOException, SQLException {
+        BlockingQueue<Object> queue = new ArrayBlockingQueue<>(queueCapacity);
+        Thread parser = new Thread(() -> parse(queue), "json-import-parser");
+        parser.setDaemon(true);
+
+        long fileSize = new File(fileName).length();
+
+        try (MetroStationsBulkLoader loader = new MetroStationsBulkLoader(chunkSize)) {
+            parser.start();
+
+            MetroStationForDB metroStation = null;
+            Object record;
+            long recordCount = 0;
+
+            while ((record = queue.take()) != END) {
+                if (record instanceof MetroStationForDB) {
+                    metroStation = (MetroStationForDB) record;
+                    loader.addMetroStation(metroStation);
+                } else {
+                    loader.addHour(metroStation, (HourForDB) record);
+                }
+
+                if (progressListener != null && ++recordCount % PROGRESS_INTERVAL == 0) {
+                    progressListener.progress(Math.min(bytesRead, fileSize), fileSize);
+                }
+            }
+
+            if (parsingError instanceof IOException) {
+                throw (IOException) parsingError;
+            } else if (parsingError != null) {
+                throw new RuntimeException(parsingError);
+            }
+
+            loader.flush();
+
+            if (progressListener != null) {
+                progressListener.progress(fileSize, fileSize);
+            }
+
+            return loader.getMetroStationCount();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Import of " + fileName + " was interrupted");
+        } finally {
+            parser.interrupt();
+        }
+    }
+
+    /**
+     * Parses the file and puts parsed records into the queue followed by the end marker.
+     * @param queue the queue of parsed records.
+     */
+    private void parse(BlockingQueue<Object> queue) {
+        try (FileInputStream input = new FileInputStream(fileName);
+             MetroStationsJSONReader reader = new MetroStationsJSONReader(
+                     new BufferedReader(new InputStreamReader(input)))) {
+            Object record;
+            long recordCount = 0;
+
+            while ((record = reader.next()) != null) {
+                queue.put(record);
+
+                if (++recordCount % PROGRESS_INTERVAL == 0) {
+                    bytesRead = input.getChannel().position();
+                }
+            }
+        } catch (InterruptedException e) {
+            return;
+        } catch (Throwable e) {
+            parsingError = e;
+        }
+
+        try {
+            queue.put(END);
+        } catch (InterruptedException ignored) {
+            // The importing thread has stopped waiting for records.
+        }
+    }
+}
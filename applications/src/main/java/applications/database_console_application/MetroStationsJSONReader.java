@@ -0,0 +1,488 @@
+package applications.database_console_application;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+
+/**
+ * Pull reader of Metro Stations and their Operating Hours from JSON written by XStream
+ * (see {@link DBUtils#exportToJSON(MetroStations, String)}) or by {@link MetroStationsJSONWriter}.
+ * Each call of {@link #next()} reads the file only up to the next Metro Station or Hour,
+ * so the memory use does not depend on the size of the file.
+ * A Metro Station is returned before its Hours, and the Hours are not added to its Hour list.
+ */
+public class MetroStationsJSONReader implements AutoCloseable {
+    /**
+     * Tokens of the JSON text.
+     */
+    private enum Token {
+        BEGIN_OBJECT,
+        END_OBJECT,
+        BEGIN_ARRAY,
+        END_ARRAY,
+        NAME,
+        VALUE,
+        END_DOCUMENT
+    }
+
+    /**
+     * An object or array of the JSON text being read.
+     * For arrays and objects other than Metro Stations and Hours, only the key is stored.
+     */
+    private static class Frame {
+        /**
+         * The key under which the object or array is stored.
+         */
+        private final String key;
+
+        /**
+         * The Metro Station read from the object, or {@code null}.
+         */
+        private final MetroStationForDB metroStation;
+
+        /**
+         * The Hour read from the object, or {@code null}.
+         */
+        private final HourForDB hour;
+
+        /**
+         * Whether the Metro Station has already been returned by the reader.
+         */
+        private boolean returned;
+
+        /**
+         * The constructor initialises the frame with the specified values.
+         * @param key the key under which the object or array is stored;
+         * @param metroStation the Metro Station read from the object, or {@code null};
+         * @param hour the Hour read from the object, or {@code null}.
+         */
+        private Frame(String key, MetroStationForDB metroStation, HourForDB hour) {
+            this.key = key;
+            this.metroStation = metroStation;
+            this.hour = hour;
+        }
+    }
+
+    /**
+     * The reader the JSON text is read from.
+     */
+    private final Reader in;
+
+    /**
+     * Objects and arrays enclosing the current position.
+     */
+    private final Deque<Frame> frames = new ArrayDeque<>();
+
+    /**
+     * The text of the last {@link Token#NAME} or {@link Token#VALUE} token.
+     */
+    private String tokenText;
+
+    /**
+     * The key of the value to be read next, or {@code null} inside arrays.
+     */
+    private String pendingKey;
+
+    /**
+     * The character read ahead, or {@code -2} if there is none.
+     */
+    private int peeked = -2;
+
+    /**
+     * The number of characters read, used in error messages.
+     */
+    private long position;
+
+    /**
+     * Whether the root object of the JSON text has been read.
+     */
+    private boolean started;
+
+    /**
+     * Whether the last token completed a value, so a comma or a closing bracket must follow it.
+     */
+    private boolean afterValue;
+
+    /**
+     * The constructor initialises the JSON reader.
+     * @param in the reader the JSON text is read from, preferably buffered.
+     */
+    public MetroStationsJSONReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Reads the next Metro Station or Hour from the JSON text.
+     * A returned {@link HourForDB} belongs to the last returned {@link MetroStationForDB}.
+     * @return the next {@link MetroStationForDB} or {@link HourForDB} object, or {@code null} at the end of the text;
+     * @throws IOException an exception related to a reading error or malformed JSON text.
+     */
+    public Object next() throws IOException {
+        while (true) {
+            Token token = nextToken();
+
+            switch (token) {
+                case BEGIN_OBJECT -> {
+                    String key = getKey();
+                    started = true;
+
+                    if ("metroStation".equals(key)) {
+                        frames.push(new Frame(key, new MetroStationForDB(), null));
+                    } else if ("hour".equals(key) && findMetroStationFrame() != null) {
+                        frames.push(new Frame(key, null, new HourForDB()));
+                    } else {
+                        frames.push(new Frame(key, null, null));
+                    }
+
+                    pendingKey = null;
+                }
+                case BEGIN_ARRAY -> {
+                    frames.push(new Frame(getKey(), null, null));
+                    pendingKey = null;
+                }
+                case END_ARRAY -> popFrame();
+                case END_OBJECT -> {
+                    Frame frame = popFrame();
+
+                    if (frame.hour != null) {
+                        return frame.hour;
+                    }
+
+                    if (frame.metroStation != null && !frame.returned) {
+                        return frame.metroStation;
+                    }
+                }
+                case NAME -> {
+                    pendingKey = tokenText;
+                    Frame frame = frames.peek();
+
+                    if ("hours".equals(pendingKey) && frame != null
+                            && frame.metroStation != null && !frame.returned) {
+                        frame.returned = true;
+                        return frame.metroStation;
+                    }
+                }
+                case VALUE -> {
+                    setField(frames.peek(), pendingKey, tokenText);
+                    pendingKey = null;
+                }
+                case END_DOCUMENT -> {
+                    if (!started || !frames.isEmpty()) {
+                        throw new IOException("Unexpected end of JSON text at position " + position);
+                    }
+
+                    return null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Closes the underlying reader.
+     * @throws IOException an exception related to a reading error.
+     */
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * Gets the key of the object or array that begins at the current position.
+     * Elements of an array get the key of the array.
+     * @return the key, or {@code null} for the root object.
+     */
+    private String getKey() {
+        if (pendingKey != null) {
+            return pendingKey;
+        }
+
+        return frames.isEmpty() ? null : frames.peek().key;
+    }
+
+    /**
+     * Removes the object or array that ends at the current position.
+     * @return the removed frame;
+     * @throws IOException if there is no object or array to end.
+     */
+    private Frame popFrame() throws IOException {
+        if (frames.isEmpty()) {
+            throw new IOException("Unexpected closing bracket at position " + position);
+        }
+
+        return frames.pop();
+    }
+
+    /**
+     * Finds the Metro Station object enclosing the current position.
+     * @return the frame of the Metro Station, or {@code null} if the position is outside of a Metro Station.
+     */
+    private Frame findMetroStationFrame() {
+        for (Frame frame : frames) {
+            if (frame.metroStation != null) {
+                return frame;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Sets the field of the Metro Station or Hour read from the current object.
+     * Values of unknown keys and values outside of Metro Stations and Hours are ignored.
+     * @param frame the current object or array;
+     * @param key the key of the value;
+     * @param value the text of the value, or {@code null} for the JSON null;
+     * @throws IOException if a numeric field has a non-numeric value.
+     */
+    private void setField(Frame frame, String key, String value) throws IOException {
+        if (frame == null || key == null || value == null) {
+            return;
+        }
+
+        try {
+            if (frame.metroStation != null) {
+                switch (key) {
+                    case "name" -> frame.metroStation.setName(value);
+                    case "opened" -> frame.metroStation.setOpened(Integer.parseInt(value));
+                    case "id" -> frame.metroStation.setId(Long.parseLong(value));
+                    default -> { }
+                }
+            } else if (frame.hour != null) {
+                switch (key) {
+                    case "ridership" -> frame.hour.setRidership(Integer.parseInt(value));
+                    case "comment" -> frame.hour.setComment(value);
+                    case "id" -> frame.hour.setId(Long.parseLong(value));
+                    case "metroStationID" -> frame.hour.setMetroStationID(Long.parseLong(value));
+                    default -> { }
+                }
+            }
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid value of \"" + key + "\" at position " + position + ": " + value, e);
+        }
+    }
+
+    /**
+     * Reads the next token of the JSON text.
+     * @return the next token;
+     * @throws IOException an exception related to a reading error or malformed JSON text.
+     */
+    private Token nextToken() throws IOException {
+        Token token = readToken(readSeparator());
+        afterValue = token == Token.VALUE || token == Token.END_OBJECT || token == Token.END_ARRAY;
+
+        return token;
+    }
+
+    /**
+     * Reads the token beginning with the character.
+     * @param c the first character of the token, or {@code -1} at the end of the text;
+     * @return the token;
+     * @throws IOException an exception related to a reading error or malformed JSON text.
+     */
+    private Token readToken(int c) throws IOException {
+        switch (c) {
+            case -1:
+                return Token.END_DOCUMENT;
+            case '{':
+                return Token.BEGIN_OBJECT;
+            case '}':
+                return Token.END_OBJECT;
+            case '[':
+                return Token.BEGIN_ARRAY;
+            case ']':
+                return Token.END_ARRAY;
+            case '"':
+                tokenText = readString();
+
+                if (peekNonWhitespace() == ':') {
+                    read();
+                    return Token.NAME;
+                }
+
+                return Token.VALUE;
+            default:
+                tokenText = readLiteral((char) c);
+                return Token.VALUE;
+        }
+    }
+
+    /**
+     * Skips whitespace and the comma separating members of an object or elements of an array
+     * and reads the first character of the next token.
+     * Exactly one comma is required between two values of an object or array,
+     * and a comma is not allowed anywhere else.
+     * @return the first character of the next token, or {@code -1} at the end of the text;
+     * @throws IOException an exception related to a reading error, a missing or an unexpected comma.
+     */
+    private int readSeparator() throws IOException {
+        int c = skipWhitespace();
+
+        if (!afterValue) {
+            if (c == ',') {
+                throw new IOException("Unexpected comma at position " + position);
+            }
+
+            return c;
+        }
+
+        if (c == ',') {
+            c = skipWhitespace();
+
+            if (frames.isEmpty() || c == ',' || c == '}' || c == ']' || c == -1) {
+                throw new IOException("Unexpected comma at position " + position);
+            }
+
+            return c;
+        }
+
+        if (c != '}' && c != ']' && c != -1) {
+            throw new IOException("Missing comma at position " + position);
+        }
+
+        return c;
+    }
+
+    /**
+     * Reads the rest of a string literal after its opening quote.
+     * @return the unescaped string;
+     * @throws IOException an exception related to a reading error or malformed JSON text.
+     */
+    private String readString() throws IOException {
+        StringBuilder builder = new StringBuilder();
+
+        while (true) {
+            int c = read();
+
+            if (c == -1) {
+                throw new IOException("Unterminated string at position " + position);
+            }
+
+            if (c == '"') {
+                return builder.toString();
+            }
+
+            if (c == '\\') {
+                int escaped = read();
+
+                switch (escaped) {
+                    case '"', '\\', '/' -> builder.append((char) escaped);
+                    case 'b' -> builder.append('\b');
+                    case 'f' -> builder.append('\f');
+                    case 'n' -> builder.append('\n');
+                    case 'r' -> builder.append('\r');
+                    case 't' -> builder.append('\t');
+                    case 'u' -> {
+                        char[] hex = new char[4];
+
+                        for (int i = 0; i < hex.length; i++) {
+                            int h = read();
+
+                            if (h == -1) {
+                                throw new IOException("Unterminated string at position " + position);
+                            }
+
+                            hex[i] = (char) h;
+                        }
+
+                        try {
+                            builder.append((char) Integer.parseInt(new String(hex), 16));
+                        } catch (NumberFormatException e) {
+                            throw new IOException("Invalid escape sequence at position " + position, e);
+                        }
+                    }
+                    default -> throw new IOException("Invalid escape sequence at position " + position);
+                }
+            } else {
+                builder.append((char) c);
+            }
+        }
+    }
+
+    /**
+     * Reads a number, {@code true}, {@code false} or {@code null} literal.
+     * @param first the first character of the literal;
+     * @return the text of the literal, or {@code null} for the JSON null;
+     * @throws IOException an exception related to a reading error or malformed JSON text.
+     */
+    private String readLiteral(char first) throws IOException {
+        StringBuilder builder = new StringBuilder().append(first);
+        int c;
+
+        while ((c = peek()) != -1 && c != ',' && c != '}' && c != ']' && !Character.isWhitespace(c)) {
+            builder.append((char) read());
+        }
+
+        String literal = builder.toString();
+
+        if (literal.equals("null")) {
+            return null;
+        }
+
+        if (!literal.equals("true") && !literal.equals("false") && !literal.matches("-?[0-9][0-9.eE+-]*")) {
+            throw new IOException("Unexpected \"" + literal + "\" at position " + position);
+        }
+
+        return literal;
+    }
+
+    /**
+     * Skips whitespace and reads the next character.
+     * @return the next significant character, or {@code -1} at the end of the text;
+     * @throws IOException an exception related to a reading error.
+     */
+    private int skipWhitespace() throws IOException {
+        int c;
+
+        do {
+            c = read();
+        } while (c != -1 && Character.isWhitespace(c));
+
+        return c;
+    }
+
+    /**
+     * Skips whitespace and returns the next character without consuming it.
+     * @return the next significant character, or {@code -1} at the end of the text;
+     * @throws IOException an exception related to a reading error.
+     */
+    private int peekNonWhitespace() throws IOException {
+        int c;
+
+        while ((c = peek()) != -1 && Character.isWhitespace(c)) {
+            read();
+        }
+
+        return c;
+    }
+
+    /**
+     * Returns the next character without consuming it.
+     * @return the next character, or {@code -1} at the end of the text;
+     * @throws IOException an exception related to a reading error.
+     */
+    private int peek() throws IOException {
+        if (peeked == -2) {
+            peeked = in.read();
+        }
+
+        return peeked;
+    }
+
+    /**
+     * Reads the next character.
+     * @return the next character, or {@code -1} at the end of the text;
+     * @throws IOException an exception related to a reading error.
+     */
+    private int read() throws IOException {
+        int c = peek();
+        peeked = -2;
+
+        if (c != -1) {
+            position++;
+        }
+
+        return c;
+    }
+}
@@ -0,0 +1,184 @@
+package applications.database_console_application;
+
+import java.io.IOException;
+import java.io.Writer;
+
+
+/**
+ * Writer of Metro Stations and their Operating Hours to JSON, one record at a time.
+ * Produces the same structure as the XStream serialization of {@link MetroStations},
+ * so the written file can be read by {@link DBUtils#importFromJSON(String)},
+ * while only the current record is kept in memory.
+ */
+public class MetroStationsJSONWriter implements AutoCloseable {
+    /**
+     * The writer the JSON text is written to.
+     */
+    private final Writer out;
+
+    /**
+     * The number of Metro Stations written.
+     */
+    private long metroStationCount;
+
+    /**
+     * The number of Hours of the current Metro Station written.
+     */
+    private long hourCount;
+
+    /**
+     * The constructor initialises the JSON writer and writes the beginning of the document.
+     * @param out the writer the JSON text is written to, preferably buffered;
+     * @throws IOException an exception related to a writing error.
+     */
+    public MetroStationsJSONWriter(Writer out) throws IOException {
+        this.out = out;
+        out.write("{\"metroStations\":{\"metroStationList\":[");
+    }
+
+    /**
+     * Writes the Metro Station. The Hours written after it belong to this Metro Station.
+     * @param id ID of the Metro Station;
+     * @param name name of the Metro Station, or {@code null} if it is not set;
+     * @param opened the year the Metro Station was opened;
+     * @throws IOException an exception related to a writing error.
+     */
+    public void writeMetroStation(long id, String name, int opened) throws IOException {
+        if (metroStationCount == 0) {
+            out.write("{\"metroStation\":[");
+        } else {
+            endMetroStation();
+            out.write(',');
+        }
+
+        out.write('{');
+
+        if (name != null) {
+            out.write("\"name\":");
+            writeString(name);
+            out.write(',');
+        }
+
+        out.write("\"opened\":");
+        out.write(Integer.toString(opened));
+        out.write(",\"hoursList\":[\"\"],\"id\":");
+        out.write(Long.toString(id));
+        out.write(",\"hours\":[");
+
+        metroStationCount++;
+        hourCount = 0;
+    }
+
+    /**
+     * Writes the Hour of the last written Metro Station.
+     * @param id ID of the Hour;
+     * @param ridership the ridership of the Hour;
+     * @param comment the comment of the Hour, or {@code null} if it is not set;
+     * @param metroStationID ID of the Metro Station to which the Hour belongs;
+     * @throws IOException an exception related to a writing error.
+     */
+    public void writeHour(long id, int ridership, String comment, long metroStationID) throws IOException {
+        if (metroStationCount == 0) {
+            throw new IllegalStateException("Hour is written before any Metro Station");
+        }
+
+        out.write(hourCount == 0 ? "{\"hour\":[" : ",");
+        out.write("{\"ridership\":");
+        out.write(Integer.toString(ridership));
+
+        if (comment != null) {
+            out.write(",\"comment\":");
+            writeString(comment);
+        }
+
+        out.write(",\"id\":");
+        out.write(Long.toString(id));
+        out.write(",\"metroStationID\":");
+        out.write(Long.toString(metroStationID));
+        out.write('}');
+
+        hourCount++;
+    }
+
+    /**
+     * Writes the Metro Station and all its Hours.
+     * @param metroStation the {@link MetroStationForDB} object to be written;
+     * @throws IOException an exception related to a writing error.
+     */
+    public void writeMetroStationWithHours(MetroStationForDB metroStation) throws IOException {
+        writeMetroStation(metroStation.getId(), metroStation.getName(), metroStation.getOpened());
+
+        for (HourForDB hour : metroStation.getHourList()) {
+            writeHour(hour.getId(), hour.getRidership(), hour.getComment(), hour.getMetroStationID());
+        }
+    }
+
+    /**
+     * Gets the number of Metro Stations written.
+     * @return the number of Metro Stations.
+     */
+    public long getMetroStationCount() {
+        return metroStationCount;
+    }
+
+    /**
+     * Writes the end of the document and closes the underlying writer.
+     * @throws IOException an exception related to a writing error.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (metroStationCount == 0) {
+                out.write("\"\"");
+            } else {
+                endMetroStation();
+                out.write("]}");
+            }
+
+            out.write("]}}");
+            out.write(System.lineSeparator());
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Writes the end of the Hours of the last written Metro Station and the end of the Metro Station.
+     * @throws IOException an exception related to a writing error.
+     */
+    private void endMetroStation() throws IOException {
+        out.write(hourCount == 0 ? "\"\"]}" : "]}]}");
+    }
+
+    /**
+     * Writes the string as a JSON string literal.
+     * @param value the string to be written;
+     * @throws IOException an exception related to a writing error.
+     */
+    private void writeString(String value) throws IOException {
+        out.write('"');
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+
+            switch (c) {
+                case '"' -> out.write("\\\"");
+                case '\\' -> out.write("\\\\");
+                case '\n' -> out.write("\\n");
+                case '\r' -> out.write("\\r");
+                case '\t' -> out.write("\\t");
+                case '\b' -> out.write("\\b");
+                case '\f' -> out.write("\\f");
+                default -> {
+                    if (c < 0x20) {
+                        out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+                }
+            }
+        }
+
+        out.write('"');
+    }
+}
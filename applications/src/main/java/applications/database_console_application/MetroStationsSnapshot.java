@@ -0,0 +1,145 @@
+package applications.database_console_application;
+
+import applications.database_console_application.DBUtils.Sort;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+
+/**
+ * Snapshot of all Metro Stations of one version of the Metro Stations table stored in columns.
+ * Each {@link Sort} order of the Metro Stations is computed in memory on first use as a permutation of row positions
+ * and memoized, so switching between sort orders does not query the database or sort again.
+ * Names are compared case- and accent-insensitively like the default collation of the database.
+ * Rows are stored in the order of Metro Station IDs; equal keys keep this order in all sort orders.
+ */
+public class MetroStationsSnapshot {
+    /**
+     * The version of the Metro Stations table the snapshot was read from.
+     */
+    private final long version;
+
+    /**
+     * Columns of the Metro Stations.
+     */
+    private final long[] ids;
+    private final String[] names;
+    private final int[] openedYears;
+
+    /**
+     * Memoized permutations of row positions by sorting.
+     */
+    private final Map<Sort, int[]> permutations = new EnumMap<>(Sort.class);
+
+    /**
+     * The constructor reads all rows of the result set into the snapshot.
+     * @param resultSet the result set with the {@code MetroStationID}, {@code Name} and {@code Opened} columns
+     *                  ordered by {@code MetroStationID};
+     * @param version the version of the Metro Stations table read before the query was executed;
+     * @throws SQLException an exception related to a SQL query error.
+     */
+    public MetroStationsSnapshot(ResultSet resultSet, long version) throws SQLException {
+        this.version = version;
+
+        List<MetroStationForDB> rows = new ArrayList<>();
+
+        while (resultSet.next()) {
+            rows.add(DBUtils.getMetroStationFromResultSet(resultSet));
+        }
+
+        ids = new long[rows.size()];
+        names = new String[rows.size()];
+        openedYears = new int[rows.size()];
+
+        for (int i = 0; i < rows.size(); i++) {
+            ids[i] = rows.get(i).getId();
+            names[i] = rows.get(i).getName();
+            openedYears[i] = rows.get(i).getOpened();
+        }
+    }
+
+    /**
+     * Gets the version of the Metro Stations table the snapshot was read from.
+     * @return the version of the Metro Stations table.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the number of Metro Stations in the snapshot.
+     * @return the number of Metro Stations.
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Creates the {@link MetroStations} object with all Metro Stations in the sort order.
+     * @param sorting the order defined by the {@link Sort} list;
+     * @return the {@link MetroStations} object.
+     */
+    public MetroStations getMetroStations(Sort sorting) {
+        MetroStations metroStations = new MetroStations();
+
+        for (int row : getPermutation(sorting)) {
+            metroStations.add(new MetroStationForDB(ids[row], names[row], openedYears[row]));
+        }
+
+        return metroStations;
+    }
+
+    /**
+     * Gets the permutation of row positions in the sort order, computing it on first use.
+     * @param sorting the order defined by the {@link Sort} list;
+     * @return the memoized permutation, which must not be modified.
+     */
+    private synchronized int[] getPermutation(Sort sorting) {
+        int[] permutation = permutations.get(sorting);
+
+        if (permutation == null) {
+            permutation = switch (sorting) {
+                case UNSORTED -> SortPermutations.identity(size());
+                case SORTED_BY_ASC_NAME -> sortByName(false);
+                case SORTED_BY_DESC_NAME -> sortByName(true);
+                case SORTED_BY_ASC_OPENED -> SortPermutations.byIntKey(openedYears, size(), false);
+                case SORTED_BY_DESC_OPENED -> SortPermutations.byIntKey(openedYears, size(), true);
+                default -> throw new IllegalArgumentException("Unexpected value: " + sorting);
+            };
+            permutations.put(sorting, permutation);
+        }
+
+        return permutation;
+    }
+
+    /**
+     * Sorts row positions by names, with Metro Stations without a name first.
+     * @param descending {@code true} to sort in descending order of names;
+     * @return the array of row positions in the order of names.
+     */
+    private int[] sortByName(boolean descending) {
+        Collator collator = Collator.getInstance(Locale.ROOT);
+        collator.setStrength(Collator.PRIMARY);
+
+        CollationKey[] keys = new CollationKey[size()];
+
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = names[i] == null ? null : collator.getCollationKey(names[i]);
+        }
+
+        return SortPermutations.byComparator(size(), (a, b) -> {
+            if (keys[a] == null || keys[b] == null) {
+                return keys[a] == null ? (keys[b] == null ? 0 : -1) : 1;
+            }
+
+            return keys[a].compareTo(keys[b]);
+        }, descending);
+    }
+}
@@ -0,0 +1,315 @@
+package applications.database_console_application;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Represents a physical database connection borrowed from the {@link ConnectionPool}.
+ * Closing the pooled connection returns it to the pool instead of closing the physical connection.
+ */
+public class PooledConnection implements AutoCloseable {
+    /**
+     * The physical connection to the database.
+     */
+    private final Connection connection;
+
+    /**
+     * The pool to which the connection belongs.
+     */
+    private final ConnectionPool pool;
+
+    /**
+     * The cache of prepared statements of the connection.
+     */
+    private final StatementCache statementCache;
+
+    /**
+     * Statements created since the connection was borrowed, which are cancelled by {@link #cancelStatements()}.
+     */
+    private final Set<Statement> openedStatements = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The time of the last return of the connection to the pool, in milliseconds.
+     */
+    private volatile long lastUsedAt;
+
+    /**
+     * The time the connection was borrowed from the pool, in milliseconds.
+     */
+    private volatile long borrowedAt;
+
+    /**
+     * The thread that borrowed the connection from the pool.
+     */
+    private volatile Thread borrower;
+
+    /**
+     * The stack trace of the borrowing place used to report leaked connections.
+     */
+    private volatile Throwable borrowTrace;
+
+    /**
+     * Whether the connection has already been reported as leaked.
+     */
+    private volatile boolean leakReported;
+
+    /**
+     * The constructor initialises the pooled connection with the specified values.
+     * @param connection the physical connection to the database;
+     * @param pool the pool to which the connection belongs;
+     * @param statementCacheSize the maximum number of cached prepared statements.
+     */
+    PooledConnection(Connection connection, ConnectionPool pool, int statementCacheSize) {
+        this.connection = connection;
+        this.pool = pool;
+        this.statementCache = new StatementCache(connection, statementCacheSize);
+        this.lastUsedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Gets the physical connection to the database.
+     * The physical connection must not be closed by the caller.
+     * @return the physical connection.
+     */
+    public Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Creates a {@link Statement} object for sending SQL statements to the database.
+     * @return a new {@link Statement} object;
+     * @throws SQLException an exception related to a SQL query error.
+     */
+    public Statement createStatement() throws SQLException {
+        return track(connection.createStatement());
+    }
+
+    /**
+     * Creates a {@link Statement} object that will generate result sets with the given type and concurrency.
+     * @param resultSetType the result set type;
+     * @param resultSetConcurrency the concurrency type;
+     * @return a new {@link Statement} object;
+     * @throws SQLException an exception related to a SQL query error.
+     */
+    public Statement createStatement(int resultSetType, int resultSetConcurrency) throws SQLException {
+        return track(connection.createStatement(resultSetType, resultSetConcurrency));
+    }
+
+    /**
+     * Gets a {@link PreparedStatement} object for sending parameterized SQL statements to the database.
+     * The statement is taken from the statement cache of the connection, closing it returns the statement to the cache.
+     * @param sql the SQL statement;
+     * @return the {@link PreparedStatement} object;
+     * @throws SQLException an exception related to a SQL query error.
+     */
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        return track(statementCache.prepare(sql, Statement.NO_GENERATED_KEYS));
+    }
+
+    /**
+     * Gets a {@link PreparedStatement} object that has the capability to retrieve auto-generated keys.
+     * The statement is taken from the statement cache of the connection, closing it returns the statement to the cache.
+     * @param sql the SQL statement;
+     * @param autoGeneratedKeys a flag indicating whether auto-generated keys should be returned;
+     * @return the {@link PreparedStatement} object;
+     * @throws SQLException an exception related to a SQL query error.
+     */
+    public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+        return track(statementCache.prepare(sql, autoGeneratedKeys));
+    }
+
+    /**
+     * Gets the number of prepared statements taken from the statement cache of the connection.
+     * @return the number of cache hits.
+     */
+    public long getStatementCacheHits() {
+        return statementCache.getHits();
+    }
+
+    /**
+     * Gets the number of prepared statements that were not found in the statement cache of the connection.
+     * @return the number of cache misses.
+     */
+    public long getStatementCacheMisses() {
+        return statementCache.getMisses();
+    }
+
+    /**
+     * Gets the number of prepared statements evicted from the statement cache of the connection.
+     * @return the number of evictions.
+     */
+    public long getStatementCacheEvictions() {
+        return statementCache.getEvictions();
+    }
+
+    /**
+     * Sets the auto-commit mode of the connection.
+     * The mode is restored to auto-commit when the connection is returned to the pool.
+     * @param autoCommit {@code true} to enable auto-commit mode, {@code false} otherwise;
+     * @throws SQLException an exception related to a SQL query error.
+     */
+    public void setAutoCommit(boolean autoCommit) throws SQLException {
+        connection.setAutoCommit(autoCommit);
+    }
+
+    /**
+     * Makes all changes made since the previous commit permanent.
+     * @throws SQLException an exception related to a SQL query error.
+     */
+    public void commit() throws SQLException {
+        connection.commit();
+    }
+
+    /**
+     * Undoes all changes made in the current transaction.
+     * @throws SQLException an exception related to a SQL query error.
+     */
+    public void rollback() throws SQLException {
+        connection.rollback();
+    }
+
+    /**
+     * Cancels the statements of the connection that are being executed, for example by another thread.
+     * Closed statements and statements that are not being executed are skipped.
+     * The connection cannot be returned to the pool or borrowed again while its statements are cancelled.
+     * @return the number of statements for which the cancellation was sent to the database.
+     */
+    public synchronized int cancelStatements() {
+        int cancelled = 0;
+
+        for (Statement statement : openedStatements) {
+            try {
+                if (!statement.isClosed()) {
+                    statement.cancel();
+                    cancelled++;
+                }
+            } catch (SQLException ignored) {
+                // The statement has been closed concurrently.
+            }
+        }
+
+        return cancelled;
+    }
+
+    /**
+     * Cancels the statements being executed if the connection is borrowed by the thread.
+     * The borrower is checked and the statements are cancelled under the lock taken when the connection
+     * is borrowed and returned, so statements of a later borrower of the connection are never cancelled.
+     * @param thread the thread that borrowed the connection;
+     * @return the number of statements for which the cancellation was sent to the database.
+     */
+    synchronized int cancelStatements(Thread thread) {
+        return borrower == thread ? cancelStatements() : 0;
+    }
+
+    /**
+     * Remembers the statement so it can be cancelled until the connection is returned to the pool.
+     * @param statement the created statement;
+     * @param <T> the type of the statement;
+     * @return the same statement.
+     */
+    private <T extends Statement> T track(T statement) {
+        openedStatements.add(statement);
+        return statement;
+    }
+
+    /**
+     * Returns the connection to the pool.
+     */
+    @Override
+    public void close() {
+        pool.release(this);
+    }
+
+    /**
+     * Checks whether the physical connection is still valid.
+     * @param timeoutSeconds the time to wait for the validation, in seconds;
+     * @return {@code true} if the connection is valid, {@code false} otherwise.
+     */
+    boolean isValid(int timeoutSeconds) {
+        try {
+            return connection.isValid(timeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Closes the physical connection quietly.
+     */
+    void closePhysically() {
+        statementCache.close();
+
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // The connection is discarded anyway.
+        }
+    }
+
+    /**
+     * Marks the connection as borrowed by the current thread.
+     * @param borrowTrace the stack trace of the borrowing place, or {@code null} if leak detection is disabled.
+     */
+    synchronized void markBorrowed(Throwable borrowTrace) {
+        this.borrowedAt = System.currentTimeMillis();
+        this.borrower = Thread.currentThread();
+        this.borrowTrace = borrowTrace;
+        this.leakReported = false;
+    }
+
+    /**
+     * Marks the connection as returned to the pool.
+     */
+    synchronized void markReturned() {
+        this.lastUsedAt = System.currentTimeMillis();
+        this.borrower = null;
+        this.borrowTrace = null;
+        this.openedStatements.clear();
+    }
+
+    /**
+     * Gets the time of the last return of the connection to the pool.
+     * @return the time in milliseconds.
+     */
+    long getLastUsedAt() {
+        return lastUsedAt;
+    }
+
+    /**
+     * Gets the time the connection was borrowed from the pool.
+     * @return the time in milliseconds.
+     */
+    long getBorrowedAt() {
+        return borrowedAt;
+    }
+
+    /**
+     * Gets the stack trace of the borrowing place.
+     * @return the stack trace, or {@code null} if leak detection is disabled.
+     */
+    Throwable getBorrowTrace() {
+        return borrowTrace;
+    }
+
+    /**
+     * Checks whether the connection has already been reported as leaked.
+     * @return {@code true} if the leak was reported, {@code false} otherwise.
+     */
+    boolean isLeakReported() {
+        return leakReported;
+    }
+
+    /**
+     * Sets whether the connection has been reported as leaked.
+     * @param leakReported {@code true} if the leak was reported, {@code false} otherwise.
+     */
+    void setLeakReported(boolean leakReported) {
+        this.leakReported = leakReported;
+    }
+}
@@ -0,0 +1,16 @@
+package applications.database_console_application;
+
+
+/**
+ * Listener of the progress of a long operation such as an import or an export.
+ * It is called on the thread running the operation.
+ */
+@FunctionalInterface
+public interface ProgressListener {
+    /**
+     * Receives the progress of the operation.
+     * @param workDone the amount of work done;
+     * @param totalWork the total amount of work, or {@code -1} if it is not known.
+     */
+    void progress(long workDone, long totalWork);
+}
@@ -0,0 +1,107 @@
+package applications.database_console_application;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Cache of query results tagged with the version of the table they were read from.
+ * A result is returned only while the version of the table is unchanged,
+ * so results become stale as soon as a write to the table increments its version.
+ * The version must be read before the query is executed and incremented after the write is committed,
+ * so a result read concurrently with a write is never returned with the version following the write.
+ * @param <K> the type of the keys identifying the queries;
+ * @param <V> the type of the query results.
+ */
+public class QueryResultCache<K, V> {
+    /**
+     * A query result with the version of the table it was read from.
+     * @param <V> the type of the query result.
+     */
+    private static class Entry<V> {
+        /**
+         * The version of the table the result was read from.
+         */
+        private final long version;
+
+        /**
+         * The query result.
+         */
+        private final V value;
+
+        /**
+         * The constructor initialises the entry with the specified values.
+         * @param version the version of the table the result was read from;
+         * @param value the query result.
+         */
+        private Entry(long version, V value) {
+            this.version = version;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Cached query results by query key.
+     */
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Counters of cache hits and misses.
+     */
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Gets the cached result of the query if it was read from the current version of the table.
+     * @param key the key of the query;
+     * @param version the current version of the table;
+     * @return the cached result, or {@code null} if it is missing or stale.
+     */
+    public V get(K key, long version) {
+        Entry<V> entry = entries.get(key);
+
+        if (entry == null || entry.version != version) {
+            misses.incrementAndGet();
+            return null;
+        }
+
+        hits.incrementAndGet();
+
+        return entry.value;
+    }
+
+    /**
+     * Puts the result of the query into the cache, unless a result of a newer version is already cached.
+     * @param key the key of the query;
+     * @param version the version of the table read before the query was executed;
+     * @param value the query result.
+     */
+    public void put(K key, long version, V value) {
+        entries.merge(key, new Entry<>(version, value),
+                (cached, added) -> cached.version > added.version ? cached : added);
+    }
+
+    /**
+     * Removes all results from the cache.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Gets the number of queries answered from the cache.
+     * @return the number of cache hits.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of queries executed because their result was missing or stale.
+     * @return the number of cache misses.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+}
@@ -0,0 +1,102 @@
+package applications.database_console_application;
+
+
+/**
+ * Aggregate statistics of the ridership of Operating Hours retrieved from the database with one query.
+ * The total, minimum, maximum and average are {@code null} if there are no Hours.
+ */
+public class RidershipStatistics {
+    /**
+     * The total ridership of the Hours, or {@code null} if there are no Hours.
+     */
+    private final Long total;
+
+    /**
+     * The number of the Hours.
+     */
+    private final long count;
+
+    /**
+     * The minimum ridership of the Hours, or {@code null} if there are no Hours.
+     */
+    private final Integer min;
+
+    /**
+     * The maximum ridership of the Hours, or {@code null} if there are no Hours.
+     */
+    private final Integer max;
+
+    /**
+     * The average ridership of the Hours, or {@code null} if there are no Hours.
+     */
+    private final Double average;
+
+    /**
+     * The constructor initialises the statistics with the specified values.
+     * @param total the total ridership of the Hours, or {@code null} if there are no Hours;
+     * @param count the number of the Hours;
+     * @param min the minimum ridership of the Hours, or {@code null} if there are no Hours;
+     * @param max the maximum ridership of the Hours, or {@code null} if there are no Hours;
+     * @param average the average ridership of the Hours, or {@code null} if there are no Hours.
+     */
+    public RidershipStatistics(Long total, long count, Integer min, Integer max, Double average) {
+        this.total = total;
+        this.count = count;
+        this.min = min;
+        this.max = max;
+        this.average = average;
+    }
+
+    /**
+     * Gets the total ridership of the Hours.
+     * @return the total ridership, or {@code null} if there are no Hours.
+     */
+    public Long getTotal() {
+        return total;
+    }
+
+    /**
+     * Gets the number of the Hours.
+     * @return the number of the Hours.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the minimum ridership of the Hours.
+     * @return the minimum ridership, or {@code null} if there are no Hours.
+     */
+    public Integer getMin() {
+        return min;
+    }
+
+    /**
+     * Gets the maximum ridership of the Hours.
+     * @return the maximum ridership, or {@code null} if there are no Hours.
+     */
+    public Integer getMax() {
+        return max;
+    }
+
+    /**
+     * Gets the average ridership of the Hours.
+     * @return the average ridership, or {@code null} if there are no Hours.
+     */
+    public Double getAverage() {
+        return average;
+    }
+
+    /**
+     * Creates a string representation of the statistics.
+     * @return a string representation of the statistics.
+     */
+    @Override
+    public String toString() {
+        return "Total: " + total +
+                "\tCount: " + count +
+                "\tMin: " + min +
+                "\tMax: " + max +
+                "\tAverage: " + (average == null ? null : String.format("%.2f", average));
+    }
+}
@@ -0,0 +1,512 @@
+package applications.database_console_application;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+
+/**
+ * Versioned migrations of the database schema.
+ * The version of the schema is stored in the {@code schema_version} table, and only the migrations
+ * with a higher version are applied, so starting with an up-to-date database runs no DDL statements.
+ * Each migration is a fixed set of changes to the schema of the previous version.
+ * A change is applied only if {@code information_schema} shows that the table, column or index
+ * it creates or drops is not yet in that state, so the migrations also upgrade databases
+ * created before the version table was introduced.
+ * Migrations are applied under a named database lock, so application instances started together
+ * apply each migration once.
+ */
+public class SchemaMigrations {
+    /**
+     * Logger for logging applied migrations.
+     */
+    private static Logger logger = LogManager.getLogger(SchemaMigrations.class);
+
+    /**
+     * A change of the schema applied if a table, column or index is missing or exists.
+     */
+    private static class Step {
+        /**
+         * The table checked before the change, or {@code null} if the statement is always executed.
+         */
+        private final String table;
+
+        /**
+         * The column checked before the change, or {@code null} if an index is checked.
+         */
+        private final String column;
+
+        /**
+         * The index checked before the change, or {@code null} if a column is checked.
+         */
+        private final String index;
+
+        /**
+         * {@code true} if the change is applied when the column or index is missing,
+         * {@code false} if it is applied when it exists.
+         */
+        private final boolean add;
+
+        /**
+         * The statement of the change.
+         */
+        private final String statement;
+
+        /**
+         * The change applied instead if the statement fails because of duplicate data, or {@code null}.
+         */
+        private final Step fallback;
+
+        /**
+         * The constructor initialises the step with the specified values.
+         * @param table the checked table, or {@code null} if the statement is always executed;
+         * @param column the checked column, or {@code null};
+         * @param index the checked index, or {@code null};
+         * @param add whether the change is applied when the column or index is missing;
+         * @param statement the statement of the change;
+         * @param fallback the change applied if the statement fails because of duplicate data, or {@code null}.
+         */
+        private Step(String table, String column, String index, boolean add, String statement, Step fallback) {
+            this.table = table;
+            this.column = column;
+            this.index = index;
+            this.add = add;
+            this.statement = statement;
+            this.fallback = fallback;
+        }
+    }
+
+    /**
+     * A migration of the schema to a version.
+     */
+    private static class Migration {
+        /**
+         * The version of the schema after the migration.
+         */
+        private final int version;
+
+        /**
+         * The description of the migration.
+         */
+        private final String description;
+
+        /**
+         * The changes of the migration.
+         */
+        private final Step[] steps;
+
+        /**
+         * The constructor initialises the migration with the specified values.
+         * @param version the version of the schema after the migration;
+         * @param description the description of the migration;
+         * @param steps the changes of the migration.
+         */
+        private Migration(int version, String description, Step... steps) {
+            this.version = version;
+            this.description = description;
+            this.steps = steps;
+        }
+    }
+
+    /**
+     * MySQL error code of a duplicate entry for a unique index.
+     */
+    private static final int DUPLICATE_ENTRY_ERROR = 1062;
+
+    /**
+     * MySQL error codes of a missing database (1049) and a missing table (1146).
+     */
+    private static final Set<Integer> MISSING_SCHEMA_ERRORS = Set.of(1049, 1146);
+
+    /**
+     * The name of the database lock held while migrations are applied.
+     */
+    private static final String MIGRATION_LOCK_NAME = "metroStationsDB.schema_migrations";
+
+    /**
+     * The time to wait for the migrations applied by another application instance, in seconds.
+     */
+    private static final int MIGRATION_LOCK_TIMEOUT_SECONDS = 60;
+
+    /**
+     * Constants containing necessary SQL queries.
+     */
+    private static final String CREATE_DATABASE_IF_NOT_EXISTS = """
+            CREATE DATABASE IF NOT EXISTS metroStationsDB;
+            """;
+    private static final String CREATE_TABLE_SCHEMA_VERSION = """
+            CREATE TABLE IF NOT EXISTS metroStationsDB.schema_version (
+              Version INT NOT NULL,
+              Description VARCHAR(256) NULL,
+              AppliedAt TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+              PRIMARY KEY (Version));
+            """;
+    private static final String SELECT_SCHEMA_VERSION = """
+            SELECT COALESCE(MAX(Version), 0)
+            FROM metroStationsDB.schema_version;
+            """;
+    private static final String INSERT_INTO_SCHEMA_VERSION = """
+            INSERT INTO metroStationsDB.schema_version (Version, Description)
+            VALUES (?, ?);
+            """;
+    private static final String GET_MIGRATION_LOCK = """
+            SELECT GET_LOCK(?, ?);
+            """;
+    private static final String RELEASE_MIGRATION_LOCK = """
+            SELECT RELEASE_LOCK(?);
+            """;
+    private static final String COUNT_COLUMNS = """
+            SELECT COUNT(*)
+            FROM information_schema.COLUMNS
+            WHERE TABLE_SCHEMA = 'metroStationsDB' AND TABLE_NAME = ? AND COLUMN_NAME = ?;
+            """;
+    private static final String COUNT_INDEX_COLUMNS = """
+            SELECT COUNT(*)
+            FROM information_schema.STATISTICS
+            WHERE TABLE_SCHEMA = 'metroStationsDB' AND TABLE_NAME = ? AND INDEX_NAME = ?;
+            """;
+    private static final String SET_FULLTEXT_STOPWORDS_OFF = """
+            SET SESSION innodb_ft_enable_stopword = OFF;
+            """;
+    private static final String SET_FULLTEXT_STOPWORDS_DEFAULT = """
+            SET SESSION innodb_ft_enable_stopword = DEFAULT;
+            """;
+    private static final String CREATE_TABLE_METROSTATIONS_V1 = """
+            CREATE TABLE IF NOT EXISTS metroStationsDB.metroStations (
+              MetroStationID INT NOT NULL AUTO_INCREMENT,
+              Name VARCHAR(128) NULL,
+              Opened INT NULL,
+              PRIMARY KEY (MetroStationID));
+            """;
+    private static final String CREATE_TABLE_HOURS_V1 = """
+            CREATE TABLE IF NOT EXISTS metroStationsDB.hours (
+              HourID INT NOT NULL AUTO_INCREMENT,
+              Ridership INT NULL,
+              Comment VARCHAR(256) NULL,
+              MetroStationID INT NULL,
+              PRIMARY KEY (HourID),
+              INDEX MetroStationID_idx (MetroStationID ASC) VISIBLE,
+              CONSTRAINT MetroStationID
+                FOREIGN KEY (MetroStationID)
+                REFERENCES metroStationsDB.metroStations (MetroStationID)
+                ON DELETE NO ACTION
+                ON UPDATE NO ACTION);
+            """;
+    private static final String ALTER_TABLE_HOURS_DROP_COMMENT_FULLTEXT = """
+            ALTER TABLE metroStationsDB.hours
+              DROP INDEX Comment_ft;
+            """;
+    private static final String ALTER_TABLE_HOURS_ADD_COMMENT_FULLTEXT = """
+            ALTER TABLE metroStationsDB.hours
+              ADD FULLTEXT INDEX Comment_ft (Comment);
+            """;
+    private static final String ALTER_TABLE_HOURS_ADD_COMMENT_LENGTH = """
+            ALTER TABLE metroStationsDB.hours
+              ADD COLUMN CommentLength INT GENERATED ALWAYS AS (COALESCE(CHAR_LENGTH(Comment), 0)) STORED,
+              ADD INDEX CommentLength_idx (CommentLength ASC) VISIBLE;
+            """;
+    private static final String ALTER_TABLE_HOURS_ADD_COMMENT_WORD_COUNT = """
+            ALTER TABLE metroStationsDB.hours
+              ADD COLUMN CommentWordCount INT GENERATED ALWAYS AS (LENGTH(Comment) - LENGTH(REPLACE(Comment, ' ', '')) + 1) STORED,
+              ADD INDEX CommentWordCount_idx (CommentWordCount ASC) VISIBLE;
+            """;
+    private static final String ALTER_TABLE_HOURS_ADD_METROSTATIONID_RIDERSHIP = """
+            ALTER TABLE metroStationsDB.hours
+              ADD INDEX MetroStationID_Ridership_idx (MetroStationID ASC, Ridership ASC) VISIBLE;
+            """;
+    private static final String ALTER_TABLE_HOURS_DROP_METROSTATIONID = """
+            ALTER TABLE metroStationsDB.hours
+              DROP INDEX MetroStationID_idx;
+            """;
+    private static final String ALTER_TABLE_HOURS_ADD_RIDERSHIP = """
+            ALTER TABLE metroStationsDB.hours
+              ADD INDEX Ridership_idx (Ridership ASC) VISIBLE;
+            """;
+    private static final String ALTER_TABLE_METROSTATIONS_ADD_UNIQUE_NAME = """
+            ALTER TABLE metroStationsDB.metroStations
+              ADD UNIQUE INDEX Name_UNIQUE (Name ASC) VISIBLE;
+            """;
+    private static final String ALTER_TABLE_METROSTATIONS_ADD_NAME = """
+            ALTER TABLE metroStationsDB.metroStations
+              ADD INDEX Name_idx (Name ASC) VISIBLE;
+            """;
+    private static final String UPDATE_HOURS_SET_NULL_RIDERSHIP = """
+            UPDATE metroStationsDB.hours
+            SET Ridership = 0
+            WHERE Ridership IS NULL;
+            """;
+    private static final String ALTER_TABLE_HOURS_MODIFY_RIDERSHIP_NOT_NULL = """
+            ALTER TABLE metroStationsDB.hours
+              MODIFY COLUMN Ridership INT NOT NULL DEFAULT 0;
+            """;
+    private static final String UPDATE_METROSTATIONS_SET_NULL_OPENED = """
+            UPDATE metroStationsDB.metroStations
+            SET Opened = 0
+            WHERE Opened IS NULL;
+            """;
+    private static final String ALTER_TABLE_METROSTATIONS_MODIFY_OPENED_NOT_NULL = """
+            ALTER TABLE metroStationsDB.metroStations
+              MODIFY COLUMN Opened INT NOT NULL DEFAULT 0;
+            """;
+
+    /**
+     * Migrations of the schema in the order of their versions.
+     * The first migration creates the tables in the structure of the first version of the application,
+     * the next ones upgrade them step by step, so every version has the same schema
+     * however the database was created.
+     */
+    private static final Migration[] MIGRATIONS = {
+            new Migration(1, "Create tables",
+                    always(CREATE_TABLE_METROSTATIONS_V1),
+                    always(CREATE_TABLE_HOURS_V1)),
+            new Migration(2, "Add full-text index of comments",
+                    addIndex("hours", "Comment_ft", ALTER_TABLE_HOURS_ADD_COMMENT_FULLTEXT)),
+            new Migration(3, "Add generated comment length and word count columns",
+                    addColumn("hours", "CommentLength", ALTER_TABLE_HOURS_ADD_COMMENT_LENGTH),
+                    addColumn("hours", "CommentWordCount", ALTER_TABLE_HOURS_ADD_COMMENT_WORD_COUNT)),
+            new Migration(4, "Add indexes of Metro Station names and ridership",
+                    addIndex("hours", "MetroStationID_Ridership_idx", ALTER_TABLE_HOURS_ADD_METROSTATIONID_RIDERSHIP),
+                    dropIndex("hours", "MetroStationID_idx", ALTER_TABLE_HOURS_DROP_METROSTATIONID),
+                    addIndex("hours", "Ridership_idx", ALTER_TABLE_HOURS_ADD_RIDERSHIP),
+                    new Step("metroStations", null, "Name_UNIQUE", true, ALTER_TABLE_METROSTATIONS_ADD_UNIQUE_NAME,
+                            addIndex("metroStations", "Name_idx", ALTER_TABLE_METROSTATIONS_ADD_NAME))),
+            new Migration(5, "Rebuild full-text index of comments without stopwords",
+                    dropIndex("hours", "Comment_ft", ALTER_TABLE_HOURS_DROP_COMMENT_FULLTEXT),
+                    addIndex("hours", "Comment_ft", ALTER_TABLE_HOURS_ADD_COMMENT_FULLTEXT)),
+            new Migration(6, "Make ridership and opening years not null",
+                    always(UPDATE_HOURS_SET_NULL_RIDERSHIP),
+                    always(ALTER_TABLE_HOURS_MODIFY_RIDERSHIP_NOT_NULL),
+                    always(UPDATE_METROSTATIONS_SET_NULL_OPENED),
+                    always(ALTER_TABLE_METROSTATIONS_MODIFY_OPENED_NOT_NULL))
+    };
+
+    /**
+     * The version of the schema after all migrations.
+     */
+    public static final int LATEST_VERSION = MIGRATIONS[MIGRATIONS.length - 1].version;
+
+    /**
+     * Sets the logger to be used for logging migrations.
+     * @param logger The logger instance.
+     */
+    public static void setLogger(Logger logger) {
+        SchemaMigrations.logger = logger;
+    }
+
+    /**
+     * Applies all migrations with a version higher than the version of the database schema.
+     * Creates the database and the version table if they do not exist.
+     * The migrations are applied under a named database lock, and the version is read again
+     * after the lock is acquired, so migrations applied meanwhile by another instance are skipped.
+     * Full-text indexes are created with the InnoDB stopword list disabled,
+     * so words such as "with" or "the" are indexed and found by full-text searches.
+     * @param connection the borrowed connection;
+     * @return the number of applied migrations;
+     * @throws SQLException an exception related to a SQL query error or a timeout waiting for the lock.
+     */
+    public static int migrate(PooledConnection connection) throws SQLException {
+        if (getVersion(connection) >= LATEST_VERSION) {
+            return 0;
+        }
+
+        lock(connection);
+
+        try {
+            return applyMigrations(connection, getVersion(connection));
+        } finally {
+            unlock(connection);
+        }
+    }
+
+    /**
+     * Gets the version of the database schema.
+     * @param connection the borrowed connection;
+     * @return the version, {@code 0} if no migrations are applied,
+     * or {@code -1} if the database or the version table does not exist;
+     * @throws SQLException an exception related to a SQL query error.
+     */
+    public static int getVersion(PooledConnection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(SELECT_SCHEMA_VERSION)) {
+            return resultSet.next() ? resultSet.getInt(1) : 0;
+        } catch (SQLException e) {
+            if (MISSING_SCHEMA_ERRORS.contains(e.getErrorCode())) {
+                return -1;
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Applies the migrations with a version higher than the current version.
+     * @param connection the borrowed connection holding the migration lock;
+     * @param currentVersion the version of the database schema;
+     * @return the number of applied migrations;
+     * @throws SQLException an exception related to a SQL query error.
+     */
+    private static int applyMigrations(PooledConnection connection, int currentVersion) throws SQLException {
+        if (currentVersion >= LATEST_VERSION) {
+            return 0;
+        }
+
+        int applied = 0;
+
+        try (Statement statement = connection.createStatement()) {
+            if (currentVersion < 0) {
+                statement.executeUpdate(CREATE_DATABASE_IF_NOT_EXISTS);
+                statement.executeUpdate(CREATE_TABLE_SCHEMA_VERSION);
+            }
+
+            statement.executeUpdate(SET_FULLTEXT_STOPWORDS_OFF);
+
+            try {
+                for (Migration migration : MIGRATIONS) {
+                    if (migration.version <= currentVersion) {
+                        continue;
+                    }
+
+                    for (Step step : migration.steps) {
+                        execute(connection, statement, step);
+                    }
+
+                    try (PreparedStatement preparedStatement = connection.prepareStatement(INSERT_INTO_SCHEMA_VERSION)) {
+                        preparedStatement.setInt(1, migration.version);
+                        preparedStatement.setString(2, migration.description);
+                        preparedStatement.executeUpdate();
+                    }
+
+                    applied++;
+                    logger.info("Schema migrated to version " + migration.version + ": " + migration.description);
+                }
+            } finally {
+                statement.executeUpdate(SET_FULLTEXT_STOPWORDS_DEFAULT);
+            }
+        }
+
+        return applied;
+    }
+
+    /**
+     * Executes the change of a migration if the schema is not yet in the state it creates.
+     * If the change fails because of duplicate data and has a fallback change, the fallback change is executed.
+     * @param connection the borrowed connection;
+     * @param statement the statement object used for execution;
+     * @param step the change;
+     * @throws SQLException an exception related to a SQL query error.
+     */
+    private static void execute(PooledConnection connection, Statement statement, Step step) throws SQLException {
+        if (step.table != null && exists(connection, step) == step.add) {
+            return;
+        }
+
+        try {
+            statement.executeUpdate(step.statement);
+        } catch (SQLException e) {
+            if (e.getErrorCode() == DUPLICATE_ENTRY_ERROR && step.fallback != null) {
+                logger.warn("Migration statement failed because of duplicate data, fallback applied: " + e.getMessage());
+                execute(connection, statement, step.fallback);
+                return;
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Checks in {@code information_schema} whether the column or index of the change exists.
+     * @param connection the borrowed connection;
+     * @param step the change;
+     * @return {@code true} if the column or index exists, {@code false} otherwise;
+     * @throws SQLException an exception related to a SQL query error.
+     */
+    private static boolean exists(PooledConnection connection, Step step) throws SQLException {
+        try (PreparedStatement preparedStatement =
+                     connection.prepareStatement(step.column != null ? COUNT_COLUMNS : COUNT_INDEX_COLUMNS)) {
+            preparedStatement.setString(1, step.table);
+            preparedStatement.setString(2, step.column != null ? step.column : step.index);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next() && resultSet.getInt(1) > 0;
+            }
+        }
+    }
+
+    /**
+     * Acquires the named database lock of migrations for the connection.
+     * @param connection the borrowed connection;
+     * @throws SQLException an exception related to a SQL query error or a timeout waiting for the lock.
+     */
+    private static void lock(PooledConnection connection) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(GET_MIGRATION_LOCK)) {
+            preparedStatement.setString(1, MIGRATION_LOCK_NAME);
+            preparedStatement.setInt(2, MIGRATION_LOCK_TIMEOUT_SECONDS);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                if (!resultSet.next() || resultSet.getInt(1) != 1) {
+                    throw new SQLException("Timeout of " + MIGRATION_LOCK_TIMEOUT_SECONDS
+                            + " s waiting for the schema migrations of another application instance");
+                }
+            }
+        }
+    }
+
+    /**
+     * Releases the named database lock of migrations held by the connection.
+     * @param connection the borrowed connection;
+     * @throws SQLException an exception related to a SQL query error.
+     */
+    private static void unlock(PooledConnection connection) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(RELEASE_MIGRATION_LOCK)) {
+            preparedStatement.setString(1, MIGRATION_LOCK_NAME);
+            preparedStatement.executeQuery().close();
+        }
+    }
+
+    /**
+     * Creates the change executed without checking the schema, for statements that check it themselves.
+     * @param statement the statement of the change;
+     * @return the change.
+     */
+    private static Step always(String statement) {
+        return new Step(null, null, null, true, statement, null);
+    }
+
+    /**
+     * Creates the change adding a column if the table does not have it.
+     * @param table the table;
+     * @param column the added column;
+     * @param statement the statement adding the column;
+     * @return the change.
+     */
+    private static Step addColumn(String table, String column, String statement) {
+        return new Step(table, column, null, true, statement, null);
+    }
+
+    /**
+     * Creates the change adding an index if the table does not have it.
+     * @param table the table;
+     * @param index the added index;
+     * @param statement the statement adding the index;
+     * @return the change.
+     */
+    private static Step addIndex(String table, String index, String statement) {
+        return new Step(table, null, index, true, statement, null);
+    }
+
+    /**
+     * Creates the change dropping an index if the table has it.
+     * @param table the table;
+     * @param index the dropped index;
+     * @param statement the statement dropping the index;
+     * @return the change.
+     */
+    private static Step dropIndex(String table, String index, String statement) {
+        return new Step(table, null, index, false, statement, null);
+    }
+}
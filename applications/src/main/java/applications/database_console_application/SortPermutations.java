@@ -0,0 +1,70 @@
+package applications.database_console_application;
+
+import applications.console_application.IntKeySort;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+
+/**
+ * Computation of sort orders of snapshot rows as permutations of row positions.
+ * Sorting is stable: rows with equal keys keep the order of their positions in both directions.
+ */
+final class SortPermutations {
+    /**
+     * The utility class is not instantiated.
+     */
+    private SortPermutations() {}
+
+    /**
+     * Creates the identity permutation.
+     * @param size the number of rows;
+     * @return the array of row positions in their original order.
+     */
+    static int[] identity(int size) {
+        int[] permutation = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            permutation[i] = i;
+        }
+
+        return permutation;
+    }
+
+    /**
+     * Sorts row positions by integer keys with the linear-time stable sort of {@link IntKeySort},
+     * the same sort used by the metro stations of the console application.
+     * @param keys the keys of the rows;
+     * @param size the number of rows;
+     * @param descending {@code true} to sort in descending order of the keys;
+     * @return the array of row positions in the order of their keys.
+     */
+    static int[] byIntKey(int[] keys, int size, boolean descending) {
+        return IntKeySort.sortIndices(keys, size, descending);
+    }
+
+    /**
+     * Sorts row positions with a comparator of rows using a stable merge sort.
+     * @param size the number of rows;
+     * @param comparator the comparator of row positions;
+     * @param descending {@code true} to sort in descending order;
+     * @return the array of row positions in the order defined by the comparator.
+     */
+    static int[] byComparator(int size, Comparator<Integer> comparator, boolean descending) {
+        Integer[] rows = new Integer[size];
+
+        for (int i = 0; i < size; i++) {
+            rows[i] = i;
+        }
+
+        Arrays.sort(rows, descending ? comparator.reversed() : comparator);
+
+        int[] permutation = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            permutation[i] = rows[i];
+        }
+
+        return permutation;
+    }
+}
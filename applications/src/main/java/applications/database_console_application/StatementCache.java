@@ -0,0 +1,254 @@
+package applications.database_console_application;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Cache of prepared statements of one {@link PooledConnection} keyed by SQL text.
+ * Statements are handed out as proxies: closing a proxy returns the statement to the cache
+ * instead of closing it, so the statement is reused by the next call with the same SQL.
+ * The number of cached statements is bounded, the least recently used statement is closed when the bound is exceeded.
+ */
+class StatementCache {
+    /**
+     * The default maximum number of cached statements per connection.
+     */
+    static final int DEFAULT_MAX_SIZE = 50;
+
+    /**
+     * The physical connection the statements are prepared on.
+     */
+    private final Connection connection;
+
+    /**
+     * The maximum number of cached statements.
+     */
+    private final int maxSize;
+
+    /**
+     * Statements available for reuse, the least recently used first.
+     * A statement is removed from the map while it is in use.
+     */
+    private final Map<String, PreparedStatement> statements;
+
+    /**
+     * Counters of cache hits, misses and evictions.
+     */
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * The constructor initialises the cache with the specified values.
+     * @param connection the physical connection the statements are prepared on;
+     * @param maxSize the maximum number of cached statements, or {@code 0} to disable caching.
+     */
+    StatementCache(Connection connection, int maxSize) {
+        this.connection = connection;
+        this.maxSize = maxSize;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > StatementCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Gets a prepared statement for the SQL text from the cache or prepares a new one.
+     * The returned statement must be closed by the caller to return it to the cache.
+     * @param sql the SQL statement;
+     * @param autoGeneratedKeys a flag indicating whether auto-generated keys should be returned;
+     * @return the {@link PreparedStatement} object;
+     * @throws SQLException an exception related to a SQL query error.
+     */
+    synchronized PreparedStatement prepare(String sql, int autoGeneratedKeys) throws SQLException {
+        String key = autoGeneratedKeys + ":" + sql;
+        PreparedStatement statement = statements.remove(key);
+
+        if (statement != null && !statement.isClosed()) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            statement = connection.prepareStatement(sql, autoGeneratedKeys);
+        }
+
+        return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[] {PreparedStatement.class},
+                new CachedStatementHandler(key, statement));
+    }
+
+    /**
+     * Returns the statement to the cache after its use.
+     * The parameters, the batch and the per-call limits of the statement are reset, so the next borrower
+     * does not inherit a maximum number of rows, a fetch size or a query timeout set by the previous one.
+     * The statement is closed if another statement with the same SQL text has already been returned.
+     * @param key the key of the statement;
+     * @param statement the statement to be returned.
+     */
+    private synchronized void release(String key, PreparedStatement statement) {
+        try {
+            if (statement.isClosed()) {
+                return;
+            }
+
+            statement.clearParameters();
+            statement.clearBatch();
+            statement.setMaxRows(0);
+            statement.setFetchSize(0);
+            statement.setQueryTimeout(0);
+        } catch (SQLException e) {
+            closeQuietly(statement);
+            return;
+        }
+
+        if (statements.containsKey(key)) {
+            closeQuietly(statement);
+        } else {
+            statements.put(key, statement);
+        }
+    }
+
+    /**
+     * Closes all cached statements.
+     */
+    synchronized void close() {
+        Iterator<PreparedStatement> iterator = statements.values().iterator();
+
+        while (iterator.hasNext()) {
+            closeQuietly(iterator.next());
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Gets the number of statements taken from the cache.
+     * @return the number of cache hits.
+     */
+    long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of statements prepared because they were not found in the cache.
+     * @return the number of cache misses.
+     */
+    long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the number of statements closed to keep the cache within its maximum size.
+     * @return the number of evictions.
+     */
+    long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * Gets the number of statements currently available in the cache.
+     * @return the number of cached statements.
+     */
+    synchronized int size() {
+        return statements.size();
+    }
+
+    /**
+     * Closes the statement quietly.
+     * @param statement the statement to be closed.
+     */
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+            // The statement is discarded anyway.
+        }
+    }
+
+    /**
+     * Handler of the proxy of a cached statement, which returns the statement to the cache on close.
+     */
+    private class CachedStatementHandler implements InvocationHandler {
+        /**
+         * The key of the statement in the cache.
+         */
+        private final String key;
+
+        /**
+         * The cached statement.
+         */
+        private final PreparedStatement statement;
+
+        /**
+         * Whether the proxy has been closed.
+         */
+        private boolean closed;
+
+        /**
+         * The constructor initialises the handler with the specified values.
+         * @param key the key of the statement in the cache;
+         * @param statement the cached statement.
+         */
+        CachedStatementHandler(String key, PreparedStatement statement) {
+            this.key = key;
+            this.statement = statement;
+        }
+
+        /**
+         * Returns the statement to the cache on close and delegates all other calls to the statement.
+         * @param proxy the proxy instance;
+         * @param method the invoked method;
+         * @param args the arguments of the method;
+         * @return the result of the method;
+         * @throws Throwable an exception thrown by the statement.
+         */
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        release(key, statement);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || statement.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Cached " + statement;
+                default:
+                    break;
+            }
+
+            if (closed) {
+                throw new SQLException("Statement is closed");
+            }
+
+            try {
+                return method.invoke(statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
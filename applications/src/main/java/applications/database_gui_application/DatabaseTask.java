@@ -0,0 +1,149 @@
+package applications.database_gui_application;
+
+import applications.database_console_application.DBUtilsAsync;
+import applications.database_console_application.ProgressListener;
+import javafx.concurrent.Task;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+
+/**
+ * JavaFX task running a database operation in the background, so the JavaFX Application Thread is not blocked.
+ * The task is run by {@link DBUtilsAsync}, which bounds the number of operations using the database at the same time.
+ * Its progress, result and exception are published to the JavaFX Application Thread by the {@link Task} class,
+ * so the handlers set with {@link #onSucceeded(Consumer)} and {@link #onFailed(Consumer)} may update the UI.
+ * Cancelling the task cancels the statements being executed by the operation and interrupts it.
+ * @param <T> the type of the result of the operation.
+ */
+public class DatabaseTask<T> extends Task<T> {
+    /**
+     * Database operation run by the task.
+     * @param <T> the type of the result of the operation.
+     */
+    @FunctionalInterface
+    public interface Operation<T> {
+        /**
+         * Runs the operation.
+         * @param progressListener the listener updating the progress of the task;
+         * @return the result of the operation;
+         * @throws Exception an exception of the operation.
+         */
+        T run(ProgressListener progressListener) throws Exception;
+    }
+
+    /**
+     * Database operation publishing partial results while it runs.
+     * @param <T> the type of the result of the operation.
+     */
+    @FunctionalInterface
+    public interface PartialResultOperation<T> {
+        /**
+         * Runs the operation.
+         * @param partialResults the consumer of the partial results of the operation, each replacing the previous one;
+         * @return the result of the operation;
+         * @throws Exception an exception of the operation.
+         */
+        T run(Consumer<T> partialResults) throws Exception;
+    }
+
+    /**
+     * The operation run by the task.
+     */
+    private final Operation<T> operation;
+
+    /**
+     * The future of the running task, or {@code null} if the task is not started.
+     */
+    private volatile CompletableFuture<Void> future;
+
+    /**
+     * The constructor initialises the task with the specified values.
+     * @param title the title of the task shown while it runs;
+     * @param operation the operation run by the task.
+     */
+    public DatabaseTask(String title, Operation<T> operation) {
+        this.operation = operation;
+        updateTitle(title);
+    }
+
+    /**
+     * The constructor initialises the task publishing partial results with the specified values.
+     * Partial results are passed to the handler on the JavaFX Application Thread while the task runs,
+     * and those published faster than the handler is called are skipped, so only the latest one is handled.
+     * Partial results published after the task is cancelled are not handled.
+     * @param title the title of the task shown while it runs;
+     * @param operation the operation run by the task;
+     * @param partialResultHandler the handler of the partial results.
+     */
+    public DatabaseTask(String title, PartialResultOperation<T> operation, Consumer<T> partialResultHandler) {
+        this.operation = progressListener -> operation.run(this::updateValue);
+        updateTitle(title);
+
+        valueProperty().addListener((observable, oldValue, value) -> {
+            if (value != null && getState() == State.RUNNING) {
+                partialResultHandler.accept(value);
+            }
+        });
+    }
+
+    /**
+     * Runs the operation on the background thread.
+     * @return the result of the operation;
+     * @throws Exception an exception of the operation.
+     */
+    @Override
+    protected T call() throws Exception {
+        return operation.run((workDone, totalWork) -> {
+            if (totalWork > 0) {
+                updateProgress(workDone, totalWork);
+            }
+        });
+    }
+
+    /**
+     * Sets the handler of the result called on the JavaFX Application Thread when the operation succeeds.
+     * @param handler the handler of the result;
+     * @return this task.
+     */
+    public DatabaseTask<T> onSucceeded(Consumer<T> handler) {
+        setOnSucceeded(event -> handler.accept(getValue()));
+        return this;
+    }
+
+    /**
+     * Sets the handler of the exception called on the JavaFX Application Thread when the operation fails.
+     * @param handler the handler of the exception;
+     * @return this task.
+     */
+    public DatabaseTask<T> onFailed(Consumer<Throwable> handler) {
+        setOnFailed(event -> handler.accept(getException()));
+        return this;
+    }
+
+    /**
+     * Starts the task in the background.
+     * @return this task.
+     */
+    public DatabaseTask<T> start() {
+        future = DBUtilsAsync.runAsync(this);
+        return this;
+    }
+
+    /**
+     * Cancels the task, the statements being executed by the operation and interrupts the operation.
+     * @param mayInterruptIfRunning ignored, the running operation is always cancelled;
+     * @return {@code true} if the task was cancelled, {@code false} if it has already finished.
+     */
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        boolean cancelled = super.cancel(true);
+        CompletableFuture<Void> runningFuture = future;
+
+        if (cancelled && runningFuture != null) {
+            runningFuture.cancel(true);
+        }
+
+        return cancelled;
+    }
+}
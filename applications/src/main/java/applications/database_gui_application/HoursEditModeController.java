@@ -38,6 +38,11 @@ public class HoursEditModeController implements Initializable{
     private Stage stage;
     private String message;
 
+    /**
+     * The listener of the rows changed in the database, or {@code null}.
+     */
+    private TableChangeListener<HourForDB> tableChangeListener;
+
     /**
      * Enumeration to determine the edit mode types for "Hours" Table data.
      */
@@ -83,6 +88,15 @@ public class HoursEditModeController implements Initializable{
         this.stage = editStage;
     }
 
+    /**
+     * Sets the listener of the rows added, updated and removed in the database by this window,
+     * so the table of the main window is updated without reloading it.
+     * @param tableChangeListener The listener of the changed rows.
+     */
+    public void setTableChangeListener(TableChangeListener<HourForDB> tableChangeListener) {
+        this.tableChangeListener = tableChangeListener;
+    }
+
     /**
      * Closes the edit mode window.
      * @param event The action event that triggered this method.
@@ -106,26 +120,34 @@ public class HoursEditModeController implements Initializable{
             updateComment(event, Mode.ADD);
             updateMetroStationID(event, Mode.ADD);
 
-            long id = addHour(hour);
-
-            if (id > 0) {
-                message = "Hour added to the database";
-                showResult(message +": ",
-                        getHourByHourID(id)
-                                .toStringLines());
-            } else {
-                message = "Could not add the Hour to the database";
-                showError(message + ".");
-            }
-
-            logger.info(
-                    message + ":\n" +
-                    hourToString(
-                            getHourByHourID(id)));
+            HourForDB newHour = hour;
+
+            new DatabaseTask<>("Adding the Hour", progressListener -> {
+                checkMetroStationID(newHour.getMetroStationID());
+
+                return getHourByHourID(addHour(newHour));
+            })
+                    .onSucceeded(addedHour -> {
+                        if (addedHour.getId() > 0) {
+                            if (tableChangeListener != null) {
+                                tableChangeListener.rowAdded(addedHour);
+                            }
+
+                            message = "Hour added to the database";
+                            showResult(message +": ", addedHour.toStringLines());
+                        } else {
+                            message = "Could not add the Hour to the database";
+                            showError(message + ".");
+                        }
+
+                        logger.info(
+                                message + ":\n" +
+                                hourToString(addedHour));
+                    })
+                    .onFailed(e -> showFailure("Failed to add the Hour to the database.", e))
+                    .start();
         } catch (RuntimeException e) {
-            message = "Failed to add the Hour to the database.";
-            logger.error(message + "\n" + e);
-            showError(message, e.getMessage());
+            showFailure("Failed to add the Hour to the database.", e);
         }
     }
 
@@ -153,20 +175,9 @@ public class HoursEditModeController implements Initializable{
             hour = new HourForDB();
             updateHourID(event, Mode.EDIT);
 
-            HourForDB newHour = getHourByHourID(hour.getId());
-
-            if (newHour.getId() > 0) {
-                message = hourToString(newHour);
-            } else {
-                message = "Missing Hour.";
-            }
-
-            textAreaEditSearchResults.setText(message);
-            logger.info("Search for the Hour for the tab \"Edit\":\n" + message);
+            searchHourByID(hour.getId(), textAreaEditSearchResults, "Edit");
         } catch (RuntimeException e) {
-            message = "Failed Hour search for tab \"Edit\".";
-            logger.error(message + "\n" + e);
-            showError(message, e.getMessage());
+            showFailure("Failed Hour search for tab \"Edit\".", e);
         }
     }
 
@@ -183,25 +194,32 @@ public class HoursEditModeController implements Initializable{
             updateComment(event, Mode.EDIT);
             updateMetroStationID(event, Mode.EDIT);
 
-            if (updateHour(hour)) {
-                message = "Hour updated in the database to";
-                showResult(
-                        message + ": ",
-                        getHourByHourID(hour.getId())
-                                .toStringLines());
-            } else {
-                message = "Could not update the Hour data in the database";
-                showError(message + ".");
-            }
-
-            logger.info(
-                    message + ":\n" +
-                    hourToString(
-                            getHourByHourID(hour.getId())));
+            HourForDB newHour = hour;
+
+            new DatabaseTask<>("Updating the Hour", progressListener -> {
+                checkMetroStationID(newHour.getMetroStationID());
+
+                return updateHour(newHour) ? getHourByHourID(newHour.getId()) : null;
+            })
+                    .onSucceeded(updatedHour -> {
+                        if (updatedHour != null) {
+                            if (tableChangeListener != null) {
+                                tableChangeListener.rowUpdated(updatedHour);
+                            }
+
+                            message = "Hour updated in the database to";
+                            showResult(message + ": ", updatedHour.toStringLines());
+                            logger.info(message + ":\n" + hourToString(updatedHour));
+                        } else {
+                            message = "Could not update the Hour data in the database";
+                            showError(message + ".");
+                            logger.info(message + ".");
+                        }
+                    })
+                    .onFailed(e -> showFailure("Failed to update the Hour in the database.", e))
+                    .start();
         } catch (RuntimeException e) {
-            message = "Failed to update the Hour in the database.";
-            logger.error(message + "\n" + e);
-            showError(message, e.getMessage());
+            showFailure("Failed to update the Hour in the database.", e);
         }
     }
 
@@ -230,20 +248,9 @@ public class HoursEditModeController implements Initializable{
             hour = new HourForDB();
             updateHourID(event, Mode.REMOVE);
 
-            HourForDB newHour = getHourByHourID(hour.getId());
-
-            if (newHour.getId() > 0) {
-                message = hourToString(newHour);
-            } else {
-                message = "Missing Hour.";
-            }
-
-            textAreaRemoveSearchResults.setText(message);
-            logger.info("Search for the Hour for the tab \"Remove\":\n" + message);
+            searchHourByID(hour.getId(), textAreaRemoveSearchResults, "Remove");
         } catch (RuntimeException e) {
-            message = "Failed Hour search for tab \"Remove\".";
-            logger.error(message + "\n" + e);
-            showError(message, e.getMessage());
+            showFailure("Failed Hour search for tab \"Remove\".", e);
         }
     }
 
@@ -257,18 +264,27 @@ public class HoursEditModeController implements Initializable{
             hour = new HourForDB();
             updateHourID(event, Mode.REMOVE);
 
-            if (removeHourByHourID(hour.getId())) {
-                message = "Hour removed from the database.";
-            } else {
-                message = "Could not remove the Hour data from the database.";
-            }
-
-            logger.info(message);
-            showResult(message);
+            long hourID = hour.getId();
+
+            new DatabaseTask<>("Removing the Hour", progressListener -> removeHourByHourID(hourID))
+                    .onSucceeded(removed -> {
+                        if (removed) {
+                            if (tableChangeListener != null) {
+                                tableChangeListener.rowRemoved(hourID);
+                            }
+
+                            message = "Hour removed from the database.";
+                        } else {
+                            message = "Could not remove the Hour data from the database.";
+                        }
+
+                        logger.info(message);
+                        showResult(message);
+                    })
+                    .onFailed(e -> showFailure("Failed to remove the Hour from the database.", e))
+                    .start();
         } catch (RuntimeException e) {
-            message = "Failed to remove the Hour from the database.";
-            logger.error(message + "\n" + e);
-            showError(message, e.getMessage());
+            showFailure("Failed to remove the Hour from the database.", e);
         }
     }
 
@@ -283,6 +299,49 @@ public class HoursEditModeController implements Initializable{
         logger.info("The fields of the \"Remove\" tab are cleared");
     }
 
+    /**
+     * Searches for an hour by its ID in the background and displays it in the text area of the tab.
+     * @param hourID The ID of the hour.
+     * @param textArea The text area of the tab.
+     * @param tab The name of the tab.
+     */
+    private void searchHourByID(long hourID, TextArea textArea, String tab) {
+        new DatabaseTask<>("Searching for the Hour", progressListener -> getHourByHourID(hourID))
+                .onSucceeded(newHour -> {
+                    if (newHour.getId() > 0) {
+                        message = hourToString(newHour);
+                    } else {
+                        message = "Missing Hour.";
+                    }
+
+                    textArea.setText(message);
+                    logger.info("Search for the Hour for the tab \"" + tab + "\":\n" + message);
+                })
+                .onFailed(e -> showFailure("Failed Hour search for tab \"" + tab + "\".", e))
+                .start();
+    }
+
+    /**
+     * Checks that the metro station with the ID exists. Called on a background thread.
+     * @param metroStationID The ID of the metro station.
+     */
+    private static void checkMetroStationID(long metroStationID) {
+        if (getMetroStationByID(metroStationID).getId() <= 0) {
+            throw new IllegalArgumentException("Enter an existing ID for the \"MetroStationID\" field for the Hour.");
+        }
+    }
+
+    /**
+     * Logs and shows the error of a failed operation.
+     * @param message The message of the error.
+     * @param e The exception of the operation.
+     */
+    private void showFailure(String message, Throwable e) {
+        this.message = message;
+        logger.error(message + "\n" + e);
+        showError(message, e.getMessage());
+    }
+
     /**
      * Updates the hour ID based on the mode (EDIT or REMOVE).
      * @param event The action event that triggered this method.
@@ -369,6 +428,7 @@ public class HoursEditModeController implements Initializable{
 
     /**
      * Updates the metro station ID based on the mode (ADD or EDIT).
+     * Whether the metro station exists is checked by {@link #checkMetroStationID(long)} in the background.
      * @param event The action event that triggered this method.
      * @param mode  The mode indicating whether the metro station ID is for adding or editing.
      */
@@ -389,12 +449,8 @@ public class HoursEditModeController implements Initializable{
             }
 
             if (metroStationID > 0) {
-                if (getMetroStationByID(metroStationID).getId() > 0) {
-                    hour.setMetroStationID(metroStationID);
-                    logger.info(mode + " Hours: field Hour ID is set to \"" + hour.getMetroStationID() + "\"");
-                } else {
-                    throw new IllegalArgumentException("Enter an existing ID for the \"MetroStationID\" field for the Hour.");
-                }
+                hour.setMetroStationID(metroStationID);
+                logger.info(mode + " Hours: field Hour ID is set to \"" + hour.getMetroStationID() + "\"");
             } else {
                 throw new IllegalArgumentException("Enter a natural number for the \"MetroStationID\" field for the Hour.");
             }
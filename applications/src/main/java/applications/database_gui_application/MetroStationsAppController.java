@@ -7,16 +7,21 @@ import applications.database_console_application.HourForDB;
 import applications.database_console_application.MetroStationForDB;
 import applications.database_console_application.MetroStations;
 
+import javafx.animation.Animation;
+import javafx.animation.PauseTransition;
 import javafx.application.Platform;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.value.ObservableValue;
+import javafx.concurrent.Worker;
+import javafx.concurrent.WorkerStateEvent;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
-import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.util.Callback;
+import javafx.util.Duration;
 import javafx.stage.FileChooser;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
@@ -24,9 +29,17 @@ import javafx.stage.Stage;
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
+import java.text.Collator;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
 import java.util.ResourceBundle;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 
 import static applications.database_console_application.DBUtils.*;
 
@@ -39,19 +52,71 @@ public class MetroStationsAppController implements Initializable {
     @FXML private TextField textFieldSearchText;
     @FXML private TextField textFieldSearchMSName;
     @FXML private TextArea textAreaSearchResults;
+    @FXML private CheckBox checkBoxSearchAsYouType;
+    @FXML private Label labelSearchResultCount;
+    @FXML private Button buttonShowMoreResults;
+
+    /**
+     * The number of results of a search read and shown at once, so the text area stays usable with any number of results.
+     */
+    private static final int SEARCH_RESULT_PAGE_SIZE = 1000;
+
+    /**
+     * The pause after a keystroke in a search field during which the next keystrokes are collected
+     * into one search as you type. A keystroke after the pause is searched at once, and the keystrokes
+     * within the pause are searched once when it ends, which is longer than the usual time between keystrokes,
+     * so a word being typed is searched once instead of once per keystroke.
+     */
+    private static final Duration SEARCH_AS_YOU_TYPE_DELAY = Duration.millis(150);
+
+    /**
+     * The maximum number of results of a search as you type.
+     */
+    private static final int SEARCH_AS_YOU_TYPE_LIMIT = 100;
+
+    /**
+     * The number of results of a search as you type read between updates of the shown results.
+     */
+    private static final int SEARCH_AS_YOU_TYPE_INTERVAL = 10;
+
+    private final PauseTransition searchTextPause = new PauseTransition(SEARCH_AS_YOU_TYPE_DELAY);
+    private final PauseTransition searchMSNamePause = new PauseTransition(SEARCH_AS_YOU_TYPE_DELAY);
 
     @FXML private TableView<MetroStationForDB> tableViewMetroStations;
-    @FXML private TableColumn<MetroStationForDB, Integer> tableColumnMSMetroStationID;
+    @FXML private TableColumn<MetroStationForDB, Long> tableColumnMSMetroStationID;
     @FXML private TableColumn<MetroStationForDB, String> tableColumnMSName;
     @FXML private TableColumn<MetroStationForDB, Integer> tableColumnMSOpened;
-    private ObservableList<MetroStationForDB> observableListMetroStations;
+    private final TableRows<MetroStationForDB> tableRowsMetroStations = new TableRows<>(MetroStationForDB::getId);
 
     @FXML private TableView<HourForDB> tableViewHours;
-    @FXML private TableColumn<HourForDB, Integer> tableColumnHourHourID;
+    @FXML private TableColumn<HourForDB, Long> tableColumnHourHourID;
     @FXML private TableColumn<HourForDB, Integer> tableColumnHourRidership;
     @FXML private TableColumn<HourForDB, String> tableColumnHourComment;
-    @FXML private TableColumn<HourForDB, Integer> tableColumnHourMetroStationID;
-    private ObservableList<HourForDB> observableListHours;
+    @FXML private TableColumn<HourForDB, Long> tableColumnHourMetroStationID;
+    private final PagedHoursList pagedListHours = new PagedHoursList();
+
+    @FXML private Label labelTaskTitle;
+    @FXML private ProgressBar progressBarTask;
+    @FXML private Button buttonCancelTask;
+
+    /**
+     * Background tasks that have not finished, in the order they were started.
+     * The last one is shown in the status bar and cancelled with the "Cancel" button.
+     */
+    private final List<DatabaseTask<?>> runningTasks = new ArrayList<>();
+
+    /**
+     * The last tasks loading the tables and searching. A new task of each kind cancels the previous one,
+     * so the results of an older task do not replace the results of a newer one.
+     */
+    private DatabaseTask<?> metroStationsTableTask;
+    private DatabaseTask<?> searchTask;
+    private DatabaseTask<?> searchCountTask;
+
+    /**
+     * Shows the next page of the results of the last search, or {@code null} if all of them are shown.
+     */
+    private Runnable showMoreResults;
 
     private MetroStations metroStations;
     private String message;
@@ -77,13 +142,28 @@ public class MetroStationsAppController implements Initializable {
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         createConnection();
-        createDatabase();
+        migrateDatabase();
+        setClientSideSorting(true);
 
         tableViewMetroStations.setPlaceholder(new Label(""));
         tableViewMetroStations.setEditable(false);
+        tableViewMetroStations.setItems(tableRowsMetroStations.getRows());
+        tableColumnMSMetroStationID.setCellValueFactory(cellValue(MetroStationForDB::getId));
+        tableColumnMSName.setCellValueFactory(cellValue(MetroStationForDB::getName));
+        tableColumnMSOpened.setCellValueFactory(cellValue(MetroStationForDB::getOpened));
 
         tableViewHours.setPlaceholder(new Label(""));
         tableViewHours.setEditable(false);
+        tableViewHours.setItems(pagedListHours);
+        tableColumnHourHourID.setCellValueFactory(cellValue(HourForDB::getId));
+        tableColumnHourRidership.setCellValueFactory(cellValue(HourForDB::getRidership));
+        tableColumnHourComment.setCellValueFactory(cellValue(HourForDB::getComment));
+        tableColumnHourMetroStationID.setCellValueFactory(cellValue(HourForDB::getMetroStationID));
+
+        textFieldSearchText.textProperty().addListener(
+                (observable, oldText, text) -> scheduleSearchAsYouType(searchTextPause, this::searchHoursByCommentPrefix));
+        textFieldSearchMSName.textProperty().addListener(
+                (observable, oldText, text) -> scheduleSearchAsYouType(searchMSNamePause, this::searchMetroStationsByNamePrefix));
 
         if (logger != null) {
             logger.info("Metro Stations Application main window is initialized");
@@ -91,6 +171,20 @@ public class MetroStationsAppController implements Initializable {
             Logger logger = LogManager.getLogger(MetroStationsAppController.class);
             MetroStationsAppController.setLogger(logger);
         }
+
+        loadTables();
+    }
+
+    /**
+     * Creates a cell value factory reading the value of a cell with the getter of the row,
+     * so cells are rendered without looking up the getter reflectively like {@code PropertyValueFactory}.
+     * @param getter the getter of the value of the column
+     * @param <S> the type of the rows
+     * @param <T> the type of the values of the column
+     * @return the cell value factory, which gives no value for rows that are not loaded yet
+     */
+    private static <S, T> Callback<TableColumn.CellDataFeatures<S, T>, ObservableValue<T>> cellValue(Function<S, T> getter) {
+        return cellData -> cellData.getValue() == null ? null : new ReadOnlyObjectWrapper<>(getter.apply(cellData.getValue()));
     }
 
     /**
@@ -158,10 +252,10 @@ public class MetroStationsAppController implements Initializable {
 
             MetroStationsEditModeController controller = loader.getController();
             controller.setStage(stage);
+            controller.setTableChangeListener(tableRowsMetroStations);
             stage.showAndWait();
 
             logger.info("The Edit mode window of the table \"MetroStations\" is closed");
-            updateTableMetroStations(getMetroStations(Sort.UNSORTED).getList());
         } catch (IOException e) {
             message = "Failed to open the the Edit mode window of the table \"MetroStations\".";
             logger.error(message + "\n" + e);
@@ -186,10 +280,10 @@ public class MetroStationsAppController implements Initializable {
 
             HoursEditModeController controller = loader.getController();
             controller.setStage(stage);
+            controller.setTableChangeListener(pagedListHours);
             stage.showAndWait();
 
             logger.info("The Edit mode window of the table \"Hours\" is closed");
-            updateTableHours(getHours(Sort.UNSORTED));
         } catch (IOException e) {
             message = "Failed to open the the Edit mode window of the table \"Hours\".";
             logger.error(message + "\n" + e);
@@ -222,27 +316,16 @@ public class MetroStationsAppController implements Initializable {
      */
     @FXML
     private void fileNew(ActionEvent event) {
+        cancel(metroStationsTableTask);
+        cancelSearch();
         metroStations = new MetroStations();
 
         textFieldSearchText.setText("");
         textFieldSearchMSName.setText("");
         textAreaSearchResults.setText("");
 
-        tableViewMetroStations.setItems(null);
-        tableViewMetroStations.setPlaceholder(new Label(""));
-        tableColumnMSMetroStationID.setCellValueFactory(new PropertyValueFactory<>("id"));
-        tableColumnMSName.setCellValueFactory(new PropertyValueFactory<>("name"));
-        tableColumnMSOpened.setCellValueFactory(new PropertyValueFactory<>("opened"));
-
-        tableViewHours.setItems(null);
-        tableViewHours.setPlaceholder(new Label(""));
-        tableColumnHourHourID.setCellValueFactory(new PropertyValueFactory<>("id"));
-        tableColumnHourRidership.setCellValueFactory(new PropertyValueFactory<>("ridership"));
-        tableColumnHourComment.setCellValueFactory(new PropertyValueFactory<>("comment"));
-        tableColumnHourMetroStationID.setCellValueFactory(new PropertyValueFactory<>("metroStationID"));
-
-        observableListMetroStations = null;
-        observableListHours = null;
+        tableRowsMetroStations.clear();
+        pagedListHours.clear();
 
         logger.info("New file created in applications");
     }
@@ -257,39 +340,38 @@ public class MetroStationsAppController implements Initializable {
         File file;
 
         if ((file = fileChooser.showOpenDialog(null)) != null) {
-            try {
-                metroStations = DBUtils.importFromJSON(file.getCanonicalPath());
-                addMetroStationsWithHours(metroStations);
-
-                textFieldSearchText.setText("");
-                textFieldSearchMSName.setText("");
-                textAreaSearchResults.setText("");
+            String fileName;
 
-                tableViewMetroStations.setItems(null);
-                tableViewMetroStations.setPlaceholder(new Label(""));
+            try {
+                fileName = file.getCanonicalPath();
+            } catch (IOException e) {
+                message = "JSON file not found";
+                logger.error(message + "\n" + e);
+                showError(message + ".");
+                return;
+            }
 
-                tableViewHours.setItems(null);
-                tableViewHours.setPlaceholder(new Label(""));
+            DatabaseTask<Long> task = runTask(
+                    null,
+                    "Importing the JSON file \"" + file.getName() + "\"",
+                    progressListener -> importFromJSONToDatabase(fileName, progressListener),
+                    metroStationCount -> {
+                        cancelSearch();
+                        textFieldSearchText.setText("");
+                        textFieldSearchMSName.setText("");
+                        textAreaSearchResults.setText("");
 
-                observableListMetroStations = null;
-                observableListHours = null;
+                        tableRowsMetroStations.clear();
+                        pagedListHours.clear();
 
-                updateTableMetroStations(
-                        getMetroStations(Sort.UNSORTED).getList());
-                updateTableHours(
-                        getHours(Sort.UNSORTED));
+                        loadTables();
 
-                logger.info("JSON file opened");
-            } catch (IOException | RuntimeException e) {
-                if (e instanceof RuntimeException) {
-                    message = "Invalid JSON file format";
-                } else {
-                    message = "JSON file not found";
-                    logger.error(message + "\n" + e);
-                }
+                        logger.info("JSON file opened");
+                    },
+                    "Invalid JSON file format.");
 
-                showError(message + ".");
-            }
+            // Records imported before the cancellation remain in the database.
+            task.setOnCancelled(cancelEvent -> loadTables());
         }
     }
 
@@ -303,20 +385,30 @@ public class MetroStationsAppController implements Initializable {
         File file;
 
         if ((file = fileChooser.showSaveDialog(null)) != null) {
+            String fileName;
+
             try {
-                DBUtils.exportToJSON(file.getCanonicalPath());
-                message = "Saved to JSON file";
-                logger.info(message);
-                showResult(message + ".");
-            } catch (IOException | RuntimeException e) {
+                fileName = file.getCanonicalPath();
+            } catch (IOException e) {
                 message = "Error writing to JSON file";
-
-                if (e instanceof IOException) {
-                    logger.error(message + "\n" + e);
-                }
-
+                logger.error(message + "\n" + e);
                 showError(message + ".");
+                return;
             }
+
+            runTask(
+                    null,
+                    "Saving the JSON file \"" + file.getName() + "\"",
+                    progressListener -> {
+                        DBUtils.exportToJSON(fileName, progressListener);
+                        return null;
+                    },
+                    result -> {
+                        message = "Saved to JSON file";
+                        logger.info(message);
+                        showResult(message + ".");
+                    },
+                    "Error writing to JSON file.");
         }
     }
 
@@ -326,6 +418,7 @@ public class MetroStationsAppController implements Initializable {
      */
     @FXML
     private void fileExit(ActionEvent event) {
+        new ArrayList<>(runningTasks).forEach(DatabaseTask::cancel);
         closeConnection();
         logger.info("Application closed");
         Platform.exit();
@@ -348,123 +441,101 @@ public class MetroStationsAppController implements Initializable {
 
     /**
      * Sorts the metro stations table by ascending name.
-     * Retrieves and updates the table with the sorted list and logs the action.
+     * Retrieves the sorted list in the background, updates the table with it and logs the action.
      */
     @FXML
     private void runSortMetroStationsByAscName() {
-        updateTableMetroStations(
-                getMetroStations(Sort.SORTED_BY_ASC_NAME)
-                        .getList());
-
-        logger.info("Table \"MetroStations\" sorted by ascending name");
+        loadTableMetroStations(Sort.SORTED_BY_ASC_NAME, "Table \"MetroStations\" sorted by ascending name");
     }
 
     /**
      * Sorts the metro stations table by descending name.
-     * Retrieves and updates the table with the sorted list and logs the action.
+     * Retrieves the sorted list in the background, updates the table with it and logs the action.
      */
     @FXML
     private void runSortMetroStationsByDescName() {
-        updateTableMetroStations(
-                getMetroStations(Sort.SORTED_BY_DESC_NAME)
-                        .getList());
-
-        logger.info("Table \"MetroStations\" sorted by descending name");
+        loadTableMetroStations(Sort.SORTED_BY_DESC_NAME, "Table \"MetroStations\" sorted by descending name");
     }
 
     /**
      * Sorts the metro stations table by ascending year opened.
-     * Retrieves and updates the table with the sorted list and logs the action.
+     * Retrieves the sorted list in the background, updates the table with it and logs the action.
      */
     @FXML
     private void runSortMetroStationsByAscOpened() {
-        updateTableMetroStations(
-                getMetroStations(Sort.SORTED_BY_ASC_OPENED)
-                        .getList());
-
-        logger.info("Table \"MetroStations\" sorted by ascending opened year");
+        loadTableMetroStations(Sort.SORTED_BY_ASC_OPENED, "Table \"MetroStations\" sorted by ascending opened year");
     }
 
     /**
      * Sorts the metro stations table by descending year opened.
-     * Retrieves and updates the table with the sorted list and logs the action.
+     * Retrieves the sorted list in the background, updates the table with it and logs the action.
      */
     @FXML
     private void runSortMetroStationsByDescOpened() {
-        updateTableMetroStations(
-                getMetroStations(Sort.SORTED_BY_DESC_OPENED)
-                        .getList());
-
-        logger.info("Table \"MetroStations\" sorted by descending opened year");
+        loadTableMetroStations(Sort.SORTED_BY_DESC_OPENED, "Table \"MetroStations\" sorted by descending opened year");
     }
 
     /**
      * Sorts the hours table by ascending ridership.
-     * Retrieves and updates the table with the sorted list and logs the action.
+     * Retrieves the sorted list in the background, updates the table with it and logs the action.
      */
     @FXML
     private void runSortHoursByAscRidership() {
-        updateTableHours(
-                getHours(Sort.SORTED_ASC_RIDERSHIP));
-
-        logger.info("Table \"Hours\" sorted by ascending ridership");
+        loadTableHours(Sort.SORTED_ASC_RIDERSHIP, "Table \"Hours\" sorted by ascending ridership");
     }
 
     /**
      * Sorts the hours table by descending ridership.
-     * Retrieves and updates the table with the sorted list and logs the action.
+     * Retrieves the sorted list in the background, updates the table with it and logs the action.
      */
     @FXML
     private void runSortHoursByDescRidership() {
-        updateTableHours(
-                getHours(Sort.SORTED_DESC_RIDERSHIP));
-
-        logger.info("Table \"Hours\" sorted by descending ridership");
+        loadTableHours(Sort.SORTED_DESC_RIDERSHIP, "Table \"Hours\" sorted by descending ridership");
     }
 
     /**
      * Sorts the hours table by ascending comment length.
-     * Retrieves and updates the table with the sorted list and logs the action.
+     * Retrieves the sorted list in the background, updates the table with it and logs the action.
      */
     @FXML
     private void runSortHoursByAscCommentLength() {
-        updateTableHours(
-                getHours(Sort.SORTED_ASC_COMMENT_LENGTH));
-
-        logger.info("Table \"Hours\" sorted by ascending comment length");
+        loadTableHours(Sort.SORTED_ASC_COMMENT_LENGTH, "Table \"Hours\" sorted by ascending comment length");
     }
 
     /**
      * Sorts the hours table by descending comment length.
-     * Retrieves and updates the table with the sorted list and logs the action.
+     * Retrieves the sorted list in the background, updates the table with it and logs the action.
      */
     @FXML
     private void runSortHoursByDescCommentLength() {
-        updateTableHours(
-                getHours(Sort.SORTED_DESC_COMMENT_LENGTH));
-
-        logger.info("Table \"Hours\" sorted by descending comment length");
+        loadTableHours(Sort.SORTED_DESC_COMMENT_LENGTH, "Table \"Hours\" sorted by descending comment length");
     }
 
     /**
-     * Searches for hours by a specific word in the comment.
-     * Displays the search results in the text area and logs the action.
+     * Searches for hours by a specific word or word fragment in the comment.
+     * Displays the first page of the search results in the text area, their number below it and logs the action.
      * @param event the action event that triggered this method
      */
     @FXML
     private void searchHoursByCommentWord(ActionEvent event) {
-        textAreaSearchResults.setText("");
         String word = textFieldSearchText.getText();
 
-        List<HourForDB> list = findHoursWithWordInComment(word);
+        runPagedHoursSearch(
+                "Searching for Hours by word",
+                afterHourID -> findHoursWithWordInComment(word, CommentMatch.FRAGMENT, afterHourID, SEARCH_RESULT_PAGE_SIZE),
+                () -> countHoursWithWordInComment(word, CommentMatch.FRAGMENT),
+                "Search for Hours by word");
+    }
 
-        if (!list.isEmpty()) {
-            textAreaSearchResults.appendText(hoursToString(list));
-        } else {
-            textAreaSearchResults.appendText("Missing Hours.");
+    /**
+     * Shows the next page of the results of the last search below the shown results.
+     * @param event the action event that triggered this method
+     */
+    @FXML
+    private void showMoreSearchResults(ActionEvent event) {
+        if (showMoreResults != null) {
+            showMoreResults.run();
         }
-
-        logger.info("Search for Hours by word");
     }
 
     /**
@@ -475,32 +546,36 @@ public class MetroStationsAppController implements Initializable {
     @FXML
     private void searchMetroStation(ActionEvent event) {
         textAreaSearchResults.setText("");
-        MetroStations metroStations = new MetroStations();
-        String metroStationName;
-
-        if ((metroStationName = textFieldSearchMSName.getText()).isEmpty()) {
-            MetroStations mss = getMetroStationsWithHours();
-
-            if (!mss.getList().isEmpty()) {
-                metroStations.addAll(mss.getList());
-            }
-        } else {
-            MetroStationForDB ms = getMetroStationWithHoursByName(metroStationName);
-
-            if (ms.getId() > 0) {
-                metroStations.add(ms);
-            }
-        }
-
-        if (!metroStations.getList().isEmpty()) {
-            textAreaSearchResults.appendText(metroStationsWithHoursToString(metroStations));
-        } else if (!metroStationName.isEmpty()) {
-            textAreaSearchResults.appendText("Missing Metro Station with the name \"" + metroStationName + "\".");
-        } else {
-            textAreaSearchResults.appendText("Missing Metro Stations.");
-        }
-
-        logger.info("Search for Metro Stations by name");
+        String metroStationName = textFieldSearchMSName.getText();
+
+        runSearch(
+                "Searching for Metro Stations",
+                () -> {
+                    MetroStations metroStations = new MetroStations();
+
+                    if (metroStationName.isEmpty()) {
+                        MetroStations mss = getMetroStationsWithHours();
+
+                        if (!mss.getList().isEmpty()) {
+                            metroStations.addAll(mss.getList());
+                        }
+                    } else {
+                        MetroStationForDB ms = getMetroStationWithHoursByName(metroStationName);
+
+                        if (ms.getId() > 0) {
+                            metroStations.add(ms);
+                        }
+                    }
+
+                    if (!metroStations.getList().isEmpty()) {
+                        return metroStationsWithHoursToString(metroStations);
+                    } else if (!metroStationName.isEmpty()) {
+                        return "Missing Metro Station with the name \"" + metroStationName + "\".";
+                    } else {
+                        return "Missing Metro Stations.";
+                    }
+                },
+                "Search for Metro Stations by name");
     }
 
     /**
@@ -511,38 +586,42 @@ public class MetroStationsAppController implements Initializable {
     @FXML
     private void searchTotalRidership(ActionEvent event) {
         textAreaSearchResults.setText("");
-        int totalRidership;
-        String metroStationName;
-        StringBuilder stringBuilder = new StringBuilder();
-
-        if ((metroStationName = textFieldSearchMSName.getText()).isEmpty()) {
-            totalRidership = getTotalRidership();
-
-            if (totalRidership >= 0) {
-                stringBuilder.append("Total ridership for all the Metro Stations")
-                        .append("\":\t")
-                        .append(totalRidership);
-            } else {
-                stringBuilder.append("Missing Metro Stations.");
-            }
-        } else {
-            totalRidership = getTotalRidership(metroStationName);
-
-            if (totalRidership >= 0) {
-                stringBuilder.append("Total ridership for the Metro Station \"")
-                        .append(metroStationName)
-                        .append("\":\t")
-                        .append(totalRidership);
-            } else {
-                stringBuilder.append("Missing Metro Station with the name \"")
-                        .append(metroStationName)
-                        .append("\".");
-            }
-        }
-
-        textAreaSearchResults.appendText(stringBuilder.toString());
-
-        logger.info("Search for Hours by minimal ridership");
+        String metroStationName = textFieldSearchMSName.getText();
+
+        runSearch(
+                "Calculating the total ridership",
+                () -> {
+                    int totalRidership;
+                    StringBuilder stringBuilder = new StringBuilder();
+
+                    if (metroStationName.isEmpty()) {
+                        totalRidership = getTotalRidership();
+
+                        if (totalRidership >= 0) {
+                            stringBuilder.append("Total ridership for all the Metro Stations")
+                                    .append("\":\t")
+                                    .append(totalRidership);
+                        } else {
+                            stringBuilder.append("Missing Metro Stations.");
+                        }
+                    } else {
+                        totalRidership = getTotalRidership(metroStationName);
+
+                        if (totalRidership >= 0) {
+                            stringBuilder.append("Total ridership for the Metro Station \"")
+                                    .append(metroStationName)
+                                    .append("\":\t")
+                                    .append(totalRidership);
+                        } else {
+                            stringBuilder.append("Missing Metro Station with the name \"")
+                                    .append(metroStationName)
+                                    .append("\".");
+                        }
+                    }
+
+                    return stringBuilder.toString();
+                },
+                "Search for Hours by minimal ridership");
     }
 
     /**
@@ -553,24 +632,12 @@ public class MetroStationsAppController implements Initializable {
     @FXML
     private void searchHoursWithMinRidership(ActionEvent event) {
         textAreaSearchResults.setText("");
-        List<HourForDB> list = new ArrayList<>();
-        String metroStationName;
-
-        if ((metroStationName = textFieldSearchMSName.getText()).isEmpty()) {
-            list.addAll(findHours(Search.SEARCH_BY_MIN_RIDERSHIP));
-        } else {
-            list.addAll(findHours(Search.SEARCH_BY_MIN_RIDERSHIP, metroStationName));
-        }
+        String metroStationName = textFieldSearchMSName.getText();
 
-        if (!list.isEmpty()) {
-            textAreaSearchResults.appendText(hoursToString(list));
-        } else if (!metroStationName.isEmpty()) {
-            textAreaSearchResults.appendText("Missing Hours for the Metro Station \"" + metroStationName + "\".");
-        } else {
-            textAreaSearchResults.appendText("Missing Hours.");
-        }
-
-        logger.info("Search for Hours by minimal ridership");
+        runSearch(
+                "Searching for Hours with minimal ridership",
+                () -> hoursSearchResult(Search.SEARCH_BY_MIN_RIDERSHIP, metroStationName),
+                "Search for Hours by minimal ridership");
     }
 
     /**
@@ -581,54 +648,411 @@ public class MetroStationsAppController implements Initializable {
     @FXML
     private void searchHoursWithMaxCommentWordCount(ActionEvent event) {
         textAreaSearchResults.setText("");
+        String metroStationName = textFieldSearchMSName.getText();
+
+        runSearch(
+                "Searching for Hours with maximum word count of comment",
+                () -> hoursSearchResult(Search.SEARCH_BY_MAX_COMMENT_WORD_COUNT, metroStationName),
+                "Search for Hours by maximum word count of comment");
+    }
+
+    /**
+     * Searches for hours of all metro stations or of the metro station with the name and formats the results.
+     * Called on a background thread.
+     * @param search the search defined by the {@link Search} list;
+     * @param metroStationName the name of the metro station, or an empty string to search all metro stations;
+     * @return the text of the search results.
+     */
+    private static String hoursSearchResult(Search search, String metroStationName) {
         List<HourForDB> list = new ArrayList<>();
-        String metroStationName;
 
-        if ((metroStationName = textFieldSearchMSName.getText()).isEmpty()) {
-            list.addAll(findHours(Search.SEARCH_BY_MAX_COMMENT_WORD_COUNT));
+        if (metroStationName.isEmpty()) {
+            list.addAll(findHours(search));
         } else {
-            list.addAll(findHours(Search.SEARCH_BY_MAX_COMMENT_WORD_COUNT, metroStationName));
+            list.addAll(findHours(search, metroStationName));
         }
 
         if (!list.isEmpty()) {
-            textAreaSearchResults.appendText(hoursToString(list));
+            return hoursToString(list);
         } else if (!metroStationName.isEmpty()) {
-            textAreaSearchResults.appendText("Missing Hours for the Metro Station \"" + metroStationName + "\".");
+            return "Missing Hours for the Metro Station \"" + metroStationName + "\".";
         } else {
-            textAreaSearchResults.appendText("Missing Hours.");
+            return "Missing Hours.";
+        }
+    }
+
+    /**
+     * Runs the search in the background, cancelling the previous search, and displays its results in the text area.
+     * @param title the title of the search shown while it runs;
+     * @param search the search returning the text of its results;
+     * @param logMessage the message logged when the results are displayed.
+     */
+    private void runSearch(String title, Supplier<String> search, String logMessage) {
+        cancelSearch();
+
+        searchTask = runTask(
+                searchTask,
+                title,
+                progressListener -> search.get(),
+                text -> {
+                    textAreaSearchResults.setText(text);
+                    logger.info(logMessage);
+                },
+                "Failed to search data.");
+    }
+
+    /**
+     * Runs the search of hours in the background page by page, cancelling the previous search.
+     * The first page of the results is displayed in the text area as soon as it is read,
+     * the next pages are read and appended with the "Show more" button,
+     * and the number of all results is counted by a separate query and displayed below the text area.
+     * @param title the title of the search shown while it runs;
+     * @param search the search reading the page of the results after the hour with the ID, {@code 0} for the first page;
+     * @param count the query counting all results;
+     * @param logMessage the message logged when the first page is displayed.
+     */
+    private void runPagedHoursSearch(String title, LongFunction<List<HourForDB>> search, LongSupplier count,
+                                     String logMessage) {
+        cancelSearch();
+        textAreaSearchResults.setText("");
+
+        searchCountTask = runTask(
+                null,
+                "Counting the found Hours",
+                progressListener -> count.getAsLong(),
+                hourCount -> labelSearchResultCount.setText("Found Hours: " + hourCount),
+                "Failed to count the found Hours.");
+
+        showHoursSearchPage(title, search, 0, logMessage);
+    }
+
+    /**
+     * Reads the page of the results of the search of hours in the background and appends it to the text area.
+     * If the page is full, the "Show more" button is enabled to read the next one.
+     * @param title the title of the search shown while it runs;
+     * @param search the search reading the page of the results after the hour with the ID;
+     * @param afterHourID the ID of the last shown hour, or {@code 0} for the first page;
+     * @param logMessage the message logged when the first page is displayed.
+     */
+    private void showHoursSearchPage(String title, LongFunction<List<HourForDB>> search, long afterHourID,
+                                     String logMessage) {
+        showMoreResults = null;
+        buttonShowMoreResults.setDisable(true);
+
+        searchTask = runTask(
+                searchTask,
+                title,
+                progressListener -> search.apply(afterHourID),
+                hours -> {
+                    if (afterHourID == 0) {
+                        textAreaSearchResults.setText(hours.isEmpty() ? "Missing Hours." : hoursToString(hours));
+                        logger.info(logMessage);
+                    } else {
+                        StringBuilder stringBuilder = new StringBuilder();
+                        hours.forEach(hour -> stringBuilder.append(hour.toString()));
+                        textAreaSearchResults.appendText(stringBuilder.toString());
+                    }
+
+                    if (hours.size() == SEARCH_RESULT_PAGE_SIZE) {
+                        long lastHourID = hours.get(hours.size() - 1).getId();
+                        showMoreResults = () -> showHoursSearchPage(title, search, lastHourID, logMessage);
+                        buttonShowMoreResults.setDisable(false);
+                    }
+                },
+                "Failed to search data.");
+    }
+
+    /**
+     * Cancels the running search with the counting of its results and the pending searches as you type
+     * of both search fields, and forgets the pages of the results of the last search.
+     */
+    private void cancelSearch() {
+        searchTextPause.stop();
+        searchMSNamePause.stop();
+        cancelRunningSearch();
+    }
+
+    /**
+     * Cancels the running search with the counting of its results, keeping the pending searches as you type,
+     * and forgets the pages of the results of the last search.
+     */
+    private void cancelRunningSearch() {
+        cancel(searchTask);
+        cancel(searchCountTask);
+
+        showMoreResults = null;
+        buttonShowMoreResults.setDisable(true);
+        labelSearchResultCount.setText("");
+    }
+
+    /**
+     * Searches as you type if it is turned on.
+     * A keystroke after a pause is searched at once, and the keystrokes during the pause
+     * after a keystroke are searched once when the pause ends, so the running search is cancelled
+     * once per burst of keystrokes rather than for every keystroke. Only the pause of the edited field is restarted,
+     * so a pending search of the other field is not dropped.
+     * @param pause the pause of the edited search field;
+     * @param search the search as you type of the edited search field.
+     */
+    private void scheduleSearchAsYouType(PauseTransition pause, Runnable search) {
+        if (!checkBoxSearchAsYouType.isSelected()) {
+            return;
+        }
+
+        if (pause.getStatus() == Animation.Status.RUNNING) {
+            pause.setOnFinished(event -> search.run());
+        } else {
+            search.run();
+            pause.setOnFinished(null);
+        }
+
+        pause.playFromStart();
+    }
+
+    /**
+     * Searches as you type for the first hours with a word starting with the text in the comment.
+     * Displays the search results in the text area while they are read.
+     */
+    private void searchHoursByCommentPrefix() {
+        String word = textFieldSearchText.getText().strip();
+
+        runSearchAsYouType(
+                "Searching for Hours by word",
+                word,
+                "HourID\t  Ridership\t\tComment\n",
+                lines -> findHoursWithWordInComment(word, CommentMatch.PREFIX, SEARCH_AS_YOU_TYPE_LIMIT,
+                        hour -> lines.accept(hour.toString())),
+                "Missing Hours.");
+    }
+
+    /**
+     * Searches as you type for the first metro stations whose name starts with the text.
+     * Displays the search results in the text area while they are read.
+     */
+    private void searchMetroStationsByNamePrefix() {
+        String prefix = textFieldSearchMSName.getText().strip();
+
+        runSearchAsYouType(
+                "Searching for Metro Stations",
+                prefix,
+                "MetroStationID\t  Name\t\t\t\t  Opened\n",
+                lines -> findMetroStationsByNamePrefix(prefix, SEARCH_AS_YOU_TYPE_LIMIT,
+                        metroStation -> lines.accept(metroStation.toString())),
+                "Missing Metro Stations with the name starting with \"" + prefix + "\".");
+    }
+
+    /**
+     * Runs the search as you type in the background, cancelling the previous search with its statement.
+     * The text area shows the header and the first result as soon as it is read,
+     * and then the results read so far every {@code SEARCH_AS_YOU_TYPE_INTERVAL} results.
+     * @param title the title of the search shown while it runs;
+     * @param text the searched text, nothing is searched and the text area is cleared if it is empty;
+     * @param header the header of the results;
+     * @param search the search passing each result as a line to the consumer;
+     * @param missingMessage the message shown if nothing is found.
+     */
+    private void runSearchAsYouType(String title, String text, String header, Consumer<Consumer<String>> search,
+                                    String missingMessage) {
+        cancelRunningSearch();
+
+        if (text.isEmpty()) {
+            textAreaSearchResults.setText("");
+            return;
         }
 
-        logger.info("Search for Hours by maximum word count of comment");
+        DatabaseTask<String> task = new DatabaseTask<>(
+                title,
+                partialResults -> {
+                    List<String> lines = new ArrayList<>();
+
+                    search.accept(line -> {
+                        lines.add(line);
+
+                        if (lines.size() == 1 || lines.size() % SEARCH_AS_YOU_TYPE_INTERVAL == 0) {
+                            partialResults.accept(header + String.join("", lines));
+                        }
+                    });
+
+                    if (lines.isEmpty()) {
+                        return missingMessage;
+                    } else if (lines.size() < SEARCH_AS_YOU_TYPE_LIMIT) {
+                        return header + String.join("", lines);
+                    } else {
+                        return header + String.join("", lines) + "\nThe first " + SEARCH_AS_YOU_TYPE_LIMIT
+                                + " results are shown. Press the search button to show all of them.";
+                    }
+                },
+                textAreaSearchResults::setText);
+
+        searchTask = runTask(
+                searchTask,
+                task,
+                result -> {
+                    textAreaSearchResults.setText(result);
+                    logger.debug(title + " as you type: \"" + text + "\"");
+                },
+                "Failed to search data.");
     }
 
     /**
-     * Updates the Hours table view with the provided list of hours.
-     * @param hourList the list of hours to display in the table
+     * Loads both tables in their original order in the background.
      */
-    public void updateTableHours(List<HourForDB> hourList) {
-        observableListHours = FXCollections.observableList(hourList);
-        tableViewHours.setItems(observableListHours);
+    private void loadTables() {
+        loadTableMetroStations(Sort.UNSORTED, "Table \"MetroStations\" loaded");
+        loadTableHours(Sort.UNSORTED, "Table \"Hours\" loaded");
+    }
 
-        tableColumnHourHourID.setCellValueFactory(new PropertyValueFactory<>("id"));
-        tableColumnHourRidership.setCellValueFactory(new PropertyValueFactory<>("ridership"));
-        tableColumnHourComment.setCellValueFactory(new PropertyValueFactory<>("comment"));
-        tableColumnHourMetroStationID.setCellValueFactory(new PropertyValueFactory<>("metroStationID"));
+    /**
+     * Loads the metro stations in the sort order in the background and updates the MetroStations table view with them.
+     * @param sorting the order defined by the {@link Sort} list;
+     * @param logMessage the message logged when the table is updated.
+     */
+    private void loadTableMetroStations(Sort sorting, String logMessage) {
+        metroStationsTableTask = runTask(
+                metroStationsTableTask,
+                "Loading the table \"MetroStations\"",
+                progressListener -> getMetroStations(sorting).getList(),
+                metroStationList -> {
+                    updateTableMetroStations(metroStationList, sorting);
+                    logger.info(logMessage);
+                },
+                "Failed to load the table \"MetroStations\".");
+    }
 
-        logger.info("Table \"Hours\" updated");
+    /**
+     * Shows the hours in the sort order in the Hours table view, reading them page by page while the table is scrolled.
+     * @param sorting the order defined by the {@link Sort} list;
+     * @param logMessage the message logged when the table is updated.
+     */
+    private void loadTableHours(Sort sorting, String logMessage) {
+        pagedListHours.setSorting(sorting);
+        logger.info(logMessage);
+    }
+
+    /**
+     * Runs the database operation in the background and shows it in the status bar until it finishes.
+     * The handlers are called on the JavaFX Application Thread.
+     * @param previousTask the task to be cancelled before the operation starts, or {@code null};
+     * @param title the title of the operation shown while it runs;
+     * @param operation the database operation;
+     * @param onSucceeded the handler of the result of the operation;
+     * @param errorMessage the message shown if the operation fails;
+     * @param <T> the type of the result of the operation;
+     * @return the started task.
+     */
+    private <T> DatabaseTask<T> runTask(DatabaseTask<?> previousTask, String title, DatabaseTask.Operation<T> operation,
+                                        Consumer<T> onSucceeded, String errorMessage) {
+        return runTask(previousTask, new DatabaseTask<>(title, operation), onSucceeded, errorMessage);
+    }
+
+    /**
+     * Runs the task in the background and shows it in the status bar until it finishes.
+     * The handlers are called on the JavaFX Application Thread.
+     * @param previousTask the task to be cancelled before the task starts, or {@code null};
+     * @param task the task, which is not started yet;
+     * @param onSucceeded the handler of the result of the task;
+     * @param errorMessage the message shown if the task fails;
+     * @param <T> the type of the result of the task;
+     * @return the started task.
+     */
+    private <T> DatabaseTask<T> runTask(DatabaseTask<?> previousTask, DatabaseTask<T> task,
+                                        Consumer<T> onSucceeded, String errorMessage) {
+        cancel(previousTask);
+
+        String title = task.getTitle();
+        task.onSucceeded(onSucceeded)
+                .onFailed(e -> {
+                    logger.error(errorMessage + "\n" + e);
+                    showError(errorMessage, e.getMessage());
+                });
+
+        task.addEventHandler(WorkerStateEvent.WORKER_STATE_CANCELLED,
+                cancelEvent -> logger.info(title + " is cancelled"));
+        task.stateProperty().addListener((observable, oldState, state) -> {
+            if (state == Worker.State.SUCCEEDED || state == Worker.State.FAILED || state == Worker.State.CANCELLED) {
+                runningTasks.remove(task);
+                showLastTask();
+            }
+        });
+
+        runningTasks.add(task);
+        showLastTask();
+
+        return task.start();
+    }
+
+    /**
+     * Shows the title and the progress of the last started running task in the status bar.
+     */
+    private void showLastTask() {
+        labelTaskTitle.textProperty().unbind();
+        progressBarTask.progressProperty().unbind();
+
+        if (runningTasks.isEmpty()) {
+            labelTaskTitle.setText("");
+            progressBarTask.setProgress(0);
+            buttonCancelTask.setDisable(true);
+        } else {
+            DatabaseTask<?> task = runningTasks.get(runningTasks.size() - 1);
+            labelTaskTitle.textProperty().bind(task.titleProperty());
+            progressBarTask.progressProperty().bind(task.progressProperty());
+            buttonCancelTask.setDisable(false);
+        }
+    }
+
+    /**
+     * Cancels the task shown in the status bar.
+     * @param event the action event that triggered this method
+     */
+    @FXML
+    private void cancelTask(ActionEvent event) {
+        if (!runningTasks.isEmpty()) {
+            runningTasks.get(runningTasks.size() - 1).cancel();
+        }
+    }
+
+    /**
+     * Cancels the task if it is not {@code null}.
+     * @param task the task to be cancelled, or {@code null}.
+     */
+    private static void cancel(DatabaseTask<?> task) {
+        if (task != null) {
+            task.cancel();
+        }
     }
 
     /**
      * Updates the MetroStations table view with the provided list of metro stations.
+     * The rows are replaced in the existing observable list, so the table view keeps its cell value factories.
      * @param metroStationList the list of metro stations to display in the table
+     * @param sorting the order of the list defined by the {@link Sort} list
      */
-    public void updateTableMetroStations(List<MetroStationForDB> metroStationList) {
-        observableListMetroStations = FXCollections.observableList(metroStationList);
-        tableViewMetroStations.setItems(observableListMetroStations);
-
-        tableColumnMSMetroStationID.setCellValueFactory(new PropertyValueFactory<>("id"));
-        tableColumnMSName.setCellValueFactory(new PropertyValueFactory<>("name"));
-        tableColumnMSOpened.setCellValueFactory(new PropertyValueFactory<>("opened"));
+    public void updateTableMetroStations(List<MetroStationForDB> metroStationList, Sort sorting) {
+        tableRowsMetroStations.setAll(metroStationList, getMetroStationOrder(sorting));
 
         logger.info("Table \"MetroStations\" updated");
     }
+
+    /**
+     * Gets the order of the metro stations in the MetroStations table,
+     * used to insert and move the rows changed in the edit mode window.
+     * Names are compared case- and accent-insensitively like the default collation of the database.
+     * @param sorting the order defined by the {@link Sort} list
+     * @return the comparator of metro stations, without the order by ID for metro stations with equal sort keys
+     */
+    private static Comparator<MetroStationForDB> getMetroStationOrder(Sort sorting) {
+        Collator collator = Collator.getInstance(Locale.ROOT);
+        collator.setStrength(Collator.PRIMARY);
+        Comparator<MetroStationForDB> byName = Comparator.comparing(MetroStationForDB::getName,
+                Comparator.nullsFirst(collator::compare));
+
+        return switch (sorting) {
+            case UNSORTED -> Comparator.comparingLong(MetroStationForDB::getId);
+            case SORTED_BY_ASC_NAME -> byName;
+            case SORTED_BY_DESC_NAME -> byName.reversed();
+            case SORTED_BY_ASC_OPENED -> Comparator.comparingInt(MetroStationForDB::getOpened);
+            case SORTED_BY_DESC_OPENED -> Comparator.comparingInt(MetroStationForDB::getOpened).reversed();
+            default -> throw new IllegalArgumentException("Unexpected value: " + sorting);
+        };
+    }
 }
@@ -36,6 +36,11 @@ public class MetroStationsEditModeController implements Initializable{
     private Stage stage;
     private String message;
 
+    /**
+     * The listener of the rows changed in the database, or {@code null}.
+     */
+    private TableChangeListener<MetroStationForDB> tableChangeListener;
+
     /**
      * Enumeration to determine the edit mode types for "MetroStations" Table data.
      */
@@ -81,6 +86,15 @@ public class MetroStationsEditModeController implements Initializable{
         this.stage = editStage;
     }
 
+    /**
+     * Sets the listener of the rows added, updated and removed in the database by this window,
+     * so the table of the main window is updated without reloading it.
+     * @param tableChangeListener The listener of the changed rows.
+     */
+    public void setTableChangeListener(TableChangeListener<MetroStationForDB> tableChangeListener) {
+        this.tableChangeListener = tableChangeListener;
+    }
+
     /**
      * Closes the edit mode window.
      * @param event The action event that triggered this method.
@@ -103,27 +117,33 @@ public class MetroStationsEditModeController implements Initializable{
             updateName(event, Mode.ADD);
             updateOpened(event, Mode.ADD);
 
-            long id = addMetroStation(metroStation);
-
-            if (id > 0) {
-                message = "Metro Station added to the database";
-                showResult(
-                        message + ": ",
-                        getMetroStationByID(id).
-                                toStringLines());
-            } else {
-                message = "Could not add the Metro Station to the database";
-                showError(message + ".");
-            }
-
-            logger.info(
-                    message + ":\n" +
-                    metroStationToString(
-                            getMetroStationByID(id)));
+            MetroStationForDB newMetroStation = metroStation;
+
+            new DatabaseTask<>("Adding the Metro Station",
+                    progressListener -> getMetroStationByID(addMetroStation(newMetroStation)))
+                    .onSucceeded(addedMetroStation -> {
+                        if (addedMetroStation.getId() > 0) {
+                            if (tableChangeListener != null) {
+                                tableChangeListener.rowAdded(addedMetroStation);
+                            }
+
+                            message = "Metro Station added to the database";
+                            showResult(
+                                    message + ": ",
+                                    addedMetroStation.toStringLines());
+                        } else {
+                            message = "Could not add the Metro Station to the database";
+                            showError(message + ".");
+                        }
+
+                        logger.info(
+                                message + ":\n" +
+                                metroStationToString(addedMetroStation));
+                    })
+                    .onFailed(e -> showFailure("Failed to add the Metro Station to the database.", e))
+                    .start();
         } catch (RuntimeException e) {
-            message = "Failed to add the Metro Station to the database.";
-            logger.error(message + "\n" + e);
-            showError(message, e.getMessage());
+            showFailure("Failed to add the Metro Station to the database.", e);
         }
     }
 
@@ -149,21 +169,9 @@ public class MetroStationsEditModeController implements Initializable{
             metroStation = new MetroStationForDB();
             updateMetroStationID(event, Mode.EDIT);
 
-            MetroStationForDB newMetroStation = getMetroStationByID(metroStation.getId());
-
-            if (newMetroStation.getId() > 0) {
-                message = metroStationToString(newMetroStation);
-
-            } else {
-                message = "Missing Metro Station.";
-            }
-
-            textAreaEditSearchResults.setText(message);
-            logger.info("Search for the Metro Station for the tab \"Edit\":\n" +  message);
+            searchMetroStationByID(metroStation.getId(), textAreaEditSearchResults, "Edit");
         } catch (RuntimeException e) {
-            message = "Failed Metro Station search for tab \"Edit\".";
-            logger.error(message + "\n" + e);
-            showError(message, e.getMessage());
+            showFailure("Failed Metro Station search for tab \"Edit\".", e);
         }
     }
 
@@ -179,25 +187,33 @@ public class MetroStationsEditModeController implements Initializable{
             updateName(event, Mode.EDIT);
             updateOpened(event, Mode.EDIT);
 
-            if (updateMetroStation(metroStation)) {
-                message = "Metro Station updated in the database to";
-                showResult(
-                        message + ": ",
-                        getMetroStationByID(metroStation.getId())
-                                .toStringLines());
-            } else {
-                message = "Could not update the Metro Station data in the database";
-                showError(message + ".");
-            }
-
-            logger.info(
-                    message + ":\n" +
-                    metroStationToString(
-                            getMetroStationByID(metroStation.getId())));
+            MetroStationForDB newMetroStation = metroStation;
+
+            new DatabaseTask<>("Updating the Metro Station",
+                    progressListener -> updateMetroStation(newMetroStation)
+                            ? getMetroStationByID(newMetroStation.getId())
+                            : null)
+                    .onSucceeded(updatedMetroStation -> {
+                        if (updatedMetroStation != null) {
+                            if (tableChangeListener != null) {
+                                tableChangeListener.rowUpdated(updatedMetroStation);
+                            }
+
+                            message = "Metro Station updated in the database to";
+                            showResult(
+                                    message + ": ",
+                                    updatedMetroStation.toStringLines());
+                            logger.info(message + ":\n" + metroStationToString(updatedMetroStation));
+                        } else {
+                            message = "Could not update the Metro Station data in the database";
+                            showError(message + ".");
+                            logger.info(message + ".");
+                        }
+                    })
+                    .onFailed(e -> showFailure("Failed to update the Metro Station in the database.", e))
+                    .start();
         } catch (RuntimeException e) {
-            message = "Failed to update the Metro Station in the database.";
-            logger.error(message + "\n" + e);
-            showError(message, e.getMessage());
+            showFailure("Failed to update the Metro Station in the database.", e);
         }
     }
 
@@ -225,20 +241,9 @@ public class MetroStationsEditModeController implements Initializable{
             metroStation = new MetroStationForDB();
             updateMetroStationID(event, Mode.REMOVE);
 
-            MetroStationForDB newMetroStation = getMetroStationByID(metroStation.getId());
-
-            if (newMetroStation.getId() > 0) {
-                message = metroStationToString(newMetroStation);
-            } else {
-                message = "Missing Metro Station.";
-            }
-
-            textAreaRemoveSearchResults.setText(message);
-            logger.info("Search for the Metro Station for the tab \"Remove\":\n" + message);
+            searchMetroStationByID(metroStation.getId(), textAreaRemoveSearchResults, "Remove");
         } catch (RuntimeException e) {
-            message = "Failed Metro Station search for tab \"Remove\".";
-            logger.error(message + "\n" + e);
-            showError(message, e.getMessage());
+            showFailure("Failed Metro Station search for tab \"Remove\".", e);
         }
     }
 
@@ -252,19 +257,28 @@ public class MetroStationsEditModeController implements Initializable{
             metroStation = new MetroStationForDB();
             updateMetroStationID(event, Mode.REMOVE);
 
-            if (removeMetroStationByID(metroStation.getId())) {
-                message = "Metro Station removed from the database.";
-
-            } else {
-                message = "Could not remove the Metro Station data from the database.";
-            }
-
-            logger.info(message);
-            showResult(message);
+            long metroStationID = metroStation.getId();
+
+            new DatabaseTask<>("Removing the Metro Station",
+                    progressListener -> removeMetroStationByID(metroStationID))
+                    .onSucceeded(removed -> {
+                        if (removed) {
+                            if (tableChangeListener != null) {
+                                tableChangeListener.rowRemoved(metroStationID);
+                            }
+
+                            message = "Metro Station removed from the database.";
+                        } else {
+                            message = "Could not remove the Metro Station data from the database.";
+                        }
+
+                        logger.info(message);
+                        showResult(message);
+                    })
+                    .onFailed(e -> showFailure("Failed to remove the Metro Station from the database.", e))
+                    .start();
         } catch (RuntimeException e) {
-            message = "Failed to remove the Metro Station from the database.";
-            logger.error(message + "\n" + e);
-            showError(message, e.getMessage());
+            showFailure("Failed to remove the Metro Station from the database.", e);
         }
     }
 
@@ -279,6 +293,39 @@ public class MetroStationsEditModeController implements Initializable{
         logger.info("The fields of the \"Remove\" tab are cleared");
     }
 
+    /**
+     * Searches for a metro station by its ID in the background and displays it in the text area of the tab.
+     * @param metroStationID The ID of the metro station.
+     * @param textArea The text area of the tab.
+     * @param tab The name of the tab.
+     */
+    private void searchMetroStationByID(long metroStationID, TextArea textArea, String tab) {
+        new DatabaseTask<>("Searching for the Metro Station", progressListener -> getMetroStationByID(metroStationID))
+                .onSucceeded(newMetroStation -> {
+                    if (newMetroStation.getId() > 0) {
+                        message = metroStationToString(newMetroStation);
+                    } else {
+                        message = "Missing Metro Station.";
+                    }
+
+                    textArea.setText(message);
+                    logger.info("Search for the Metro Station for the tab \"" + tab + "\":\n" + message);
+                })
+                .onFailed(e -> showFailure("Failed Metro Station search for tab \"" + tab + "\".", e))
+                .start();
+    }
+
+    /**
+     * Logs and shows the error of a failed operation.
+     * @param message The message of the error.
+     * @param e The exception of the operation.
+     */
+    private void showFailure(String message, Throwable e) {
+        this.message = message;
+        logger.error(message + "\n" + e);
+        showError(message, e.getMessage());
+    }
+
     /**
      * Updates the metro station ID based on the mode (EDIT or REMOVE).
      * @param event The action event that triggered this method.
@@ -0,0 +1,418 @@
+package applications.database_gui_application;
+
+import applications.database_console_application.DBUtils;
+import applications.database_console_application.DBUtils.Sort;
+import applications.database_console_application.HourForDB;
+import javafx.animation.PauseTransition;
+import javafx.collections.ObservableListBase;
+import javafx.util.Duration;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * Read-only observable list of all Operating Hours in the database, read page by page on demand.
+ * Only the pages that were accessed recently are kept in memory, so a table view backed by the list
+ * browses any number of Hours with a fixed memory budget of {@code pageSize * maxPages} Hours.
+ * <p>
+ * The list must be used on the JavaFX Application Thread. Pages are read in the background:
+ * until a page is read, its elements are {@code null}, and once it is read, its elements are replaced in the list,
+ * so the table view renders them. When the second half of a page is accessed, the next page is read in advance.
+ * A page is read with keyset pagination after the last Hour of the previous page if that page is in memory,
+ * and at its offset otherwise.
+ * <p>
+ * A read at an offset makes the database scan all rows before the offset, so its cost grows with the position
+ * of the page. Such jumps are therefore read only after the scrolling has paused for {@link #JUMP_DELAY}:
+ * dragging the scroll bar across millions of Hours reads only the page where it stops.
+ * Reads of pages that are no longer near the last accessed page, and all reads on a reload, are cancelled,
+ * so stale reads do not hold connections needed by other database operations.
+ * <p>
+ * Changes reported as a {@link TableChangeListener} update the Hours in memory or reload the list.
+ */
+public class PagedHoursList extends ObservableListBase<HourForDB> implements TableChangeListener<HourForDB> {
+    /**
+     * The default number of Hours read at once.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 500;
+
+    /**
+     * The default maximum number of pages kept in memory.
+     */
+    public static final int DEFAULT_MAX_PAGES = 20;
+
+    /**
+     * The number of pages before and after the last accessed page whose reads are not cancelled.
+     */
+    private static final int NEAR_PAGES = 2;
+
+    /**
+     * The pause of scrolling after which a page without the previous page in memory is read at its offset.
+     */
+    private static final Duration JUMP_DELAY = Duration.millis(150);
+
+    /**
+     * Logger for logging errors of reading pages.
+     */
+    private static Logger logger = LogManager.getLogger(PagedHoursList.class);
+
+    /**
+     * The number of Hours read at once.
+     */
+    private final int pageSize;
+
+    /**
+     * Pages kept in memory by page number, in the order they were accessed, the least recently accessed first.
+     */
+    private final LinkedHashMap<Integer, List<HourForDB>> pages;
+
+    /**
+     * Tasks reading pages by page number.
+     */
+    private final Map<Integer, DatabaseTask<List<HourForDB>>> loadingPages = new HashMap<>();
+
+    /**
+     * The pause before a page is read at its offset, restarted by every jump to another such page.
+     */
+    private final PauseTransition jumpPause = new PauseTransition(JUMP_DELAY);
+
+    /**
+     * Numbers of the pages to be read at their offsets after the pause.
+     */
+    private final Set<Integer> jumpPages = new HashSet<>();
+
+    /**
+     * The order of the Hours.
+     */
+    private Sort sorting = Sort.UNSORTED;
+
+    /**
+     * The number of Hours.
+     */
+    private int size;
+
+    /**
+     * The number of the reload of the list, so counts of Hours started before the reload are discarded.
+     */
+    private long generation;
+
+    /**
+     * The constructor initialises the empty list with the default page size and number of pages in memory.
+     */
+    public PagedHoursList() {
+        this(DEFAULT_PAGE_SIZE, DEFAULT_MAX_PAGES);
+    }
+
+    /**
+     * The constructor initialises the empty list with the specified values.
+     * @param pageSize the number of Hours read at once;
+     * @param maxPages the maximum number of pages kept in memory.
+     */
+    public PagedHoursList(int pageSize, int maxPages) {
+        if (pageSize < 1 || maxPages < 2) {
+            throw new IllegalArgumentException("Invalid paging: page size " + pageSize + ", pages " + maxPages);
+        }
+
+        this.pageSize = pageSize;
+        this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<HourForDB>> eldest) {
+                return size() > maxPages;
+            }
+        };
+        this.jumpPause.setOnFinished(event -> {
+            for (int page : jumpPages) {
+                if ((long) page * pageSize < size && !pages.containsKey(page) && !loadingPages.containsKey(page)) {
+                    startLoading(page, null);
+                }
+            }
+
+            jumpPages.clear();
+        });
+    }
+
+    /**
+     * Sets the logger to be used for logging errors of reading pages.
+     * @param logger The logger instance.
+     */
+    public static void setLogger(Logger logger) {
+        PagedHoursList.logger = logger;
+    }
+
+    /**
+     * Gets the order of the Hours.
+     * @return the order defined by the {@link Sort} list.
+     */
+    public Sort getSorting() {
+        return sorting;
+    }
+
+    /**
+     * Sets the order of the Hours and reloads the list.
+     * @param sorting the order defined by the {@link Sort} list.
+     */
+    public void setSorting(Sort sorting) {
+        this.sorting = sorting;
+        reload();
+    }
+
+    /**
+     * Discards the pages in memory, cancels the reads of pages and counts the Hours in the database again in the background.
+     * All elements of the list are replaced once the Hours are counted, so the table view keeps its scroll position.
+     */
+    public void reload() {
+        long reloadGeneration = ++generation;
+        pages.clear();
+        cancelLoading();
+
+        new DatabaseTask<>("Counting Hours", progressListener -> DBUtils.getHourCount())
+                .onSucceeded(count -> {
+                    if (reloadGeneration == generation) {
+                        setSize((int) Math.min(count, Integer.MAX_VALUE));
+                    }
+                })
+                .onFailed(e -> logger.error("Failed to count Hours.\n" + e))
+                .start();
+    }
+
+    /**
+     * Removes all Hours from the list without reading the database until the next reload.
+     */
+    public void clear() {
+        generation++;
+        pages.clear();
+        cancelLoading();
+        setSize(0);
+    }
+
+    /**
+     * Gets the Hour at the position, starting to read its page if it is not in memory.
+     * @param index the position of the Hour;
+     * @return the Hour, or {@code null} if its page is being read.
+     */
+    @Override
+    public HourForDB get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+
+        int page = index / pageSize;
+        int offset = index % pageSize;
+        List<HourForDB> rows = pages.get(page);
+
+        if (rows == null) {
+            loadPage(page);
+            return null;
+        }
+
+        if (offset >= pageSize / 2 && (long) (page + 1) * pageSize < size) {
+            loadPage(page + 1);
+        }
+
+        return offset < rows.size() ? rows.get(offset) : null;
+    }
+
+    /**
+     * Gets the number of Hours.
+     * @return the number of Hours counted at the last reload.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Reloads the list, since the added Hour moves the positions of the following Hours.
+     * @param row the added row read back from the database.
+     */
+    @Override
+    public void rowAdded(HourForDB row) {
+        reload();
+    }
+
+    /**
+     * Replaces the Hour with the same ID if its page is in memory and its sort key is unchanged,
+     * and reloads the list if its position may have changed.
+     * @param row the updated row read back from the database.
+     */
+    @Override
+    public void rowUpdated(HourForDB row) {
+        for (Map.Entry<Integer, List<HourForDB>> entry : pages.entrySet()) {
+            List<HourForDB> rows = entry.getValue();
+
+            for (int i = 0; i < rows.size(); i++) {
+                HourForDB oldRow = rows.get(i);
+
+                if (oldRow.getId() == row.getId()) {
+                    if (getSortKey(oldRow) != getSortKey(row)) {
+                        reload();
+                        return;
+                    }
+
+                    rows.set(i, row);
+
+                    beginChange();
+                    nextSet(entry.getKey() * pageSize + i, oldRow);
+                    endChange();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Reloads the list, since the removed Hour moves the positions of the following Hours.
+     * @param id the ID of the removed row.
+     */
+    @Override
+    public void rowRemoved(long id) {
+        reload();
+    }
+
+    /**
+     * Starts reading the page in the background unless it is in memory or already being read,
+     * and cancels the reads of pages that are not near it.
+     * A page without the previous page in memory is read at its offset after the pause of scrolling.
+     * @param page the number of the page.
+     */
+    private void loadPage(int page) {
+        if (pages.containsKey(page) || loadingPages.containsKey(page) || jumpPages.contains(page)) {
+            return;
+        }
+
+        cancelDistantLoading(page);
+
+        List<HourForDB> previousPage = page > 0 ? pages.get(page - 1) : null;
+        HourForDB after = previousPage != null && previousPage.size() == pageSize
+                ? previousPage.get(pageSize - 1)
+                : null;
+
+        if (after == null && page > 0) {
+            jumpPages.add(page);
+            jumpPause.playFromStart();
+        } else {
+            startLoading(page, after);
+        }
+    }
+
+    /**
+     * Starts the task reading the page in the background.
+     * @param page the number of the page;
+     * @param after the last Hour of the previous page, or {@code null} to read the page at its offset.
+     */
+    private void startLoading(int page, HourForDB after) {
+        Sort pageSorting = sorting;
+        DatabaseTask<List<HourForDB>> task = new DatabaseTask<>("Reading Hours", progressListener -> after != null
+                ? DBUtils.getHoursPage(pageSorting, pageSize, after)
+                : DBUtils.getHoursPageAtOffset(pageSorting, (long) page * pageSize, pageSize));
+
+        task.onSucceeded(rows -> {
+                    if (loadingPages.remove(page, task)) {
+                        pageLoaded(page, rows);
+                    }
+                })
+                .onFailed(e -> {
+                    loadingPages.remove(page, task);
+                    logger.error("Failed to read the page " + page + " of Hours.\n" + e);
+                });
+        loadingPages.put(page, task);
+        task.start();
+    }
+
+    /**
+     * Cancels the reads of pages more than {@link #NEAR_PAGES} pages away from the accessed page,
+     * including the pending reads at their offsets.
+     * @param page the number of the accessed page.
+     */
+    private void cancelDistantLoading(int page) {
+        jumpPages.removeIf(jumpPage -> Math.abs(jumpPage - page) > NEAR_PAGES);
+
+        Iterator<Map.Entry<Integer, DatabaseTask<List<HourForDB>>>> iterator = loadingPages.entrySet().iterator();
+
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, DatabaseTask<List<HourForDB>>> entry = iterator.next();
+
+            if (Math.abs(entry.getKey() - page) > NEAR_PAGES) {
+                entry.getValue().cancel();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Cancels the reads of all pages and the pending read of a page at its offset.
+     */
+    private void cancelLoading() {
+        jumpPause.stop();
+        jumpPages.clear();
+
+        for (DatabaseTask<List<HourForDB>> task : loadingPages.values()) {
+            task.cancel();
+        }
+
+        loadingPages.clear();
+    }
+
+    /**
+     * Puts the read page into memory and replaces its {@code null} elements with the read Hours.
+     * A page with fewer Hours than its positions in the list is stale, since Hours were removed
+     * after they were counted, so the list is reloaded instead of leaving the missing positions empty.
+     * @param page the number of the page;
+     * @param rows the Hours of the page.
+     */
+    private void pageLoaded(int page, List<HourForDB> rows) {
+        int from = page * pageSize;
+
+        if ((long) from + rows.size() < Math.min((long) from + pageSize, size)) {
+            reload();
+            return;
+        }
+
+        pages.put(page, rows);
+
+        int to = Math.min(from + rows.size(), size);
+
+        if (from < to) {
+            beginChange();
+            nextReplace(from, to, Collections.nCopies(to - from, null));
+            endChange();
+        }
+    }
+
+    /**
+     * Changes the number of Hours, replacing all elements of the list.
+     * @param newSize the new number of Hours.
+     */
+    private void setSize(int newSize) {
+        int oldSize = size;
+        size = newSize;
+
+        if (oldSize > 0 || newSize > 0) {
+            beginChange();
+            nextReplace(0, newSize, Collections.nCopies(oldSize, null));
+            endChange();
+        }
+    }
+
+    /**
+     * Gets the value by which the Hour is sorted.
+     * @param hour the Hour;
+     * @return the ridership or the length of the comment in characters, or the ID for the original order.
+     */
+    private long getSortKey(HourForDB hour) {
+        return switch (sorting) {
+            case SORTED_ASC_RIDERSHIP, SORTED_DESC_RIDERSHIP -> hour.getRidership();
+            case SORTED_ASC_COMMENT_LENGTH, SORTED_DESC_COMMENT_LENGTH ->
+                    hour.getComment() == null ? 0 : hour.getComment().codePointCount(0, hour.getComment().length());
+            default -> hour.getId();
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package applications.database_gui_application;
+
+
+/**
+ * Listener of changes of the rows of a database table made by an edit mode window.
+ * It is called on the JavaFX Application Thread after the change is saved in the database.
+ * @param <T> the type of the rows.
+ */
+public interface TableChangeListener<T> {
+    /**
+     * Receives the row added to the table.
+     * @param row the added row read back from the database.
+     */
+    void rowAdded(T row);
+
+    /**
+     * Receives the row updated in the table.
+     * @param row the updated row read back from the database.
+     */
+    void rowUpdated(T row);
+
+    /**
+     * Receives the ID of the row removed from the table.
+     * @param id the ID of the removed row.
+     */
+    void rowRemoved(long id);
+}
@@ -0,0 +1,140 @@
+package applications.database_gui_application;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+
+/**
+ * Observable rows of a table view kept in the sort order of the table.
+ * Changes reported as a {@link TableChangeListener} are applied to the existing list row by row,
+ * so the table view only updates the cells of the changed rows instead of reloading and re-rendering all rows.
+ * Rows are identified by their IDs; rows with equal sort keys are ordered by ID.
+ * @param <T> the type of the rows.
+ */
+public class TableRows<T> implements TableChangeListener<T> {
+    /**
+     * The rows shown by the table view.
+     */
+    private final ObservableList<T> rows = FXCollections.observableArrayList();
+
+    /**
+     * The function getting the ID of a row.
+     */
+    private final ToLongFunction<T> idGetter;
+
+    /**
+     * The sort order of the rows including the order by ID.
+     */
+    private Comparator<T> order;
+
+    /**
+     * The constructor initialises the empty rows ordered by ID.
+     * @param idGetter the function getting the ID of a row.
+     */
+    public TableRows(ToLongFunction<T> idGetter) {
+        this.idGetter = idGetter;
+        this.order = Comparator.comparingLong(idGetter);
+    }
+
+    /**
+     * Gets the observable rows to be shown by the table view.
+     * @return the observable list of rows.
+     */
+    public ObservableList<T> getRows() {
+        return rows;
+    }
+
+    /**
+     * Replaces all rows with the rows of the list in one change.
+     * @param list the rows in the sort order;
+     * @param order the sort order of the rows, rows with equal sort keys are ordered by ID.
+     */
+    public void setAll(List<T> list, Comparator<T> order) {
+        this.order = order.thenComparingLong(idGetter);
+        rows.setAll(list);
+    }
+
+    /**
+     * Removes all rows.
+     */
+    public void clear() {
+        rows.clear();
+    }
+
+    /**
+     * Inserts the added row at its position in the sort order.
+     * @param row the added row read back from the database.
+     */
+    @Override
+    public void rowAdded(T row) {
+        rows.add(getInsertionIndex(row), row);
+    }
+
+    /**
+     * Replaces the row with the same ID, moving it if its position in the sort order has changed.
+     * @param row the updated row read back from the database.
+     */
+    @Override
+    public void rowUpdated(T row) {
+        int index = indexOf(idGetter.applyAsLong(row));
+
+        if (index < 0) {
+            return;
+        }
+
+        boolean inOrder = (index == 0 || order.compare(rows.get(index - 1), row) <= 0)
+                && (index == rows.size() - 1 || order.compare(row, rows.get(index + 1)) <= 0);
+
+        if (inOrder) {
+            rows.set(index, row);
+        } else {
+            rows.remove(index);
+            rows.add(getInsertionIndex(row), row);
+        }
+    }
+
+    /**
+     * Removes the row with the ID.
+     * @param id the ID of the removed row.
+     */
+    @Override
+    public void rowRemoved(long id) {
+        int index = indexOf(id);
+
+        if (index >= 0) {
+            rows.remove(index);
+        }
+    }
+
+    /**
+     * Finds the position of the row with the ID with a linear search,
+     * since the rows are generally not ordered by ID.
+     * @param id the ID of the row;
+     * @return the position of the row, or {@code -1} if there is no row with the ID.
+     */
+    private int indexOf(long id) {
+        for (int i = 0; i < rows.size(); i++) {
+            if (idGetter.applyAsLong(rows.get(i)) == id) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Finds the position of the row in the sort order with a binary search.
+     * @param row the row to be inserted;
+     * @return the position the row is inserted at.
+     */
+    private int getInsertionIndex(T row) {
+        int index = Collections.binarySearch(rows, row, order);
+
+        return index < 0 ? -index - 1 : index;
+    }
+}
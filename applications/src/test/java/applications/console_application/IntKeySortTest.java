@@ -0,0 +1,89 @@
+package applications.console_application;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntKeySortTest {
+    private static int[] sortReference(int[] keys, boolean descending) {
+        Comparator<Integer> byKey = Comparator.comparingInt((Integer i) -> keys[i]);
+
+        return IntStream.range(0, keys.length)
+                .boxed()
+                .sorted(descending ? byKey.reversed() : byKey)
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private static int[] randomKeys(int count, int minKey, int maxKey) {
+        return new Random(count).ints(count, minKey, maxKey + 1).toArray();
+    }
+
+    private static void assertSorted(int[] keys) {
+        assertArrayEquals(sortReference(keys, false), IntKeySort.sortIndices(keys, keys.length, false));
+        assertArrayEquals(sortReference(keys, true), IntKeySort.sortIndices(keys, keys.length, true));
+    }
+
+    @Test
+    @DisplayName("Should sort few keys stably by merge sort")
+    public void testMergeSort() {
+        int[] keys = {5, 1, 5, 3, 0, 3, 5};
+        assertArrayEquals(new int[] {0, 2, 6, 3, 5, 1, 4}, IntKeySort.sortIndices(keys, keys.length, true));
+        assertArrayEquals(new int[] {4, 1, 3, 5, 0, 2, 6}, IntKeySort.sortIndices(keys, keys.length, false));
+        assertArrayEquals(new int[0], IntKeySort.sortIndices(keys, 0, true));
+
+        assertSorted(randomKeys(63, -500, 500));
+    }
+
+    @Test
+    @DisplayName("Should sort keys of a small range stably by counting sort")
+    public void testCountingSort() {
+        assertSorted(randomKeys(100000, 0, 2000));
+        assertSorted(randomKeys(100000, -1000, 1000));
+
+        int[] keys = randomKeys(64, Integer.MAX_VALUE - 10, Integer.MAX_VALUE - 1);
+        keys[0] = Integer.MAX_VALUE;
+        assertSorted(keys);
+    }
+
+    @Test
+    @DisplayName("Should sort keys of a large range stably by radix sort")
+    public void testRadixSort() {
+        int[] keys = randomKeys(100000, 0, Integer.MAX_VALUE - 1);
+        keys[0] = Integer.MAX_VALUE;
+        assertSorted(keys);
+
+        assertSorted(randomKeys(100000, 0, 5000000));
+        assertSorted(randomKeys(100000, -5000000, 5000000));
+
+        keys = new Random(42).ints(100000).toArray();
+        keys[0] = Integer.MIN_VALUE;
+        keys[1] = Integer.MAX_VALUE;
+        assertSorted(keys);
+    }
+
+    @Test
+    @DisplayName("Should keep the order of equal keys around the size of the merge sort")
+    public void testEqualKeys() {
+        for (int count : new int[] {2, 63, 64, 65, 1000}) {
+            assertSorted(new int[count]);
+            assertSorted(randomKeys(count, 0, 1));
+            assertSorted(randomKeys(count, -1, 0));
+        }
+    }
+
+    @Test
+    @DisplayName("Should sort only the first keys")
+    public void testSortPrefix() {
+        int[] keys = Arrays.copyOf(randomKeys(200, 0, 100), 300);
+        keys[250] = -1000;
+        assertArrayEquals(sortReference(Arrays.copyOf(keys, 200), true), IntKeySort.sortIndices(keys, 200, true));
+        assertArrayEquals(sortReference(Arrays.copyOf(keys, 200), false), IntKeySort.sortIndices(keys, 200, false));
+    }
+}
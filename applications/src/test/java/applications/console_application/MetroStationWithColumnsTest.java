@@ -0,0 +1,118 @@
+package applications.console_application;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetroStationWithColumnsTest {
+    private MetroStationWithColumns metroStation;
+    private MetroStationWithList expected;
+    private CommentDictionary comments;
+
+    @BeforeEach
+    public void setup() {
+        Hour[] hours = {
+                new Hour(1100, "Very high ridership"),
+                new Hour(110, "Low ridership"),
+                new Hour(650, "High ridership"),
+                new Hour(532, "High ridership"),
+                new Hour(60, "Very low ridership"),
+                new Hour(188, "Low ridership"),
+                new Hour(60, "Minimal ridership"),
+                new Hour(200, "Medium ridership")
+        };
+
+        comments = new CommentDictionary();
+        metroStation = new MetroStationWithColumns("Politekhnichna", 1984, comments);
+        metroStation.setHours(hours);
+        expected = new MetroStationWithList("Politekhnichna", 1984, new ArrayList<>(Arrays.asList(hours)));
+    }
+
+    @Nested
+    class TestColumnStorage {
+        @Test
+        @DisplayName("Should store the Hours in the order they were added")
+        public void testAddHours() {
+            assertEquals(expected.countHours(), metroStation.countHours());
+            assertArrayEquals(expected.getHours(), metroStation.getHours());
+            assertEquals(expected, metroStation);
+            assertEquals(650, metroStation.getRidership(2));
+            assertEquals("High ridership", metroStation.getComment(2));
+            assertFalse(metroStation.addHour(-1, null));
+            assertThrows(IndexOutOfBoundsException.class, () -> metroStation.getHour(expected.countHours()));
+        }
+
+        @Test
+        @DisplayName("Should store each distinct comment once in the dictionary")
+        public void testCommentDictionary() {
+            assertEquals(6, comments.size());
+
+            MetroStationWithColumns other = new MetroStationWithColumns("Universytet", 1984, comments);
+            other.addHour(300, "High ridership");
+            other.addHour(20, "No ridership");
+
+            assertEquals(7, comments.size());
+            assertEquals("No ridership", comments.decode(comments.encode("No ridership")));
+        }
+
+        @Test
+        @DisplayName("Should store the changed Hour only when it is set")
+        public void testSetHour() {
+            Hour hour = metroStation.getHour(0);
+            hour.setRidership(5);
+            assertEquals(1100, metroStation.getRidership(0));
+
+            metroStation.setHour(0, hour);
+            assertEquals(new Hour(5, "Very high ridership"), metroStation.getHour(0));
+        }
+
+        @Test
+        @DisplayName("Should grow the columns beyond their initial capacity")
+        public void testGrowth() {
+            metroStation.removeHours();
+
+            for (int i = 0; i < 1000; i++) {
+                assertTrue(metroStation.addHour(i, i % 2 == 0 ? "Even ridership" : "Odd ridership"));
+            }
+
+            assertEquals(1000, metroStation.countHours());
+            assertEquals(999, metroStation.getRidership(999));
+            assertEquals(499500, metroStation.calculateTotalRidership());
+        }
+    }
+
+    @Nested
+    class TestSearchAndSorting {
+        @Test
+        @DisplayName("Should find the same results as the Metro Station with a list of Hours")
+        public void testSearch() {
+            assertEquals(expected.calculateTotalRidership(), metroStation.calculateTotalRidership());
+            assertArrayEquals(expected.findHoursWithMinRidership(), metroStation.findHoursWithMinRidership());
+            assertArrayEquals(expected.findHoursWithMaxWordCountOfComment(),
+                    metroStation.findHoursWithMaxWordCountOfComment());
+
+            metroStation.removeHours();
+            assertNull(metroStation.calculateTotalRidership());
+            assertNull(metroStation.findHoursWithMinRidership());
+            assertNull(metroStation.findHoursWithMaxWordCountOfComment());
+        }
+
+        @Test
+        @DisplayName("Should sort the Hours in the same stable order as the Metro Station with a list of Hours")
+        public void testSorting() {
+            expected.sortByDecreasingRidership();
+            metroStation.sortByDecreasingRidership();
+            assertArrayEquals(expected.getHours(), metroStation.getHours());
+
+            expected.sortByDescendingCommentLength();
+            metroStation.sortByDescendingCommentLength();
+            assertArrayEquals(expected.getHours(), metroStation.getHours());
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package applications.console_application;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetroStationWithMappedFileTest {
+    @TempDir
+    Path directory;
+
+    private String fileName;
+    private MetroStationWithMappedFile metroStation;
+    private MetroStationWithList expected;
+
+    @BeforeEach
+    public void setup() {
+        Hour[] hours = {
+                new Hour(1100, "Very high ridership"),
+                new Hour(110, "Low ridership"),
+                new Hour(650, "High ridership"),
+                new Hour(532, "High ridership"),
+                new Hour(60, "Very low ridership"),
+                new Hour(188, "Low ridership"),
+                new Hour(60, "Minimal ridership"),
+                new Hour(200, "Medium ridership")
+        };
+
+        fileName = directory.resolve("Politekhnichna.hours").toString();
+        metroStation = new MetroStationWithMappedFile(fileName, "Politekhnichna", 1984);
+        metroStation.setHours(hours);
+        expected = new MetroStationWithList("Politekhnichna", 1984, new ArrayList<>(Arrays.asList(hours)));
+    }
+
+    @AfterEach
+    public void close() {
+        metroStation.close();
+    }
+
+    @Test
+    @DisplayName("Should read the same Metro Station after reopening the file")
+    public void testReopen() {
+        metroStation.close();
+        metroStation = new MetroStationWithMappedFile(fileName);
+
+        assertEquals(expected, metroStation);
+        assertEquals("Politekhnichna", metroStation.getName());
+        assertEquals(1984, metroStation.getOpened());
+        assertEquals(6, metroStation.getCommentDictionary().size());
+
+        assertTrue(metroStation.addHour(20, "No ridership"));
+        metroStation.close();
+        metroStation = new MetroStationWithMappedFile(fileName);
+
+        assertEquals(expected.countHours() + 1, metroStation.countHours());
+        assertEquals(new Hour(20, "No ridership"), metroStation.getHour(expected.countHours()));
+    }
+
+    @Test
+    @DisplayName("Should extend the file beyond its initial capacity")
+    public void testGrowth() {
+        metroStation.removeHours();
+
+        for (int i = 0; i < 5000; i++) {
+            assertTrue(metroStation.addHour(i, i % 2 == 0 ? "Even ridership" : "Odd ridership"));
+        }
+
+        metroStation.close();
+        metroStation = new MetroStationWithMappedFile(fileName);
+
+        assertEquals(5000, metroStation.countHours());
+        assertEquals(4999, metroStation.getRidership(4999));
+        assertEquals("Odd ridership", metroStation.getComment(4999));
+        assertEquals(12497500, metroStation.calculateTotalRidership());
+    }
+
+    @Test
+    @DisplayName("Should find and sort the same Hours as the Metro Station with a list of Hours")
+    public void testSearchAndSorting() {
+        assertEquals(expected.calculateTotalRidership(), metroStation.calculateTotalRidership());
+        assertArrayEquals(expected.findHoursWithMinRidership(), metroStation.findHoursWithMinRidership());
+        assertArrayEquals(expected.findHoursWithMaxWordCountOfComment(),
+                metroStation.findHoursWithMaxWordCountOfComment());
+
+        expected.sortByDecreasingRidership();
+        metroStation.sortByDecreasingRidership();
+        assertArrayEquals(expected.getHours(), metroStation.getHours());
+
+        expected.sortByDescendingCommentLength();
+        metroStation.sortByDescendingCommentLength();
+        assertArrayEquals(expected.getHours(), metroStation.getHours());
+    }
+
+    @Test
+    @DisplayName("Should fail to open a file with an invalid header or without its comments")
+    public void testInvalidFile() throws IOException {
+        metroStation.close();
+
+        writeHeader(4, ByteBuffer.allocate(4).putInt(0, Integer.MAX_VALUE));
+        assertOpenFails();
+
+        writeHeader(4, ByteBuffer.allocate(4).putInt(0, -1));
+        assertOpenFails();
+
+        writeHeader(4, ByteBuffer.allocate(4).putInt(0, 8));
+        writeHeader(12, ByteBuffer.allocate(2).putShort(0, (short) -1));
+        assertOpenFails();
+
+        writeHeader(12, ByteBuffer.allocate(2).putShort(0, (short) 14));
+        metroStation = new MetroStationWithMappedFile(fileName);
+        assertEquals(expected, metroStation);
+        metroStation.close();
+
+        Files.delete(Path.of(fileName + ".comments"));
+        assertOpenFails();
+    }
+
+    /**
+     * Overwrites the bytes of the header of the file at the position.
+     */
+    private void writeHeader(int position, ByteBuffer bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(fileName), StandardOpenOption.WRITE)) {
+            channel.write(bytes, position);
+        }
+    }
+
+    /**
+     * Checks that opening the file fails with an {@link IOException}.
+     */
+    private void assertOpenFails() {
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> new MetroStationWithMappedFile(fileName));
+        assertInstanceOf(IOException.class, exception.getCause());
+    }
+}
@@ -0,0 +1,146 @@
+package applications.database_console_application;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetroStationsJSONTest {
+    @Test
+    @DisplayName("Should read the Metro Stations and Hours written by the JSON writer")
+    public void testWriteAndRead() throws IOException {
+        MetroStationForDB politekhnichna = new MetroStationForDB(1, "Politekhnichna", 1984);
+        politekhnichna.addHour(new HourForDB(1, 1100, "Very high ridership", 1));
+        politekhnichna.addHour(new HourForDB(2, 110, "\"Low\" ridership\\\n\t\u0001 \u0425", 1));
+        MetroStationForDB oleksiivska = new MetroStationForDB(6, "Oleksiivska", 2016);
+        MetroStationForDB kholodnaHora = new MetroStationForDB(4, "Kholodna Hora", 1995);
+        kholodnaHora.addHour(new HourForDB(11, 180, "Low ridership", 4));
+        List<MetroStationForDB> expected = List.of(politekhnichna, oleksiivska, kholodnaHora);
+
+        StringWriter out = new StringWriter();
+
+        try (MetroStationsJSONWriter writer = new MetroStationsJSONWriter(out)) {
+            for (MetroStationForDB metroStation : expected) {
+                writer.writeMetroStationWithHours(metroStation);
+            }
+
+            assertEquals(3, writer.getMetroStationCount());
+        }
+
+        List<MetroStationForDB> actual = read(new StringReader(out.toString()));
+
+        assertEquals(expected.size(), actual.size());
+
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getId(), actual.get(i).getId());
+            assertEquals(expected.get(i).getName(), actual.get(i).getName());
+            assertEquals(expected.get(i).getOpened(), actual.get(i).getOpened());
+            assertEquals(expected.get(i).getHourList(), actual.get(i).getHourList());
+
+            for (int j = 0; j < expected.get(i).getHourList().size(); j++) {
+                assertEquals(expected.get(i).getHourList().get(j).getId(), actual.get(i).getHourList().get(j).getId());
+                assertEquals(expected.get(i).getId(), actual.get(i).getHourList().get(j).getMetroStationID());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should read no Metro Stations from the empty list written by the JSON writer")
+    public void testWriteAndReadEmpty() throws IOException {
+        StringWriter out = new StringWriter();
+        new MetroStationsJSONWriter(out).close();
+
+        assertTrue(read(new StringReader(out.toString())).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should read the Metro Stations and Hours of a list exported by XStream")
+    public void testReadXStreamList() throws IOException {
+        List<MetroStationForDB> metroStations = read("MetroStationsFromDB.json");
+
+        assertEquals(4, metroStations.size());
+        assertEquals("Politekhnichna", metroStations.get(0).getName());
+        assertEquals(1984, metroStations.get(0).getOpened());
+        assertEquals(1, metroStations.get(0).getId());
+        assertEquals(9, metroStations.get(0).getHourList().size());
+        assertEquals(4, metroStations.get(1).getHourList().size());
+        assertEquals("Oleksiivska", metroStations.get(3).getName());
+        assertTrue(metroStations.get(3).getHourList().isEmpty());
+
+        HourForDB hour = metroStations.get(1).getHourList().get(2);
+        assertEquals(new HourForDB(520, "High ridership"), hour);
+        assertEquals(13, hour.getId());
+        assertEquals(4, hour.getMetroStationID());
+    }
+
+    @Test
+    @DisplayName("Should read the single Metro Station exported by XStream")
+    public void testReadXStreamSingleMetroStation() throws IOException {
+        List<MetroStationForDB> metroStations = read("MetroStations.json");
+
+        assertEquals(1, metroStations.size());
+        assertEquals("Politekhnichna", metroStations.get(0).getName());
+        assertEquals(7, metroStations.get(0).getHourList().size());
+        assertEquals(new HourForDB(200, "Medium ridership"), metroStations.get(0).getHourList().get(6));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"a\":1 \"b\":2}",
+            "[,,{}]",
+            "{,\"a\":1}",
+            "{\"a\":1,}",
+            "{\"a\":1,,\"b\":2}",
+            "{\"a\":[1,]}",
+            "{\"a\":1},",
+            "{\"a\":1}{}",
+            "{\"metroStationList\":[{\"metroStation\":{\"name\":\"A\" \"opened\":1}}]}",
+            "{\"a\":",
+            "{\"a\":\"b}",
+            ""
+    })
+    @DisplayName("Should reject malformed JSON text")
+    public void testRejectMalformed(String json) {
+        assertThrows(IOException.class, () -> read(new StringReader(json)));
+    }
+
+    /**
+     * Reads the Metro Stations with their Hours from the resource of the package.
+     */
+    private static List<MetroStationForDB> read(String resourceName) throws IOException {
+        return read(new InputStreamReader(
+                MetroStationsJSONTest.class.getResourceAsStream(resourceName), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads all Metro Stations with their Hours from the JSON text.
+     */
+    private static List<MetroStationForDB> read(Reader in) throws IOException {
+        List<MetroStationForDB> metroStations = new ArrayList<>();
+
+        try (MetroStationsJSONReader reader = new MetroStationsJSONReader(in)) {
+            Object next;
+
+            while ((next = reader.next()) != null) {
+                if (next instanceof MetroStationForDB metroStation) {
+                    metroStations.add(metroStation);
+                } else {
+                    metroStations.get(metroStations.size() - 1).addHour((HourForDB) next);
+                }
+            }
+        }
+
+        return metroStations;
+    }
+}
@@ -0,0 +1,25 @@
+package applications.database_console_application;
+
+import applications.console_application.IntKeySort;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SortPermutationsTest {
+    @Test
+    @DisplayName("Should create the permutation of rows in their original order")
+    public void testIdentity() {
+        assertArrayEquals(new int[0], SortPermutations.identity(0));
+        assertArrayEquals(new int[] {0, 1, 2, 3}, SortPermutations.identity(4));
+    }
+
+    @Test
+    @DisplayName("Should sort rows by integer keys with the sort of the metro stations")
+    public void testByIntKey() {
+        int[] keys = {200, 60, 1100, 60, 200, 60};
+
+        assertArrayEquals(IntKeySort.sortIndices(keys, 5, false), SortPermutations.byIntKey(keys, 5, false));
+        assertArrayEquals(IntKeySort.sortIndices(keys, keys.length, true), SortPermutations.byIntKey(keys, keys.length, true));
+    }
+}